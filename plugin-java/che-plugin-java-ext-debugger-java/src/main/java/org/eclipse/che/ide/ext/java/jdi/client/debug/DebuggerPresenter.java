@@ -52,6 +52,7 @@ import org.eclipse.che.ide.ext.java.jdi.client.debug.changevalue.ChangeValuePres
 import org.eclipse.che.ide.ext.java.jdi.client.debug.expression.EvaluateExpressionPresenter;
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolver;
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolverFactory;
+import org.eclipse.che.ide.ext.java.jdi.client.marshaller.DebuggerEventListUnmarshaller;
 import org.eclipse.che.ide.ext.java.jdi.client.marshaller.DebuggerEventListUnmarshallerWS;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPointEvent;
@@ -77,6 +78,7 @@ import org.eclipse.che.ide.rest.HTTPStatus;
 import org.eclipse.che.ide.util.loging.Log;
 import org.eclipse.che.ide.websocket.MessageBus;
 import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.events.ConnectionOpenedHandler;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import org.eclipse.che.ide.websocket.rest.exceptions.ServerException;
 import org.vectomatic.dom.svg.ui.SVGResource;
@@ -133,6 +135,8 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
     /** Handler for processing events which is received from debugger over WebSocket connection. */
     private       SubscriptionHandler<DebuggerEventList> debuggerEventsHandler;
     private       SubscriptionHandler<Void>              debuggerDisconnectedHandler;
+    /** Sequence number of the last received debugger event, used to get events missed while WebSocket was reconnecting. */
+    private       long                                   lastEventSequenceNumber;
     private       List<DebuggerVariable>                 variables;
     private       Location                               executionPoint;
     private       Runner                                 runner;
@@ -237,6 +241,13 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
             }
         };
 
+        messageBus.addOnOpenHandler(new ConnectionOpenedHandler() {
+            @Override
+            public void onOpen() {
+                getMissedEvents();
+            }
+        });
+
         eventBus.addHandler(ProjectActionEvent.TYPE, new ProjectActionHandler() {
             @Override
             public void onProjectReady(ProjectActionEvent event) {
@@ -357,6 +368,12 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
         Location location;
         List<DebuggerEvent> events = eventList.getEvents();
         for (DebuggerEvent event : events) {
+            // events received over WebSocket and over HTTP after reconnection may overlap
+            if (event.getSequenceNumber() <= lastEventSequenceNumber) {
+                continue;
+            }
+            lastEventSequenceNumber = event.getSequenceNumber();
+
             switch (event.getType()) {
                 case STEP:
                     location = ((StepEvent)event).getLocation();
@@ -751,6 +768,7 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
                             @Override
                             public void onSuccess(DebuggerInfo result) {
                                 debuggerInfo = result;
+                                lastEventSequenceNumber = 0;
                                 Notification notification = new Notification(constant.debuggerConnected(host + ':' + port), INFO);
                                 notificationManager.showNotification(notification);
                                 showDialog(result);
@@ -810,6 +828,25 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
         }
     }
 
+    /** Gets debugger events which occurred while WebSocket connection was lost. */
+    private void getMissedEvents() {
+        if (debuggerInfo == null) {
+            return;
+        }
+        service.getEvents(debuggerInfo.getId(), lastEventSequenceNumber,
+                          new AsyncRequestCallback<DebuggerEventList>(new DebuggerEventListUnmarshaller(dtoFactory)) {
+                              @Override
+                              protected void onSuccess(DebuggerEventList result) {
+                                  onEventListReceived(result);
+                              }
+
+                              @Override
+                              protected void onFailure(Throwable exception) {
+                                  Log.error(DebuggerPresenter.class, exception);
+                              }
+                          });
+    }
+
     private void stopCheckingDebugEvents() {
         try {
             if (messageBus.isHandlerSubscribed(debuggerEventsHandler, debuggerEventsChannel)) {
@@ -13,6 +13,7 @@ package org.eclipse.che.ide.ext.java.jdi.client.debug;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEventList;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerInfo;
+import org.eclipse.che.ide.ext.java.jdi.shared.ExpressionList;
 import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
 import org.eclipse.che.ide.ext.java.jdi.shared.UpdateVariableRequest;
 import org.eclipse.che.ide.ext.java.jdi.shared.Value;
@@ -79,12 +80,15 @@ public interface DebuggerServiceClient {
     void deleteAllBreakpoints(@NotNull String id, @NotNull AsyncRequestCallback<String> callback);
 
     /**
-     * Checks event.
+     * Get events which occurred after the given one. Events are delivered over WebSocket, this method is used to get
+     * events missed while WebSocket connection was lost.
      *
      * @param id
+     * @param sequenceNumber
+     *         sequence number of the last received event
      * @param callback
      */
-    void checkEvents(@NotNull String id, @NotNull AsyncRequestCallback<DebuggerEventList> callback);
+    void getEvents(@NotNull String id, long sequenceNumber, @NotNull AsyncRequestCallback<DebuggerEventList> callback);
 
     /**
      * Get dump of fields and local variable of current stack frame.
@@ -152,4 +156,13 @@ public interface DebuggerServiceClient {
      * @param callback
      */
     void evaluateExpression(@NotNull String id, @NotNull String expression, @NotNull AsyncRequestCallback<String> callback);
+
+    /**
+     * Evaluate several expressions, e.g. watch expressions, with one request.
+     *
+     * @param id
+     * @param expressions
+     * @param callback
+     */
+    void evaluateExpressions(@NotNull String id, @NotNull ExpressionList expressions, @NotNull AsyncRequestCallback<ExpressionList> callback);
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ import org.eclipse.che.ide.ext.java.jdi.client.JavaRuntimeLocalizationConstant;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEventList;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerInfo;
+import org.eclipse.che.ide.ext.java.jdi.shared.ExpressionList;
 import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
 import org.eclipse.che.ide.ext.java.jdi.shared.UpdateVariableRequest;
 import org.eclipse.che.ide.ext.java.jdi.shared.Value;
@@ -104,8 +105,8 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
 
     /** {@inheritDoc} */
     @Override
-    public void checkEvents(@NotNull String id, @NotNull AsyncRequestCallback<DebuggerEventList> callback) {
-        final String requestUrl = baseUrl + "/events/" + id;
+    public void getEvents(@NotNull String id, long sequenceNumber, @NotNull AsyncRequestCallback<DebuggerEventList> callback) {
+        final String requestUrl = baseUrl + "/events/" + id + "?since=" + sequenceNumber;
         asyncRequestFactory.createGetRequest(requestUrl).loader(new EmptyLoader()).send(callback);
     }
 
@@ -169,4 +170,13 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
                            .loader(new EmptyLoader())
                            .send(callback);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evaluateExpressions(@NotNull String id,
+                                    @NotNull ExpressionList expressions,
+                                    @NotNull AsyncRequestCallback<ExpressionList> callback) {
+        final String requestUrl = baseUrl + "/expressions/" + id;
+        asyncRequestFactory.createPostRequest(requestUrl, expressions).loader(new EmptyLoader()).send(callback);
+    }
 }
\ No newline at end of file
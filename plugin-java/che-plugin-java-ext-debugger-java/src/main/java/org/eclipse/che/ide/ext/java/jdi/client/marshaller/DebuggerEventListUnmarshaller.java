@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.client.marshaller;
+
+import org.eclipse.che.ide.commons.exception.UnmarshallerException;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEventList;
+import org.eclipse.che.ide.rest.Unmarshallable;
+import com.google.gwt.http.client.Response;
+
+/**
+ * Unmarshaller for deserializing debugger event list, which is received over HTTP when events missed during
+ * reconnection of WebSocket are requested.
+ */
+public class DebuggerEventListUnmarshaller implements Unmarshallable<DebuggerEventList> {
+    private DtoFactory        dtoFactory;
+    private DebuggerEventList events;
+
+    public DebuggerEventListUnmarshaller(DtoFactory dtoFactory) {
+        this.dtoFactory = dtoFactory;
+        this.events = dtoFactory.createDto(DebuggerEventList.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unmarshal(Response response) throws UnmarshallerException {
+        DebuggerEventListUnmarshallerWS.unmarshalEvents(dtoFactory, response.getText(), events);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DebuggerEventList getPayload() {
+        return events;
+    }
+}
@@ -41,9 +41,14 @@ public class DebuggerEventListUnmarshallerWS implements Unmarshallable<DebuggerE
     /** {@inheritDoc} */
     @Override
     public void unmarshal(Message response) throws UnmarshallerException {
-        this.events.setEvents(new ArrayList<DebuggerEvent>());
+        unmarshalEvents(dtoFactory, response.getBody(), events);
+    }
+
+    /** Replaces events of the list with events parsed from JSON, creating DTO of the appropriate type for each event. */
+    static void unmarshalEvents(DtoFactory dtoFactory, String json, DebuggerEventList eventList) {
+        eventList.setEvents(new ArrayList<DebuggerEvent>());
 
-        JSONObject jsonObject = JSONParser.parseStrict(response.getBody()).isObject();
+        JSONObject jsonObject = JSONParser.parseStrict(json).isObject();
         if (jsonObject == null) {
             return;
         }
@@ -56,10 +61,10 @@ public class DebuggerEventListUnmarshallerWS implements Unmarshallable<DebuggerE
                     final int type = (int)event.get("type").isNumber().doubleValue();
                     if (DebuggerEvent.BREAKPOINT == type) {
                         BreakPointEvent breakPointEvent = dtoFactory.createDtoFromJson(event.toString(), BreakPointEvent.class);
-                        this.events.getEvents().add(breakPointEvent);
+                        eventList.getEvents().add(breakPointEvent);
                     } else if (DebuggerEvent.STEP == type) {
                         StepEvent stepEvent = dtoFactory.createDtoFromJson(event.toString(), StepEvent.class);
-                        this.events.getEvents().add(stepEvent);
+                        eventList.getEvents().add(stepEvent);
                     }
                 }
             }
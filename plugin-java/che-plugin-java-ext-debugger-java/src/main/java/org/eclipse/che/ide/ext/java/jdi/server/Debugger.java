@@ -31,11 +31,14 @@ import com.sun.jdi.request.StepRequest;
 
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.jdi.server.expression.Evaluator;
+import org.eclipse.che.ide.ext.java.jdi.server.expression.ExpressionException;
 import org.eclipse.che.ide.ext.java.jdi.server.expression.ExpressionParser;
+import org.eclipse.che.ide.ext.java.jdi.server.expression.MemberLookupCache;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPointEvent;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEventList;
+import org.eclipse.che.ide.ext.java.jdi.shared.Expression;
 import org.eclipse.che.ide.ext.java.jdi.shared.Field;
 import org.eclipse.che.ide.ext.java.jdi.shared.Location;
 import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
@@ -59,6 +62,8 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.eclipse.che.commons.json.JsonHelper.toJson;
 
@@ -77,6 +82,14 @@ public class Debugger implements EventsHandler {
     private static final ConcurrentMap<String, Debugger> instances            = new ConcurrentHashMap<>();
     private static final String                          EVENTS_CHANNEL       = "debugger:events:";
     private static final String                          DISCONNECTED_CHANNEL = "debugger:disconnected:";
+    /** Max number of nested variables returned for one value, larger arrays are split into ranges. */
+    static final         int                             VARIABLES_PAGE_SIZE  = 100;
+    /** Name of range of array elements in variable path, e.g. <i>[100..199]</i>. */
+    private static final Pattern                         RANGE                = Pattern.compile("\\[(\\d+)\\.\\.(\\d+)\\]");
+    /** Properties of breakpoint request: parser of condition, hit count and number of hits left to suspend. */
+    private static final String                          CONDITION_PROPERTY   = "org.eclipse.che.ide.java.debug.condition.expression.parser";
+    private static final String                          HIT_COUNT_PROPERTY   = "org.eclipse.che.ide.java.debug.hit.count";
+    private static final String                          HITS_LEFT_PROPERTY   = "org.eclipse.che.ide.java.debug.hits.left";
 
     public static Debugger newInstance(String host, int port) throws VMConnectException {
         Debugger d = new Debugger(host, port);
@@ -95,7 +108,12 @@ public class Debugger implements EventsHandler {
     final String id = Long.toString(counter.getAndIncrement());
     private final String host;
     private final int    port;
-    private final List<DebuggerEvent> events = new ArrayList<>();
+    /** Last events of the session, they are also delivered over WebSocket as soon as they occur. */
+    private final DebuggerEventBuffer events = new DebuggerEventBuffer();
+    /** Values read from the target JVM since the current thread was suspended. */
+    private final JdiValueCache valueCache = new JdiValueCache();
+    /** Fields and methods found during evaluation of expressions. */
+    private final MemberLookupCache memberLookupCache = new MemberLookupCache();
 
     /**
      * A mapping of source file names to breakpoints. This mapping is used to set
@@ -229,12 +247,17 @@ public class Debugger implements EventsHandler {
             throw new InvalidBreakPointException("Invalid line " + lineNumber + " in class " + className);
         }
 
-        // Ignore new breakpoint if already have breakpoint at the same location.
+        // Ignore new breakpoint if already have breakpoint at the same location. Breakpoint which reached its hit count
+        // is disabled, it is replaced with the new one so hits are counted from the beginning again.
         EventRequestManager requestManager = getEventManager();
-        for (BreakpointRequest breakpointRequest : requestManager.breakpointRequests()) {
+        List<BreakpointRequest> snapshot = new ArrayList<>(requestManager.breakpointRequests());
+        for (BreakpointRequest breakpointRequest : snapshot) {
             if (location.equals(breakpointRequest.location())) {
-                LOG.debug("Breakpoint at {} already set", location);
-                return;
+                if (breakpointRequest.isEnabled()) {
+                    LOG.debug("Breakpoint at {} already set", location);
+                    return;
+                }
+                requestManager.deleteEventRequest(breakpointRequest);
             }
         }
 
@@ -242,9 +265,24 @@ public class Debugger implements EventsHandler {
             EventRequest breakPointRequest = requestManager.createBreakpointRequest(location);
             breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_ALL);
             String expression = breakpoint.getCondition();
-            if (!(expression == null || expression.isEmpty())) {
+            boolean hasCondition = !(expression == null || expression.isEmpty());
+            if (hasCondition) {
                 ExpressionParser parser = ExpressionParser.newInstance(expression);
-                breakPointRequest.putProperty("org.eclipse.che.ide.java.debug.condition.expression.parser", parser);
+                breakPointRequest.putProperty(CONDITION_PROPERTY, parser);
+            }
+            // Both ways of counting hits behave the same: breakpoint suspends target JVM once, on the last hit, and then
+            // is disabled, see processBreakPointEvent. Hits are counted from the beginning when breakpoint is added again
+            // or after reconnection, since new request is created in both cases.
+            int hitCount = breakpoint.getHitCount();
+            if (hitCount > 0) {
+                breakPointRequest.putProperty(HIT_COUNT_PROPERTY, hitCount);
+                if (hasCondition) {
+                    // Only hits when condition is true are counted, see processBreakPointEvent.
+                    breakPointRequest.putProperty(HITS_LEFT_PROPERTY, hitCount);
+                } else {
+                    // Target JVM counts hits itself and doesn't suspend until the last one.
+                    breakPointRequest.addCountFilter(hitCount);
+                }
             }
             breakPointRequest.setEnabled(true);
         } catch (NativeMethodException | IllegalThreadStateException | InvalidRequestStateException e) {
@@ -293,18 +331,26 @@ public class Debugger implements EventsHandler {
         }
         List<BreakPoint> breakPoints = new ArrayList<>(breakpointRequests.size());
         for (BreakpointRequest breakpointRequest : breakpointRequests) {
-            com.sun.jdi.Location location = breakpointRequest.location();
-            // Breakpoint always enabled at the moment. Managing states of breakpoint is not supported for now.
-            breakPoints.add(DtoFactory.getInstance().createDto(BreakPoint.class)
-                                      .withEnabled(true)
-                                      .withLocation(DtoFactory.getInstance().createDto(Location.class)
-                                                              .withClassName(location.declaringType().name())
-                                                              .withLineNumber(location.lineNumber())));
+            breakPoints.add(toBreakPoint(breakpointRequest));
         }
         Collections.sort(breakPoints, BREAKPOINT_COMPARATOR);
         return breakPoints;
     }
 
+    private BreakPoint toBreakPoint(BreakpointRequest breakpointRequest) {
+        com.sun.jdi.Location location = breakpointRequest.location();
+        ExpressionParser parser = (ExpressionParser)breakpointRequest.getProperty(CONDITION_PROPERTY);
+        Integer hitCount = (Integer)breakpointRequest.getProperty(HIT_COUNT_PROPERTY);
+        // Breakpoint is disabled when its hit count is reached.
+        return DtoFactory.getInstance().createDto(BreakPoint.class)
+                         .withEnabled(breakpointRequest.isEnabled())
+                         .withCondition(parser == null ? null : parser.getExpression())
+                         .withHitCount(hitCount == null ? 0 : hitCount)
+                         .withLocation(DtoFactory.getInstance().createDto(Location.class)
+                                                 .withClassName(location.declaringType().name())
+                                                 .withLineNumber(location.lineNumber()));
+    }
+
     private static final Comparator<BreakPoint> BREAKPOINT_COMPARATOR = new BreakPointComparator();
 
     /**
@@ -340,19 +386,17 @@ public class Debugger implements EventsHandler {
     }
 
     /**
-     * Get next list of debugger events.
+     * Get buffered debugger events which occurred after the given one. Events are delivered over WebSocket, this method
+     * is used to get events missed while WebSocket connection was lost.
      *
-     * @return set of the debugger's events which occurred after last visit this method
+     * @param sequenceNumber
+     *         sequence number of the last received event, 0 to get all buffered events
+     * @return list of the debugger's events which follow the given one
      * @throws DebuggerException
      *         when any JDI errors occurs when try to get events
      */
-    public List<DebuggerEvent> getEvents() throws DebuggerException {
-        List<DebuggerEvent> eventsSnapshot;
-        synchronized (events) {
-            eventsSnapshot = new ArrayList<>(events);
-            events.clear();
-        }
-        return eventsSnapshot;
+    public List<DebuggerEvent> getEvents(long sequenceNumber) throws DebuggerException {
+        return events.getEventsAfter(sequenceNumber);
     }
 
     /**
@@ -373,7 +417,9 @@ public class Debugger implements EventsHandler {
     }
 
     /**
-     * Get dump of fields and local variable of current object and current frame.
+     * Get dump of fields and local variable of current object and current frame. Values of all variables are fetched
+     * with one request, dump contains values of primitives and strings, values of the other objects are replaced with
+     * their identifiers. Full values and nested variables are got on demand with {@link #getValue(VariablePath)}.
      *
      * @return dump of current stack frame
      * @throws DebuggerStateException
@@ -400,7 +446,7 @@ public class Debugger implements EventsHandler {
                                                   .withIsVolatile(f.isVolatile())
                                                   .withName(f.getName())
                                                   .withExistInformation(existInformation)
-                                                  .withValue(f.getValue().getAsString())
+                                                  .withValue(f.getValue().getAsShortString())
                                                   .withType(f.getTypeName())
                                                   .withVariablePath(
                                                           DtoFactory.getInstance().createDto(VariablePath.class)
@@ -412,7 +458,7 @@ public class Debugger implements EventsHandler {
             dump.getLocalVariables().add(DtoFactory.getInstance().createDto(Variable.class)
                                                    .withName(var.getName())
                                                    .withExistInformation(existInformation)
-                                                   .withValue(var.getValue().getAsString())
+                                                   .withValue(var.getValue().getAsShortString())
                                                    .withType(var.getTypeName())
                                                    .withVariablePath(
                                                            DtoFactory.getInstance().createDto(VariablePath.class)
@@ -459,6 +505,11 @@ public class Debugger implements EventsHandler {
      * <li>Through field <i>a</i> in class <i>B</i>: ['this', 'a', 'str']</li>
      * <li>Through local variable <i>var</i> in method <i>B.method()</i>: ['var', 'str']</li>
      * </ol>
+     * <p/>
+     * Value contains at most {@link #VARIABLES_PAGE_SIZE} nested variables. Values of nested variables are short, see
+     * {@link JdiValue#getAsShortString()}. Nested variables of larger arrays are replaced with ranges of elements, e.g.
+     * <i>[0..99]</i>, <i>[100..199]</i>, etc, the range should be added to the path to get its elements:
+     * ['var', 'array', '[100..199]'].
      *
      * @param variablePath
      *         path to variable
@@ -490,16 +541,58 @@ public class Debugger implements EventsHandler {
             offset = 1;
         }
 
+        // range of nested variables, null if all of them are requested
+        int[] range = null;
         for (int i = offset; variable != null && i < path.size(); i++) {
-            variable = variable.getValue().getVariableByName(path.get(i));
+            int[] r = parseRange(path.get(i));
+            if (r != null) {
+                range = r;
+            } else {
+                variable = variable.getValue().getVariableByName(path.get(i));
+                range = null;
+            }
         }
 
         if (variable == null) {
             return null;
         }
 
-        Value value = DtoFactory.getInstance().createDto(Value.class).withValue(variable.getValue().getAsString());
-        for (JdiVariable ch : variable.getValue().getVariables()) {
+        JdiValue jdiValue = variable.getValue();
+        int total = jdiValue.getVariablesCount();
+        int start = 0;
+        int count = total;
+        if (range != null) {
+            start = range[0];
+            count = range[1] - range[0] + 1;
+            if (count < 1 || start + count > total) {
+                return null;
+            }
+        }
+
+        Value value = DtoFactory.getInstance().createDto(Value.class)
+                                .withValue(range == null ? jdiValue.getAsString() : path.get(path.size() - 1));
+        if (count > VARIABLES_PAGE_SIZE) {
+            long rangeSize = VARIABLES_PAGE_SIZE;
+            while ((count + rangeSize - 1) / rangeSize > VARIABLES_PAGE_SIZE) {
+                rangeSize *= VARIABLES_PAGE_SIZE;
+            }
+            for (long rangeStart = start; rangeStart < start + count; rangeStart += rangeSize) {
+                long rangeEnd = Math.min(start + count, rangeStart + rangeSize) - 1;
+                String name = "[" + rangeStart + ".." + rangeEnd + "]";
+                VariablePath rangePath = DtoFactory.getInstance().createDto(VariablePath.class).withPath(new ArrayList<>(path));
+                rangePath.getPath().add(name);
+                value.getVariables().add(DtoFactory.getInstance().createDto(Variable.class)
+                                                   .withName(name)
+                                                   .withExistInformation(true)
+                                                   .withValue("")
+                                                   .withType(variable.getTypeName())
+                                                   .withVariablePath(rangePath)
+                                                   .withPrimitive(false));
+            }
+            return value;
+        }
+
+        for (JdiVariable ch : jdiValue.getVariables(start, count)) {
             VariablePath chPath = DtoFactory.getInstance().createDto(VariablePath.class).withPath(new ArrayList<>(path));
             chPath.getPath().add(ch.getName());
             if (ch instanceof JdiField) {
@@ -511,7 +604,7 @@ public class Debugger implements EventsHandler {
                                                    .withIsVolatile(f.isVolatile())
                                                    .withName(f.getName())
                                                    .withExistInformation(true)
-                                                   .withValue(f.getValue().getAsString())
+                                                   .withValue(f.getValue().getAsShortString())
                                                    .withType(f.getTypeName())
                                                    .withVariablePath(chPath)
                                                    .withPrimitive(f.isPrimitive()));
@@ -520,7 +613,7 @@ public class Debugger implements EventsHandler {
                 value.getVariables().add(DtoFactory.getInstance().createDto(Variable.class)
                                                    .withName(ch.getName())
                                                    .withExistInformation(true)
-                                                   .withValue(ch.getValue().getAsString())
+                                                   .withValue(ch.getValue().getAsShortString())
                                                    .withType(ch.getTypeName())
                                                    .withVariablePath(chPath)
                                                    .withPrimitive(ch.isPrimitive()));
@@ -529,6 +622,19 @@ public class Debugger implements EventsHandler {
         return value;
     }
 
+    /** Returns first and last indexes of range of array elements or <code>null</code> if name isn't a range. */
+    private static int[] parseRange(String name) {
+        Matcher matcher = RANGE.matcher(name);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return new int[]{Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * Update the value of variable with the value of an evaluated expression.
      *
@@ -542,7 +648,12 @@ public class Debugger implements EventsHandler {
     public void setValue(VariablePath variablePath, String valueExpression) throws DebuggerException {
         StringBuilder expression = new StringBuilder();
         for (String s : variablePath.getPath()) {
-            if ("static".equals(s)) {
+            if ("static".equals(s) || parseRange(s) != null) {
+                continue;
+            }
+            if (s.startsWith("[")) {
+                // Array element.
+                expression.append(s);
                 continue;
             }
             if (expression.length() > 0) {
@@ -610,68 +721,76 @@ public class Debugger implements EventsHandler {
 
     private boolean processBreakPointEvent(com.sun.jdi.event.BreakpointEvent event) throws DebuggerException {
         setCurrentThread(event.thread());
+        BreakpointRequest request = (BreakpointRequest)event.request();
         boolean hitBreakpoint;
-        ExpressionParser parser = (ExpressionParser)event.request().getProperty("org.eclipse.che.ide.java.debug.condition.expression.parser");
+        ExpressionParser parser = (ExpressionParser)request.getProperty(CONDITION_PROPERTY);
         if (parser != null) {
-            com.sun.jdi.Value result = evaluate(parser);
-            hitBreakpoint = result instanceof com.sun.jdi.BooleanValue && ((com.sun.jdi.BooleanValue)result).value();
+            try {
+                com.sun.jdi.Value result = evaluate(parser);
+                hitBreakpoint = result instanceof com.sun.jdi.BooleanValue && ((com.sun.jdi.BooleanValue)result).value();
+            } catch (ExpressionException e) {
+                // Suspend target JVM to let user see that condition is invalid.
+                LOG.warn("Unable to evaluate condition '{}' of breakpoint at {}: {}", parser.getExpression(), event.location(),
+                         e.getMessage());
+                hitBreakpoint = true;
+            } catch (RuntimeException e) {
+                // E.g. InvalidStackFrameException or ObjectCollectedException, suspend as for an invalid condition.
+                LOG.warn("Unable to evaluate condition '{}' of breakpoint at {}", parser.getExpression(), event.location(), e);
+                hitBreakpoint = true;
+            }
         } else {
             // If there is no expression.
             hitBreakpoint = true;
         }
 
-        if (hitBreakpoint) {
-            com.sun.jdi.Location location = event.location();
-            BreakPointEvent breakPointEvent;
-            synchronized (events) {
-                // Breakpoint always enabled at the moment. Managing states of breakpoint is not supported for now.
-                breakPointEvent = (BreakPointEvent)DtoFactory.getInstance().createDto(BreakPointEvent.class)
-                                                             .withBreakPoint(
-                                                                     DtoFactory.getInstance().createDto(BreakPoint.class)
-                                                                               .withEnabled(true)
-                                                                               .withLocation(
-                                                                                       DtoFactory.getInstance().createDto(Location.class)
-                                                                                                 .withClassName(
-                                                                                                         location.declaringType().name())
-                                                                                                 .withLineNumber(location.lineNumber())
-                                                                                            )
-                                                                            )
-                                                             .withType(DebuggerEvent.BREAKPOINT);
-                events.add(breakPointEvent);
+        Integer hitsLeft = (Integer)request.getProperty(HITS_LEFT_PROPERTY);
+        if (hitBreakpoint && hitsLeft != null) {
+            request.putProperty(HITS_LEFT_PROPERTY, hitsLeft - 1);
+            if (hitsLeft > 1) {
+                hitBreakpoint = false;
+            } else {
+                // Hit count is reached, breakpoint doesn't suspend target JVM any more.
+                request.disable();
             }
+        } else if (hitsLeft == null && request.getProperty(HIT_COUNT_PROPERTY) != null) {
+            // Count filter is expired after the event, target JVM doesn't report the next hits. Disable request to show
+            // that, the same as when hits are counted by the debugger.
+            request.disable();
+        }
 
-            List<DebuggerEvent> eventsList = new ArrayList<>();
-            eventsList.add(breakPointEvent);
-            publishWebSocketMessage(DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(eventsList),
-                                    EVENTS_CHANNEL + id);
+        if (hitBreakpoint) {
+            BreakPointEvent breakPointEvent = (BreakPointEvent)DtoFactory.getInstance().createDto(BreakPointEvent.class)
+                                                                         .withBreakPoint(toBreakPoint(request))
+                                                                         .withType(DebuggerEvent.BREAKPOINT);
+            publishEvent(breakPointEvent);
         }
 
         // Left target JVM in suspended state if result of evaluation of expression is boolean value and true
-        // or if condition expression is not set.
+        // or if condition expression is not set, and hit count of breakpoint is reached.
         return !hitBreakpoint;
     }
 
     private boolean processStepEvent(com.sun.jdi.event.StepEvent event) throws DebuggerException {
         setCurrentThread(event.thread());
         com.sun.jdi.Location location = event.location();
-        StepEvent stepEvent;
-        synchronized (events) {
-            stepEvent = (StepEvent)DtoFactory.getInstance().createDto(StepEvent.class)
-                                             .withLocation(DtoFactory.getInstance().createDto(Location.class)
-                                                                     .withClassName(location.declaringType().name())
-                                                                     .withLineNumber(location.lineNumber()))
-                                             .withType(DebuggerEvent.STEP);
-            events.add(stepEvent);
-        }
-
-        List<DebuggerEvent> eventsList = new ArrayList<>();
-        eventsList.add(stepEvent);
-        publishWebSocketMessage(DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(eventsList),
-                                EVENTS_CHANNEL + id);
+        StepEvent stepEvent = (StepEvent)DtoFactory.getInstance().createDto(StepEvent.class)
+                                                   .withLocation(DtoFactory.getInstance().createDto(Location.class)
+                                                                           .withClassName(location.declaringType().name())
+                                                                           .withLineNumber(location.lineNumber()))
+                                                   .withType(DebuggerEvent.STEP);
+        publishEvent(stepEvent);
         // Lets target JVM to be in suspend state.
         return false;
     }
 
+    /** Buffers event and sends it to the client. */
+    private void publishEvent(DebuggerEvent event) {
+        events.add(event);
+        publishWebSocketMessage(DtoFactory.getInstance().createDto(DebuggerEventList.class)
+                                          .withEvents(Collections.singletonList(event)),
+                                EVENTS_CHANNEL + id);
+    }
+
     private boolean processDisconnectEvent(com.sun.jdi.event.VMDisconnectEvent event) {
         publishWebSocketMessage(null, DISCONNECTED_CHANNEL + id);
         eventsCollector.stop();
@@ -757,15 +876,47 @@ public class Debugger implements EventsHandler {
         return result == null ? "null" : result.toString();
     }
 
+    /**
+     * Evaluate several expressions, e.g. watch expressions, in the current frame. Failure of one expression doesn't
+     * prevent evaluation of the others, its error message is returned instead of value.
+     *
+     * @param expressions
+     *         expressions to evaluate
+     * @return expressions with results of evaluation in the same order
+     * @throws DebuggerStateException
+     *         when target JVM is not suspended
+     */
+    public List<Expression> expressions(List<Expression> expressions) throws DebuggerStateException {
+        List<Expression> results = new ArrayList<>(expressions.size());
+        for (Expression expression : expressions) {
+            Expression result = DtoFactory.getInstance().createDto(Expression.class).withExpression(expression.getExpression());
+            try {
+                result.setValue(expression(expression.getExpression()));
+            } catch (ExpressionException e) {
+                result.setErrorMessage(e.getMessage());
+            } catch (RuntimeException e) {
+                // E.g. InvalidStackFrameException or ObjectCollectedException, the other expressions still may be evaluated.
+                LOG.warn(e.getMessage(), e);
+                result.setErrorMessage(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
     private com.sun.jdi.Value evaluate(ExpressionParser parser) throws DebuggerStateException {
         final long startTime = System.currentTimeMillis();
+        Evaluator evaluator = new Evaluator(vm, getCurrentThread(), valueCache, memberLookupCache);
         try {
-            return parser.evaluate(new Evaluator(vm, getCurrentThread()));
+            return parser.evaluate(evaluator);
         } finally {
             final long endTime = System.currentTimeMillis();
             LOG.debug("==>> Evaluate time: {} ms", (endTime - startTime));
-            // Evaluation of expression may update state of frame.
-            resetCurrentFrame();
+            // Invocation of method resumes thread, so the frame is not valid any more. Values updated by assignments
+            // are put into the cache by evaluator.
+            if (evaluator.isMethodInvoked()) {
+                resetCurrentFrame();
+            }
         }
     }
 
@@ -781,7 +932,7 @@ public class Debugger implements EventsHandler {
             return stackFrame;
         }
         try {
-            stackFrame = new JdiStackFrameImpl(getCurrentThread().frame(0));
+            stackFrame = new JdiStackFrameImpl(getCurrentThread().frame(0), valueCache);
         } catch (IncompatibleThreadStateException e) {
             throw new DebuggerException("Thread is not suspended. ", e);
         }
@@ -790,16 +941,19 @@ public class Debugger implements EventsHandler {
 
     private void setCurrentThread(ThreadReference t) {
         stackFrame = null;
+        valueCache.clear();
         thread = t;
     }
 
     private void resetCurrentFrame() {
         stackFrame = null;
+        valueCache.clear();
     }
 
     private void resetCurrentThread() {
         this.stackFrame = null;
         this.thread = null;
+        valueCache.clear();
     }
 
     //
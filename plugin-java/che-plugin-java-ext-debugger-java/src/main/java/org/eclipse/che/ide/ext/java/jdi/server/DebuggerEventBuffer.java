@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded buffer of the last events of the debugger session.
+ * <p/>
+ * Events are delivered to the client over WebSocket as soon as they occur, buffer keeps them to let the client
+ * get events which it missed while WebSocket connection was lost. Each event gets the sequence number, which is
+ * greater than sequence number of the previous event, client requests events which follow the last sequence number
+ * it received. When buffer is full the oldest event is overwritten. This class is thread-safe.
+ */
+public class DebuggerEventBuffer {
+    /** Default max number of the buffered events. */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final DebuggerEvent[] events;
+    /** Sequence number of the last added event, 0 if there are no events yet. */
+    private       long            lastSequenceNumber;
+
+    public DebuggerEventBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DebuggerEventBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive. ");
+        }
+        events = new DebuggerEvent[capacity];
+    }
+
+    /**
+     * Adds event to the buffer and sets its sequence number.
+     *
+     * @return sequence number of the event
+     */
+    public synchronized long add(DebuggerEvent event) {
+        long sequenceNumber = ++lastSequenceNumber;
+        event.setSequenceNumber(sequenceNumber);
+        events[(int)(sequenceNumber % events.length)] = event;
+        return sequenceNumber;
+    }
+
+    /**
+     * Returns buffered events which sequence numbers are greater than the given one, in order they occurred. Events
+     * which were overwritten are not returned.
+     *
+     * @param sequenceNumber
+     *         sequence number of the last event received by the client, 0 to get all buffered events
+     */
+    public synchronized List<DebuggerEvent> getEventsAfter(long sequenceNumber) {
+        long first = Math.max(sequenceNumber, lastSequenceNumber - events.length) + 1;
+        List<DebuggerEvent> result = new ArrayList<>();
+        for (long i = first; i <= lastSequenceNumber; i++) {
+            result.add(events[(int)(i % events.length)]);
+        }
+        return result;
+    }
+
+    /** Returns sequence number of the last event, 0 if there are no events yet. */
+    public synchronized long getLastSequenceNumber() {
+        return lastSequenceNumber;
+    }
+}
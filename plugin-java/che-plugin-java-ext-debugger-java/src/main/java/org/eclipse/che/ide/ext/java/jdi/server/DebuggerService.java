@@ -15,12 +15,14 @@ import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPointList;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEventList;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerInfo;
+import org.eclipse.che.ide.ext.java.jdi.shared.ExpressionList;
 import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
 import org.eclipse.che.ide.ext.java.jdi.shared.UpdateVariableRequest;
 import org.eclipse.che.ide.ext.java.jdi.shared.Value;
 import org.eclipse.che.ide.ext.java.jdi.shared.VariablePath;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -93,8 +95,10 @@ public class DebuggerService {
     @GET
     @Path("events/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public DebuggerEventList getEvents(@PathParam("id") String id) throws DebuggerException {
-        return DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(Debugger.getInstance(id).getEvents());
+    public DebuggerEventList getEvents(@PathParam("id") String id,
+                                       @DefaultValue("0") @QueryParam("since") long sequenceNumber) throws DebuggerException {
+        return DtoFactory.getInstance().createDto(DebuggerEventList.class)
+                         .withEvents(Debugger.getInstance(id).getEvents(sequenceNumber));
     }
 
     @GET
@@ -144,4 +148,13 @@ public class DebuggerService {
     public String expression(@PathParam("id") String id, String expression) throws DebuggerException {
         return Debugger.getInstance(id).expression(expression);
     }
+
+    @POST
+    @Path("expressions/{id}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public ExpressionList expressions(@PathParam("id") String id, ExpressionList expressions) throws DebuggerException {
+        return DtoFactory.getInstance().createDto(ExpressionList.class)
+                         .withExpressions(Debugger.getInstance(id).expressions(expressions.getExpressions()));
+    }
 }
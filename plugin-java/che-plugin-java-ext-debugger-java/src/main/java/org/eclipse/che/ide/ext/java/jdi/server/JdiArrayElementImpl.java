@@ -16,14 +16,16 @@ import com.sun.jdi.Value;
 
 /** @author andrew00x */
 public class JdiArrayElementImpl implements JdiArrayElement {
-    private final int    index;
-    private final Value  value;
-    private final String name;
+    private final int           index;
+    private final Value         value;
+    private final String        name;
+    private final JdiValueCache valueCache;
 
-    public JdiArrayElementImpl(int index, Value value) {
+    public JdiArrayElementImpl(int index, Value value, JdiValueCache valueCache) {
         this.index = index;
         this.value = value;
         this.name = "[" + index + "]";
+        this.valueCache = valueCache;
     }
 
     @Override
@@ -51,7 +53,7 @@ public class JdiArrayElementImpl implements JdiArrayElement {
         if (value == null) {
             return new JdiNullValue();
         }
-        return new JdiValueImpl(value);
+        return new JdiValueImpl(value, valueCache);
     }
 
     @Override
@@ -20,17 +20,20 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
     private final Field           field;
     private final ReferenceType   type;
     private final ObjectReference object;
+    private final JdiValueCache   valueCache;
 
-    public JdiFieldImpl(Field field, ObjectReference object) {
+    public JdiFieldImpl(Field field, ObjectReference object, JdiValueCache valueCache) {
         this.field = field;
         this.object = object;
         this.type = null;
+        this.valueCache = valueCache;
     }
 
-    public JdiFieldImpl(Field field, ReferenceType type) {
+    public JdiFieldImpl(Field field, ReferenceType type, JdiValueCache valueCache) {
         this.field = field;
         this.type = type;
         this.object = null;
+        this.valueCache = valueCache;
     }
 
     @Override
@@ -70,11 +73,11 @@ public class JdiFieldImpl implements JdiField, Comparable<JdiFieldImpl> {
 
     @Override
     public JdiValue getValue() {
-        Value value = object == null ? type.getValue(field) : object.getValue(field);
+        Value value = object == null ? valueCache.getValue(type, field) : valueCache.getValue(object, field);
         if (value == null) {
             return new JdiNullValue();
         }
-        return new JdiValueImpl(value);
+        return new JdiValueImpl(value, valueCache);
     }
 
     @Override
@@ -18,10 +18,12 @@ import com.sun.jdi.Value;
 public class JdiLocalVariableImpl implements JdiLocalVariable {
     private final LocalVariable variable;
     private final StackFrame    stackFrame;
+    private final JdiValueCache valueCache;
 
-    public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable) {
+    public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable, JdiValueCache valueCache) {
         this.stackFrame = stackFrame;
         this.variable = variable;
+        this.valueCache = valueCache;
     }
 
     @Override
@@ -41,11 +43,11 @@ public class JdiLocalVariableImpl implements JdiLocalVariable {
 
     @Override
     public JdiValue getValue() {
-        Value value = stackFrame.getValue(variable);
+        Value value = valueCache.getValue(stackFrame, variable);
         if (value == null) {
             return new JdiNullValue();
         }
-        return new JdiValueImpl(value);
+        return new JdiValueImpl(value, valueCache);
     }
 
     @Override
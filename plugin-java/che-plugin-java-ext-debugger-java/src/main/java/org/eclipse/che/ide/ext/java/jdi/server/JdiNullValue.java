@@ -17,11 +17,29 @@ public final class JdiNullValue implements JdiValue {
         return "null";
     }
 
+    @Override
+    public String getAsShortString() throws DebuggerException {
+        return "null";
+    }
+
     @Override
     public JdiVariable[] getVariables() throws DebuggerException {
         return new JdiVariable[0];
     }
 
+    @Override
+    public int getVariablesCount() throws DebuggerException {
+        return 0;
+    }
+
+    @Override
+    public JdiVariable[] getVariables(int start, int count) throws DebuggerException {
+        if (start != 0 || count != 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        return new JdiVariable[0];
+    }
+
     @Override
     public JdiVariable getVariableByName(String name) throws DebuggerException {
         return null;
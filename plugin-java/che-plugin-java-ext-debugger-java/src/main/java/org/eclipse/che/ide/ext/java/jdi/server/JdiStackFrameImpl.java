@@ -19,17 +19,20 @@ import com.sun.jdi.ObjectReference;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.StackFrame;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 /** @author andrew00x */
 public class JdiStackFrameImpl implements JdiStackFrame {
     private final StackFrame         stackFrame;
+    private final JdiValueCache      valueCache;
     private       JdiField[]         fields;
     private       JdiLocalVariable[] localVariables;
 
-    public JdiStackFrameImpl(StackFrame stackFrame) {
+    public JdiStackFrameImpl(StackFrame stackFrame, JdiValueCache valueCache) {
         this.stackFrame = stackFrame;
+        this.valueCache = valueCache;
     }
 
     @Override
@@ -37,20 +40,29 @@ public class JdiStackFrameImpl implements JdiStackFrame {
         if (fields == null) {
             try {
                 ObjectReference object = stackFrame.thisObject();
+                // Values are fetched with one request instead of request per field.
                 if (object == null) {
                     ReferenceType type = stackFrame.location().declaringType();
-                    List<Field> fs = stackFrame.location().declaringType().allFields();
+                    List<Field> fs = type.allFields();
+                    List<Field> staticFields = new ArrayList<>();
+                    for (Field f : fs) {
+                        if (f.isStatic()) {
+                            staticFields.add(f);
+                        }
+                    }
+                    valueCache.getValues(type, staticFields);
                     fields = new JdiField[fs.size()];
                     int i = 0;
                     for (Field f : fs) {
-                        fields[i++] = new JdiFieldImpl(f, type);
+                        fields[i++] = new JdiFieldImpl(f, type, valueCache);
                     }
                 } else {
                     List<Field> fs = object.referenceType().allFields();
+                    valueCache.getValues(object, fs);
                     fields = new JdiField[fs.size()];
                     int i = 0;
                     for (Field f : fs) {
-                        fields[i++] = new JdiFieldImpl(f, object);
+                        fields[i++] = new JdiFieldImpl(f, object, valueCache);
                     }
                 }
 
@@ -80,10 +92,11 @@ public class JdiStackFrameImpl implements JdiStackFrame {
         if (localVariables == null) {
             try {
                 List<LocalVariable> targetVariables = stackFrame.visibleVariables();
+                valueCache.getValues(stackFrame, targetVariables);
                 localVariables = new JdiLocalVariable[targetVariables.size()];
                 int i = 0;
                 for (LocalVariable var : targetVariables) {
-                    localVariables[i++] = new JdiLocalVariableImpl(stackFrame, var);
+                    localVariables[i++] = new JdiLocalVariableImpl(stackFrame, var, valueCache);
                 }
             } catch (AbsentInformationException e) {
                 throw new DebuggerAbsentInformationException(e.getMessage(), e);
@@ -25,6 +25,17 @@ public interface JdiValue {
      */
     String getAsString() throws DebuggerException;
 
+    /**
+     * Get short value in String representation which is cheap to get from the target JVM. For primitive values, strings
+     * and <i>null</i> it is the same as {@link #getAsString()}, for the other objects it is runtime type and identifier
+     * of object in form <i>instance of T(id=N)</i>, so their nested values aren't requested.
+     *
+     * @return short value in String representation
+     * @throws DebuggerException
+     *         if an error occurs
+     */
+    String getAsShortString() throws DebuggerException;
+
     /**
      * Get nested variables.
      *
@@ -35,6 +46,32 @@ public interface JdiValue {
      */
     JdiVariable[] getVariables() throws DebuggerException;
 
+    /**
+     * Get number of nested variables.
+     *
+     * @return number of nested variables, length of array if value represents array
+     * @throws DebuggerException
+     *         if an error occurs
+     * @see #getVariables()
+     */
+    int getVariablesCount() throws DebuggerException;
+
+    /**
+     * Get range of nested variables. Unlike {@link #getVariables()} for arrays this method fetches from the target JVM
+     * only members in the requested range.
+     *
+     * @param start
+     *         index of the first variable
+     * @param count
+     *         number of variables
+     * @return nested variables, see {@link #getVariables()}
+     * @throws DebuggerException
+     *         if an error occurs
+     * @throws IndexOutOfBoundsException
+     *         if range is out of bounds of nested variables
+     */
+    JdiVariable[] getVariables(int start, int count) throws DebuggerException;
+
     /**
      * Get nested variable by name.
      *
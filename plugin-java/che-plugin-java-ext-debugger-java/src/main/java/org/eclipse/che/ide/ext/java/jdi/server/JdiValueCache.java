@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of values of fields, local variables of the current frame and array elements which are read from the suspended
+ * target JVM.
+ * <p/>
+ * While thread is suspended values can't change, except of changes made by the debugger itself, so values are
+ * fetched from the target JVM once. Cache must be cleared when thread is resumed, e.g. by resume, step or invocation
+ * of method during evaluation of expression. Values updated by the debugger should be put into cache. Values of
+ * several variables are fetched with one request.
+ * <p/>
+ * Cache is shared by requests of the client and the thread which handles events of the target JVM, so all methods
+ * are synchronized and returned maps are copies which aren't changed by cache.
+ */
+public class JdiValueCache {
+    private final Map<ObjectReference, Map<Field, Value>>  instanceFields = new HashMap<>();
+    private final Map<ReferenceType, Map<Field, Value>>    staticFields   = new HashMap<>();
+    private final Map<ArrayReference, Map<Integer, Value>> arrayElements  = new HashMap<>();
+    /** Values of local variables of the current frame. */
+    private final Map<LocalVariable, Value>                localVariables = new HashMap<>();
+
+    /** Get value of field of object. Field may be static. */
+    public synchronized Value getValue(ObjectReference object, Field field) {
+        Map<Field, Value> values = getFieldValues(instanceFields, object);
+        if (!values.containsKey(field)) {
+            values.put(field, object.getValue(field));
+        }
+        return values.get(field);
+    }
+
+    /** Get values of fields of object with one request for fields which values aren't cached yet. */
+    public synchronized Map<Field, Value> getValues(ObjectReference object, List<Field> fields) {
+        Map<Field, Value> values = getFieldValues(instanceFields, object);
+        List<Field> missing = getMissing(values, fields);
+        if (!missing.isEmpty()) {
+            values.putAll(object.getValues(missing));
+        }
+        return copyOf(values, fields);
+    }
+
+    public synchronized void putValue(ObjectReference object, Field field, Value value) {
+        getFieldValues(instanceFields, object).put(field, value);
+    }
+
+    /** Get value of static field. */
+    public synchronized Value getValue(ReferenceType type, Field field) {
+        Map<Field, Value> values = getFieldValues(staticFields, type);
+        if (!values.containsKey(field)) {
+            values.put(field, type.getValue(field));
+        }
+        return values.get(field);
+    }
+
+    /** Get values of static fields with one request for fields which values aren't cached yet. */
+    public synchronized Map<Field, Value> getValues(ReferenceType type, List<Field> fields) {
+        Map<Field, Value> values = getFieldValues(staticFields, type);
+        List<Field> missing = getMissing(values, fields);
+        if (!missing.isEmpty()) {
+            values.putAll(type.getValues(missing));
+        }
+        return copyOf(values, fields);
+    }
+
+    public synchronized void putValue(ReferenceType type, Field field, Value value) {
+        getFieldValues(staticFields, type).put(field, value);
+    }
+
+    /** Get value of local variable of the current frame. */
+    public synchronized Value getValue(StackFrame frame, LocalVariable variable) {
+        if (!localVariables.containsKey(variable)) {
+            localVariables.put(variable, frame.getValue(variable));
+        }
+        return localVariables.get(variable);
+    }
+
+    /** Get values of local variables of the current frame with one request for variables which values aren't cached yet. */
+    public synchronized Map<LocalVariable, Value> getValues(StackFrame frame, List<LocalVariable> variables) {
+        List<LocalVariable> missing = getMissing(localVariables, variables);
+        if (!missing.isEmpty()) {
+            localVariables.putAll(frame.getValues(missing));
+        }
+        return copyOf(localVariables, variables);
+    }
+
+    public synchronized void putValue(LocalVariable variable, Value value) {
+        localVariables.put(variable, value);
+    }
+
+    /** Get element of array. */
+    public synchronized Value getValue(ArrayReference array, int index) {
+        Map<Integer, Value> values = getElementValues(array);
+        if (!values.containsKey(index)) {
+            values.put(index, array.getValue(index));
+        }
+        return values.get(index);
+    }
+
+    /** Get range of array elements, elements are fetched with one request if any of them isn't cached yet. */
+    public synchronized List<Value> getValues(ArrayReference array, int start, int count) {
+        Map<Integer, Value> values = getElementValues(array);
+        for (int i = start; i < start + count; i++) {
+            if (!values.containsKey(i)) {
+                List<Value> fetched = array.getValues(start, count);
+                for (int j = 0; j < count; j++) {
+                    values.put(start + j, fetched.get(j));
+                }
+                return fetched;
+            }
+        }
+        List<Value> result = new ArrayList<>(count);
+        for (int i = start; i < start + count; i++) {
+            result.add(values.get(i));
+        }
+        return result;
+    }
+
+    public synchronized void putValue(ArrayReference array, int index, Value value) {
+        getElementValues(array).put(index, value);
+    }
+
+    /** Remove all cached values. */
+    public synchronized void clear() {
+        instanceFields.clear();
+        staticFields.clear();
+        arrayElements.clear();
+        localVariables.clear();
+    }
+
+    private static <K> Map<Field, Value> getFieldValues(Map<K, Map<Field, Value>> cache, K key) {
+        Map<Field, Value> values = cache.get(key);
+        if (values == null) {
+            values = new HashMap<>();
+            cache.put(key, values);
+        }
+        return values;
+    }
+
+    private Map<Integer, Value> getElementValues(ArrayReference array) {
+        Map<Integer, Value> values = arrayElements.get(array);
+        if (values == null) {
+            values = new HashMap<>();
+            arrayElements.put(array, values);
+        }
+        return values;
+    }
+
+    private static <K> Map<K, Value> copyOf(Map<K, Value> values, List<K> keys) {
+        Map<K, Value> copy = new HashMap<>(keys.size());
+        for (K key : keys) {
+            copy.put(key, values.get(key));
+        }
+        return copy;
+    }
+
+    private static <K> List<K> getMissing(Map<K, Value> values, List<K> keys) {
+        List<K> missing = new ArrayList<>();
+        for (K key : keys) {
+            if (!values.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        return missing;
+    }
+}
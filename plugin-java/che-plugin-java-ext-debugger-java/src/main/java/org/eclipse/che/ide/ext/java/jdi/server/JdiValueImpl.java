@@ -15,6 +15,7 @@ import com.sun.jdi.Field;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.PrimitiveValue;
 import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StringReference;
 import com.sun.jdi.Value;
 
 import java.util.Arrays;
@@ -23,13 +24,15 @@ import java.util.List;
 /** @author andrew00x */
 public class JdiValueImpl implements JdiValue {
     private final Value         value;
+    private final JdiValueCache valueCache;
     private       JdiVariable[] variables;
 
-    public JdiValueImpl(Value value) {
+    public JdiValueImpl(Value value, JdiValueCache valueCache) {
         if (value == null) {
             throw new IllegalArgumentException("Underlying value may not be null. ");
         }
         this.value = value;
+        this.valueCache = valueCache;
     }
 
     @Override
@@ -37,6 +40,16 @@ public class JdiValueImpl implements JdiValue {
         return value.toString();
     }
 
+    @Override
+    public String getAsShortString() {
+        if (value instanceof ObjectReference && !(value instanceof StringReference)) {
+            ObjectReference object = (ObjectReference)value;
+            // Runtime type is cached by the object reference after the first request, unlike its nested values.
+            return "instance of " + object.referenceType().name() + "(id=" + object.uniqueID() + ")";
+        }
+        return value.toString();
+    }
+
     @Override
     public JdiVariable[] getVariables() {
         if (variables == null) {
@@ -44,20 +57,17 @@ public class JdiValueImpl implements JdiValue {
                 variables = new JdiVariable[0];
             } else {
                 if (isArray()) {
-                    ArrayReference array = (ArrayReference)value;
-                    int length = array.length();
-                    variables = new JdiVariable[length];
-                    for (int i = 0; i < length; i++) {
-                        variables[i] = new JdiArrayElementImpl(i, array.getValue(i));
-                    }
+                    variables = getArrayElements(0, ((ArrayReference)value).length());
                 } else {
                     ObjectReference object = (ObjectReference)value;
                     ReferenceType type = object.referenceType();
                     List<Field> fields = type.allFields();
+                    // Values are fetched with one request instead of request per field.
+                    valueCache.getValues(object, fields);
                     variables = new JdiVariable[fields.size()];
                     int i = 0;
                     for (Field f : fields) {
-                        variables[i++] = new JdiFieldImpl(f, object);
+                        variables[i++] = new JdiFieldImpl(f, object, valueCache);
                     }
                     // See JdiFieldImpl#compareTo(JdiFieldImpl).
                     Arrays.sort(variables);
@@ -67,11 +77,56 @@ public class JdiValueImpl implements JdiValue {
         return variables;
     }
 
+    @Override
+    public int getVariablesCount() {
+        if (variables == null && isArray()) {
+            return ((ArrayReference)value).length();
+        }
+        return getVariables().length;
+    }
+
+    @Override
+    public JdiVariable[] getVariables(int start, int count) {
+        if (variables == null && isArray()) {
+            if (start < 0 || count < 0 || start + count > ((ArrayReference)value).length()) {
+                throw new IndexOutOfBoundsException("Range [" + start + ", " + (start + count) + ") is out of bounds of array. ");
+            }
+            return getArrayElements(start, count);
+        }
+        return Arrays.copyOfRange(getVariables(), start, start + count);
+    }
+
+    private JdiVariable[] getArrayElements(int start, int count) {
+        JdiVariable[] elements = new JdiVariable[count];
+        if (count > 0) {
+            // Elements are fetched with one request instead of request per element.
+            List<Value> values = valueCache.getValues((ArrayReference)value, start, count);
+            for (int i = 0; i < count; i++) {
+                elements[i] = new JdiArrayElementImpl(start + i, values.get(i), valueCache);
+            }
+        }
+        return elements;
+    }
+
     @Override
     public JdiVariable getVariableByName(String name) throws DebuggerException {
         if (name == null) {
             throw new IllegalArgumentException("Variable name may not be null. ");
         }
+        if (variables == null && isArray() && name.startsWith("[") && name.endsWith("]")) {
+            // Don't fetch the whole array to get one element.
+            ArrayReference array = (ArrayReference)value;
+            int index;
+            try {
+                index = Integer.parseInt(name.substring(1, name.length() - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (index < 0 || index >= array.length()) {
+                return null;
+            }
+            return new JdiArrayElementImpl(index, valueCache.getValue(array, index), valueCache);
+        }
         for (JdiVariable variable : getVariables()) {
             if (name.equals(variable.getName())) {
                 return variable;
@@ -17,13 +17,31 @@ import org.antlr.runtime.CommonTokenStream;
 import org.antlr.runtime.RecognitionException;
 import org.antlr.runtime.tree.CommonTreeNodeStream;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * ANTLR based implementation of ExpressionParser.
+ * <p/>
+ * Parsed expression trees are cached by text of expression, so expressions which are evaluated repeatedly, e.g. watch
+ * expressions which are evaluated after each step, are parsed once. Trees aren't modified by evaluation and are shared
+ * between parsers, each evaluation walks the tree with its own node stream.
  *
  * @author andrew00x
  */
 public final class ANTLRExpressionParser extends ExpressionParser {
-    private CommonTreeNodeStream nodes;
+    /** Max number of cached expression trees. */
+    private static final int                 TREES_CACHE_SIZE = 200;
+    private static final Map<String, Object> TREES            =
+            Collections.synchronizedMap(new LinkedHashMap<String, Object>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    return size() > TREES_CACHE_SIZE;
+                }
+            });
+
+    private Object tree;
 
     public ANTLRExpressionParser(String expression) {
         super(expression);
@@ -32,22 +50,28 @@ public final class ANTLRExpressionParser extends ExpressionParser {
     @Override
     public Value evaluate(Evaluator ev) {
         try {
-            if (nodes == null) {
-                parse();
-            } else {
-                nodes.reset();
+            if (tree == null) {
+                tree = parse(getExpression());
             }
-            JavaTreeParser walker = new JavaTreeParser(nodes, ev);
+            JavaTreeParser walker = new JavaTreeParser(new CommonTreeNodeStream(tree), ev);
             return walker.evaluate();
         } catch (RecognitionException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
     }
 
-    private void parse() throws RecognitionException {
-        JavaLexer lexer = new JavaLexer(new ANTLRStringStream(getExpression()));
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        JavaParser parser = new JavaParser(tokens);
-        nodes = new CommonTreeNodeStream(parser.expression().getTree());
+    private static Object parse(String expression) throws RecognitionException {
+        Object tree = TREES.get(expression);
+        if (tree == null) {
+            JavaLexer lexer = new JavaLexer(new ANTLRStringStream(expression));
+            CommonTokenStream tokens = new CommonTokenStream(lexer);
+            JavaParser parser = new JavaParser(tokens);
+            tree = parser.expression().getTree();
+            // Parser recovers from syntax errors, don't keep the partial tree so the error is reported again.
+            if (parser.getNumberOfSyntaxErrors() == 0) {
+                TREES.put(expression, tree);
+            }
+        }
+        return tree;
     }
 }
@@ -16,22 +16,26 @@ import com.sun.jdi.InvalidTypeException;
 import com.sun.jdi.VMCannotBeModifiedException;
 import com.sun.jdi.Value;
 
+import org.eclipse.che.ide.ext.java.jdi.server.JdiValueCache;
+
 /** @author andrew00x */
 public class ArrayElement implements ExpressionValue {
     private final ArrayReference array;
     private final int            indx;
+    private final JdiValueCache  valueCache;
     private       Value          value;
 
-    public ArrayElement(ArrayReference array, int indx) {
+    public ArrayElement(ArrayReference array, int indx, JdiValueCache valueCache) {
         this.array = array;
         this.indx = indx;
+        this.valueCache = valueCache;
     }
 
     @Override
     public Value getValue() {
         if (value == null) {
             try {
-                value = array.getValue(indx);
+                value = valueCache.getValue(array, indx);
             } catch (IndexOutOfBoundsException e) {
                 throw new ExpressionException(e.getMessage(), e);
             }
@@ -43,6 +47,7 @@ public class ArrayElement implements ExpressionValue {
     public void setValue(Value value) {
         try {
             array.setValue(indx, value);
+            valueCache.putValue(array, indx, value);
         } catch (InvalidTypeException | ClassNotLoadedException | VMCannotBeModifiedException | IndexOutOfBoundsException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
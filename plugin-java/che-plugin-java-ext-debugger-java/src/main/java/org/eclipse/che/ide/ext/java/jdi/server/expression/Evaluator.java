@@ -42,6 +42,7 @@ import com.sun.jdi.Type;
 import com.sun.jdi.Value;
 import com.sun.jdi.VirtualMachine;
 
+import org.eclipse.che.ide.ext.java.jdi.server.JdiValueCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,18 +68,32 @@ public class Evaluator {
         PRIMITIVE_TYPES.add("double");
     }
 
-    private final VirtualMachine  vm;
-    private final ThreadReference thread;
+    private final VirtualMachine    vm;
+    private final ThreadReference   thread;
+    /** Values read from the target JVM while the thread is suspended, shared with inspection of variables. */
+    private final JdiValueCache     valueCache;
+    private final MemberLookupCache memberLookupCache;
+    private       boolean           methodInvoked;
 
-    public Evaluator(VirtualMachine vm, ThreadReference thread) {
+    public Evaluator(VirtualMachine vm, ThreadReference thread, JdiValueCache valueCache, MemberLookupCache memberLookupCache) {
         this.vm = vm;
         this.thread = thread;
+        this.valueCache = valueCache;
+        this.memberLookupCache = memberLookupCache;
     }
 
     private static boolean isPrimitive(Type type) {
         return PRIMITIVE_TYPES.contains(type.name());
     }
 
+    /**
+     * Returns <code>true</code> if method was invoked during evaluation. Thread is resumed during invocation of method,
+     * so its frames are not valid any more.
+     */
+    public boolean isMethodInvoked() {
+        return methodInvoked;
+    }
+
     public ThreadReference getThread() {
         return thread;
     }
@@ -241,9 +256,9 @@ public class Evaluator {
         ExpressionValue value = null;
         try {
             ObjectReference object = (ObjectReference)parent;
-            Field field = object.referenceType().fieldByName(name);
+            Field field = memberLookupCache.getField(object.referenceType(), name);
             if (field != null) {
-                value = new InstanceValue(object, field);
+                value = new InstanceValue(object, field, valueCache);
             }
         } catch (ClassNotPreparedException e) {
             throw new ExpressionException(e.getMessage(), e);
@@ -258,7 +273,7 @@ public class Evaluator {
             StackFrame frame = thread.frame(0);
             LocalVariable var = frame.visibleVariableByName(text);
             if (var != null) {
-                value = new LocalValue(thread, var);
+                value = new LocalValue(thread, var, valueCache);
             }
         } catch (IncompatibleThreadStateException | AbsentInformationException | InvalidStackFrameException | NativeMethodException e) {
             throw new ExpressionException(e.getMessage(), e);
@@ -274,7 +289,7 @@ public class Evaluator {
         if (!(indexValue instanceof IntegerValue)) {
             throw new ExpressionException("Invalid array index. ");
         }
-        return new ArrayElement((ArrayReference)arrayValue, ((IntegerValue)indexValue).value());
+        return new ArrayElement((ArrayReference)arrayValue, ((IntegerValue)indexValue).value(), valueCache);
     }
 
     private Method findMethod(List<Method> methods, List<Value> arguments) {
@@ -391,15 +406,22 @@ public class Evaluator {
         }
         ObjectReference object = (ObjectReference)value;
         ReferenceType type = object.referenceType();
-        List<Method> methods = type.methodsByName(name);
-        Method method = findMethod(methods, arguments);
+        Method method = memberLookupCache.getMethod(type, name, arguments);
         if (method == null) {
-            throw new ExpressionException("No method with name " + name + " matched to specified arguments for " + type.name());
+            method = findMethod(type.methodsByName(name), arguments);
+            if (method == null) {
+                throw new ExpressionException("No method with name " + name + " matched to specified arguments for " + type.name());
+            }
+            memberLookupCache.putMethod(type, name, arguments, method);
         }
         try {
             return new ReadOnlyValue(object.invokeMethod(thread, method, arguments, 0));
         } catch (InvalidTypeException | ClassNotLoadedException | IncompatibleThreadStateException | InvocationException e) {
             throw new ExpressionException(e.getMessage(), e);
+        } finally {
+            // Method may change any value in the target JVM.
+            methodInvoked = true;
+            valueCache.clear();
         }
     }
 
@@ -17,22 +17,26 @@ import com.sun.jdi.ObjectReference;
 import com.sun.jdi.VMCannotBeModifiedException;
 import com.sun.jdi.Value;
 
+import org.eclipse.che.ide.ext.java.jdi.server.JdiValueCache;
+
 /** @author andrew00x */
 public class InstanceValue implements ExpressionValue {
     private final ObjectReference instance;
     private final Field           field;
+    private final JdiValueCache   valueCache;
     private       Value           value;
 
-    public InstanceValue(ObjectReference instance, Field field) {
+    public InstanceValue(ObjectReference instance, Field field, JdiValueCache valueCache) {
         this.instance = instance;
         this.field = field;
+        this.valueCache = valueCache;
     }
 
     @Override
     public Value getValue() {
         if (value == null) {
             try {
-                value = instance.getValue(field);
+                value = valueCache.getValue(instance, field);
             } catch (IllegalArgumentException e) {
                 throw new ExpressionException(e.getMessage(), e);
             }
@@ -44,6 +48,7 @@ public class InstanceValue implements ExpressionValue {
     public void setValue(Value value) {
         try {
             instance.setValue(field, value);
+            valueCache.putValue(instance, field, value);
         } catch (InvalidTypeException | ClassNotLoadedException | VMCannotBeModifiedException | IllegalArgumentException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
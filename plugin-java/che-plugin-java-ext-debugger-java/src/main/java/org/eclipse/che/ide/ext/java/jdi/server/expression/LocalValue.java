@@ -18,22 +18,26 @@ import com.sun.jdi.LocalVariable;
 import com.sun.jdi.ThreadReference;
 import com.sun.jdi.Value;
 
+import org.eclipse.che.ide.ext.java.jdi.server.JdiValueCache;
+
 /** @author andrew00x */
 public class LocalValue implements ExpressionValue {
     private final ThreadReference thread;
     private final LocalVariable   variable;
+    private final JdiValueCache   valueCache;
     private       Value           value;
 
-    public LocalValue(ThreadReference thread, LocalVariable variable) {
+    public LocalValue(ThreadReference thread, LocalVariable variable, JdiValueCache valueCache) {
         this.thread = thread;
         this.variable = variable;
+        this.valueCache = valueCache;
     }
 
     @Override
     public Value getValue() {
         if (value == null) {
             try {
-                value = thread.frame(0).getValue(variable);
+                value = valueCache.getValue(thread.frame(0), variable);
             } catch (IncompatibleThreadStateException | IllegalArgumentException | InvalidStackFrameException e) {
                 throw new ExpressionException(e.getMessage(), e);
             }
@@ -45,6 +49,7 @@ public class LocalValue implements ExpressionValue {
     public void setValue(Value value) {
         try {
             thread.frame(0).setValue(variable, value);
+            valueCache.putValue(variable, value);
         } catch (IncompatibleThreadStateException | InvalidTypeException | ClassNotLoadedException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
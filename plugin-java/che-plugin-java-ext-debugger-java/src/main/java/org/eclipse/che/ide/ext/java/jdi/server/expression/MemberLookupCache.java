@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server.expression;
+
+import com.sun.jdi.Field;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of fields and methods found by {@link Evaluator}. Lookup of field or method depends only on the type, name and
+ * types of arguments, so it is done once per reference type during the debugger session rather than on each
+ * evaluation of expression.
+ */
+public class MemberLookupCache {
+    private final ConcurrentMap<List<Object>, Field>  fields  = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<Object>, Method> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Get visible field of type.
+     *
+     * @return field or <code>null</code> if there is no such field
+     */
+    public Field getField(ReferenceType type, String name) {
+        List<Object> key = new ArrayList<>(2);
+        key.add(type);
+        key.add(name);
+        Field field = fields.get(key);
+        if (field == null) {
+            field = type.fieldByName(name);
+            if (field != null) {
+                fields.put(key, field);
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Get method of type previously found for arguments of the same types.
+     *
+     * @return method or <code>null</code> if method isn't found yet
+     */
+    public Method getMethod(ReferenceType type, String name, List<Value> arguments) {
+        return methods.get(methodKey(type, name, arguments));
+    }
+
+    public void putMethod(ReferenceType type, String name, List<Value> arguments, Method method) {
+        methods.put(methodKey(type, name, arguments), method);
+    }
+
+    private static List<Object> methodKey(ReferenceType type, String name, List<Value> arguments) {
+        List<Object> key = new ArrayList<>(arguments.size() + 2);
+        key.add(type);
+        key.add(name);
+        for (Value argument : arguments) {
+            // null argument matches any non primitive type
+            key.add(argument == null ? null : argument.type());
+        }
+        return key;
+    }
+}
@@ -18,22 +18,26 @@ import com.sun.jdi.ReferenceType;
 import com.sun.jdi.VMCannotBeModifiedException;
 import com.sun.jdi.Value;
 
+import org.eclipse.che.ide.ext.java.jdi.server.JdiValueCache;
+
 /** @author andrew00x */
 public class StaticValue implements ExpressionValue {
     private final ReferenceType klass;
     private final Field         field;
+    private final JdiValueCache valueCache;
     private       Value         value;
 
-    public StaticValue(ReferenceType klass, Field field) {
+    public StaticValue(ReferenceType klass, Field field, JdiValueCache valueCache) {
         this.klass = klass;
         this.field = field;
+        this.valueCache = valueCache;
     }
 
     @Override
     public Value getValue() {
         if (value == null) {
             try {
-                value = klass.getValue(field);
+                value = valueCache.getValue(klass, field);
             } catch (IllegalArgumentException e) {
                 throw new ExpressionException(e.getMessage(), e);
             }
@@ -48,6 +52,7 @@ public class StaticValue implements ExpressionValue {
         }
         try {
             ((ClassType)klass).setValue(field, value);
+            valueCache.putValue(klass, field, value);
         } catch (InvalidTypeException | ClassNotLoadedException | VMCannotBeModifiedException | IllegalArgumentException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
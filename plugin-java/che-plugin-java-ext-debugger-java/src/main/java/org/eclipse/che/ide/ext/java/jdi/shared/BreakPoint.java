@@ -36,4 +36,15 @@ public interface BreakPoint {
     void setCondition(String condition);
 
     BreakPoint withCondition(String condition);
+
+    /**
+     * Number of hits after which breakpoint suspends target JVM, breakpoint suspends it once, on that hit. If
+     * breakpoint has condition only hits when condition is <code>true</code> are counted. 0 if breakpoint suspends
+     * target JVM on every hit.
+     */
+    int getHitCount();
+
+    void setHitCount(int hitCount);
+
+    BreakPoint withHitCount(int hitCount);
 }
\ No newline at end of file
@@ -23,4 +23,11 @@ public interface DebuggerEvent {
     void setType(int type);
 
     DebuggerEvent withType(int type);
+
+    /** Returns sequence number of the event in the debugger session, see {@code DebuggerEventBuffer}. */
+    long getSequenceNumber();
+
+    void setSequenceNumber(long sequenceNumber);
+
+    DebuggerEvent withSequenceNumber(long sequenceNumber);
 }
\ No newline at end of file
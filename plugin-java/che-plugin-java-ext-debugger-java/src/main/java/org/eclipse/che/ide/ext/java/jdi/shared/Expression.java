@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/** Expression evaluated together with other expressions, e.g. watch expression, and result of its evaluation. */
+@DTO
+public interface Expression {
+    String getExpression();
+
+    void setExpression(String expression);
+
+    Expression withExpression(String expression);
+
+    /** Returns result of evaluation, <code>null</code> if expression isn't evaluated or evaluation failed. */
+    String getValue();
+
+    void setValue(String value);
+
+    Expression withValue(String value);
+
+    /** Returns error message if evaluation failed. */
+    String getErrorMessage();
+
+    void setErrorMessage(String errorMessage);
+
+    Expression withErrorMessage(String errorMessage);
+}
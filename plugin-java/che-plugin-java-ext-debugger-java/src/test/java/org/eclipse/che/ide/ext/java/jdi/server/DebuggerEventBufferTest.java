@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link DebuggerEventBuffer}.
+ */
+public class DebuggerEventBufferTest {
+    private static final int CAPACITY = 3;
+
+    private DebuggerEventBuffer buffer;
+    private List<DebuggerEvent> added;
+
+    @Before
+    public void setUp() {
+        buffer = new DebuggerEventBuffer(CAPACITY);
+        added = new ArrayList<>();
+    }
+
+    @Test
+    public void emptyBufferHasNoEvents() {
+        assertThat(buffer.getLastSequenceNumber(), is(0L));
+        assertThat(buffer.getEventsAfter(0), equalTo(Collections.<DebuggerEvent>emptyList()));
+        assertThat(buffer.getEventsAfter(5), equalTo(Collections.<DebuggerEvent>emptyList()));
+    }
+
+    @Test
+    public void eventsGetIncreasingSequenceNumbers() {
+        DebuggerEvent event = mock(DebuggerEvent.class);
+
+        assertThat(buffer.add(mock(DebuggerEvent.class)), is(1L));
+        assertThat(buffer.add(event), is(2L));
+        verify(event).setSequenceNumber(2L);
+        assertThat(buffer.getLastSequenceNumber(), is(2L));
+    }
+
+    @Test
+    public void returnsEventsAfterGivenSequenceNumberInOrder() {
+        addEvents(2);
+
+        assertThat(buffer.getEventsAfter(0), equalTo(added));
+        assertThat(buffer.getEventsAfter(1), equalTo(added.subList(1, 2)));
+    }
+
+    @Test
+    public void returnsNothingWhenClientHasLastEvent() {
+        addEvents(5);
+
+        assertThat(buffer.getEventsAfter(5), equalTo(Collections.<DebuggerEvent>emptyList()));
+    }
+
+    @Test
+    public void returnsOnlyRetainedEventsWhenRequestedEventsWereOverwritten() {
+        addEvents(7);
+
+        // events 1-4 are overwritten, the buffer keeps 5, 6 and 7
+        assertThat(buffer.getEventsAfter(0), equalTo(added.subList(4, 7)));
+        assertThat(buffer.getEventsAfter(2), equalTo(added.subList(4, 7)));
+        assertThat(buffer.getEventsAfter(4), equalTo(added.subList(4, 7)));
+    }
+
+    @Test
+    public void returnsEventsAcrossWrapAround() {
+        addEvents(7);
+
+        assertThat(buffer.getEventsAfter(5), equalTo(added.subList(5, 7)));
+        assertThat(buffer.getEventsAfter(6), equalTo(added.subList(6, 7)));
+    }
+
+    private void addEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            DebuggerEvent event = mock(DebuggerEvent.class);
+            buffer.add(event);
+            added.add(event);
+        }
+    }
+}
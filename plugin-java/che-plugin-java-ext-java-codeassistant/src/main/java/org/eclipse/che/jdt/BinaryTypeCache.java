@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.inject.Singleton;
+
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+
+/**
+ * Node-wide cache of serialized binary types.
+ * <p/>
+ * Classes of a jar are immutable, so JSON of a type is keyed by content hash of the jar and binary name of the type
+ * and is shared between all projects and workspaces which use the same jar. File name of the cached type is
+ * <code>jarHash|entryName</code> instead of project specific handle of the package fragment root.
+ *
+ * @see BinaryTypeConvector
+ */
+@Singleton
+public class BinaryTypeCache {
+    /** Max summary length of cached JSON strings. */
+    private static final long MAX_WEIGHT = 64 * 1024 * 1024;
+
+    private final Cache<String, String> cache = CacheBuilder.newBuilder()
+                                                            .maximumWeight(MAX_WEIGHT)
+                                                            .weigher(new Weigher<String, String>() {
+                                                                @Override
+                                                                public int weigh(String key, String value) {
+                                                                    return key.length() + value.length();
+                                                                }
+                                                            })
+                                                            .build();
+
+    /**
+     * Returns JSON of the binary type, see {@link BinaryTypeConvector#toJsonBinaryType(IBinaryType, String, boolean)}.
+     *
+     * @param jarHash
+     *         content hash of the jar which contains the type, if <code>null</code> type isn't cached
+     * @param type
+     *         binary type
+     * @param compact
+     *         if <code>true</code> compact encoding is used
+     */
+    public String toJson(String jarHash, IBinaryType type, boolean compact) {
+        if (jarHash == null || type.getName() == null) {
+            return BinaryTypeConvector.toJsonBinaryType(type, null, compact);
+        }
+        String key = jarHash + '|' + new String(type.getName()) + (compact ? "|compact" : "");
+        String json = cache.getIfPresent(key);
+        if (json == null) {
+            json = BinaryTypeConvector.toJsonBinaryType(type, jarHash + '|' + getEntryName(type), compact);
+            cache.put(key, json);
+        }
+        return json;
+    }
+
+    private static String getEntryName(IBinaryType type) {
+        if (type.getFileName() == null) {
+            return "";
+        }
+        String fileName = new String(type.getFileName());
+        return fileName.substring(fileName.lastIndexOf('|') + 1);
+    }
+}
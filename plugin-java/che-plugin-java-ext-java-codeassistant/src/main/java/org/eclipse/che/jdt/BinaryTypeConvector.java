@@ -10,13 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.jdt;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.common.io.CharStreams;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.internal.compiler.env.ClassSignature;
@@ -29,6 +29,13 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryNestedType;
 import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.eclipse.jdt.internal.compiler.lookup.TypeIds.T_JavaLangString;
 import static org.eclipse.jdt.internal.compiler.lookup.TypeIds.T_boolean;
 import static org.eclipse.jdt.internal.compiler.lookup.TypeIds.T_byte;
@@ -44,98 +51,322 @@ import static org.eclipse.jdt.internal.compiler.lookup.TypeIds.T_short;
  */
 //todo add support of java8 type annotations
 public class BinaryTypeConvector {
-    private static final Gson gson = new GsonBuilder().disableHtmlEscaping().serializeNulls().create();
+    /**
+     * Media type of the compact encoding of the type info. In this encoding strings which are used several times in the type info
+     * are stored once in the string table and replaced by <code>"~index"</code> references, strings which start with '~' are
+     * escaped as <code>"~~..."</code>. Compact payload has form <code>{"$s":[string table], "$t":{type info}}</code>.
+     */
+    public static final String COMPACT_MEDIA_TYPE = "application/vnd.codenvy.java-type-compact+json";
+
+    /** Strings shorter than reference aren't put into string table. */
+    private static final int MIN_SHARED_STRING_LENGTH = 4;
 
     public static String toJsonBinaryType(IBinaryType type) {
-        JsonObject object = new JsonObject();
-        object.add("annotations", toJsonAnnotations(type.getAnnotations()));
-        object.add("enclosingMethod",
-                   type.getEnclosingMethod() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getEnclosingMethod())));
-        object.add("enclosingTypeName",
-                   type.getEnclosingTypeName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getEnclosingTypeName())));
-        object.add("fields", toJsonFields(type.getFields()));
-        object.add("genericSignature",
-                   type.getGenericSignature() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getGenericSignature())));
-        object.add("interfaceNames", toJsonArrayString(type.getInterfaceNames()));
-        object.add("memberTypes", toJsonMemberTypes(type.getMemberTypes()));
-        object.add("methods", toJsonMethods(type.getMethods()));
-        object.add("missingTypeNames", toJsonMissingTypeNames(type.getMissingTypeNames()));
-        object.add("name", type.getName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getName())));
-        object.add("sourceName", type.getSourceName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getSourceName())));
-        object.add("superclassName",
-                   type.getSuperclassName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getSuperclassName())));
-        object.add("tagBits", new JsonPrimitive(String.valueOf(type.getTagBits())));
-        object.add("anonymous", new JsonPrimitive(type.isAnonymous()));
-        object.add("local", new JsonPrimitive(type.isLocal()));
-        object.add("member", new JsonPrimitive(type.isMember()));
-        object.add("sourceFileName",
-                   type.sourceFileName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.sourceFileName())));
-        object.add("modifiers", new JsonPrimitive(type.getModifiers()));
-        object.add("binaryType", new JsonPrimitive(type.isBinaryType()));
-        object.add("fileName", type.getFileName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getFileName())));
-        return gson.toJson(object);
+        return toJsonBinaryType(type, null, false);
     }
 
+    /**
+     * Serializes binary type info to JSON.
+     *
+     * @param type
+     *         binary type
+     * @param fileName
+     *         file name which is written instead of {@link IBinaryType#getFileName()}, may be <code>null</code>
+     * @param compact
+     *         if <code>true</code> type info is written in compact encoding, see {@link #COMPACT_MEDIA_TYPE}
+     */
+    public static String toJsonBinaryType(IBinaryType type, String fileName, boolean compact) {
+        try {
+            if (!compact) {
+                StringWriter result = new StringWriter();
+                writeBinaryType(TypeWriter.plain(newJsonWriter(result)), type, fileName);
+                return result.toString();
+            }
+            // first pass counts strings, second one writes type info with string table
+            Map<String, Integer> counts = new HashMap<>();
+            writeBinaryType(TypeWriter.counting(newJsonWriter(CharStreams.nullWriter()), counts), type, fileName);
+            Map<String, Integer> table = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                if (entry.getValue() > 1 && entry.getKey().length() >= MIN_SHARED_STRING_LENGTH) {
+                    table.put(entry.getKey(), table.size());
+                }
+            }
+            StringWriter result = new StringWriter();
+            JsonWriter out = newJsonWriter(result);
+            out.beginObject();
+            out.name("$s").beginArray();
+            for (String string : table.keySet()) {
+                out.value(string);
+            }
+            out.endArray();
+            out.name("$t");
+            writeBinaryType(TypeWriter.compact(out, table), type, fileName);
+            out.endObject();
+            return result.toString();
+        } catch (IOException e) {
+            // never happens with StringWriter
+            throw new IllegalStateException(e);
+        }
+    }
 
-    private static JsonElement toJsonMethods(IBinaryMethod[] methods) {
-        if (methods == null) return JsonNull.INSTANCE;
-        JsonArray jsonElements = new JsonArray();
+    private static JsonWriter newJsonWriter(Writer writer) {
+        JsonWriter out = new JsonWriter(writer);
+        out.setHtmlSafe(false);
+        out.setSerializeNulls(true);
+        return out;
+    }
+
+    private static void writeBinaryType(TypeWriter out, IBinaryType type, String fileName) throws IOException {
+        out.beginObject();
+        out.name("annotations");
+        writeAnnotations(out, type.getAnnotations());
+        out.name("enclosingMethod").value(type.getEnclosingMethod());
+        out.name("enclosingTypeName").value(type.getEnclosingTypeName());
+        out.name("fields");
+        writeFields(out, type.getFields());
+        out.name("genericSignature").value(type.getGenericSignature());
+        out.name("interfaceNames");
+        writeArrayString(out, type.getInterfaceNames());
+        out.name("memberTypes");
+        writeMemberTypes(out, type.getMemberTypes());
+        out.name("methods");
+        writeMethods(out, type.getMethods());
+        out.name("missingTypeNames");
+        writeMissingTypeNames(out, type.getMissingTypeNames());
+        out.name("name").value(type.getName());
+        out.name("sourceName").value(type.getSourceName());
+        out.name("superclassName").value(type.getSuperclassName());
+        out.name("tagBits").value(String.valueOf(type.getTagBits()));
+        out.name("anonymous").value(type.isAnonymous());
+        out.name("local").value(type.isLocal());
+        out.name("member").value(type.isMember());
+        out.name("sourceFileName").value(type.sourceFileName());
+        out.name("modifiers").value(type.getModifiers());
+        out.name("binaryType").value(type.isBinaryType());
+        if (fileName != null) {
+            out.name("fileName").value(fileName);
+        } else {
+            out.name("fileName").value(type.getFileName());
+        }
+        out.endObject();
+    }
+
+    private static void writeMethods(TypeWriter out, IBinaryMethod[] methods) throws IOException {
+        if (methods == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
         for (IBinaryMethod method : methods) {
-            jsonElements.add(toJsonMethod(method));
+            writeMethod(out, method);
         }
-        return jsonElements;
+        out.endArray();
     }
 
-    private static JsonElement toJsonMethod(IBinaryMethod method) {
-        JsonObject object = new JsonObject();
-        object.addProperty("modifiers", method.getModifiers());
-        object.addProperty("constructor", method.isConstructor());
-        object.add("argumentNames", toJsonArrayString(method.getArgumentNames()));
-        object.add("annotations", toJsonAnnotations(method.getAnnotations()));
-        object.add("defaultValue", toJsonDefaultValue(method.getDefaultValue()));
-        object.add("exceptionTypeNames", toJsonArrayString(method.getExceptionTypeNames()));
-        object.add("genericSignature",
-                   method.getGenericSignature() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(method.getGenericSignature())));
-        object.add("methodDescriptor",
-                   method.getMethodDescriptor() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(method.getMethodDescriptor())));
-        object.add("parameterAnnotations", toJsonParameterAnnotations(method));
-        object.add("selector", method.getSelector() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(method.getSelector())));
-        object.addProperty("tagBits", String.valueOf(method.getTagBits()));
-        object.addProperty("clinit", method.isClinit());
-        return object;
+    private static void writeMethod(TypeWriter out, IBinaryMethod method) throws IOException {
+        out.beginObject();
+        out.name("modifiers").value(method.getModifiers());
+        out.name("constructor").value(method.isConstructor());
+        out.name("argumentNames");
+        writeArrayString(out, method.getArgumentNames());
+        out.name("annotations");
+        writeAnnotations(out, method.getAnnotations());
+        out.name("defaultValue");
+        writeDefaultValue(out, method.getDefaultValue());
+        out.name("exceptionTypeNames");
+        writeArrayString(out, method.getExceptionTypeNames());
+        out.name("genericSignature").value(method.getGenericSignature());
+        out.name("methodDescriptor").value(method.getMethodDescriptor());
+        out.name("parameterAnnotations");
+        writeParameterAnnotations(out, method);
+        out.name("selector").value(method.getSelector());
+        out.name("tagBits").value(String.valueOf(method.getTagBits()));
+        out.name("clinit").value(method.isClinit());
+        out.endObject();
     }
 
-    private static JsonElement toJsonParameterAnnotations(IBinaryMethod method) {
-        if (method.getAnnotatedParametersCount() != 0) {
-            JsonArray array = new JsonArray();
-            int parameterCount = Signature.getParameterCount(method.getMethodDescriptor());
-            for (int i = 0; i < parameterCount; i++) {
-                array.add(toJsonAnnotations(method.getParameterAnnotations(i)));
-            }
-            return array;
-        } else return JsonNull.INSTANCE;
+    private static void writeParameterAnnotations(TypeWriter out, IBinaryMethod method) throws IOException {
+        if (method.getAnnotatedParametersCount() == 0) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        int parameterCount = Signature.getParameterCount(method.getMethodDescriptor());
+        for (int i = 0; i < parameterCount; i++) {
+            writeAnnotations(out, method.getParameterAnnotations(i));
+        }
+        out.endArray();
     }
 
-    private static JsonElement toJsonFields(IBinaryField[] fields) {
-        if (fields == null) return JsonNull.INSTANCE;
-        JsonArray array = new JsonArray();
+    private static void writeFields(TypeWriter out, IBinaryField[] fields) throws IOException {
+        if (fields == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
         for (IBinaryField field : fields) {
-            array.add(toJsonField(field));
+            out.beginObject();
+            out.name("modifiers").value(field.getModifiers());
+            out.name("constant");
+            writeConstant(out, field.getConstant());
+            out.name("genericSignature").value(field.getGenericSignature());
+            out.name("name").value(field.getName());
+            out.name("tagBits").value(String.valueOf(field.getTagBits()));
+            out.name("typeName").value(field.getTypeName());
+            out.name("annotations");
+            writeAnnotations(out, field.getAnnotations());
+            out.endObject();
         }
-        return array;
+        out.endArray();
+    }
+
+    private static void writeConstant(TypeWriter out, Constant constant) throws IOException {
+        if (constant == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("typeId").value(constant.typeID());
+        switch (constant.typeID()) {
+            case T_int:
+                out.name("value").value(constant.intValue());
+                break;
+            case T_byte:
+                out.name("value").value(constant.byteValue());
+                break;
+            case T_short:
+                out.name("value").value(constant.shortValue());
+                break;
+            case T_char:
+                out.name("value").value(String.valueOf(constant.charValue()));
+                break;
+            case T_float:
+                out.name("value").value(String.valueOf(constant.floatValue()));
+                break;
+            case T_double:
+                if (Constant.NotAConstant.equals(constant)) {
+                    out.name("NotAConstant").value(1);
+                    out.name("value").value("NaN");
+                } else {
+                    out.name("value").value(constant.stringValue());
+                }
+                break;
+            case T_boolean:
+                out.name("value").value(constant.booleanValue());
+                break;
+            case T_long:
+                out.name("value").value(String.valueOf(constant.longValue()));
+                break;
+            case T_JavaLangString:
+                out.name("value").value(constant.stringValue());
+                break;
+            default:
+                out.name("value").nullValue();
+        }
+        out.endObject();
+    }
+
+    private static void writeAnnotations(TypeWriter out, IBinaryAnnotation[] annotations) throws IOException {
+        if (annotations == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (IBinaryAnnotation annotation : annotations) {
+            writeAnnotation(out, annotation);
+        }
+        out.endArray();
+    }
+
+    private static void writeAnnotation(TypeWriter out, IBinaryAnnotation annotation) throws IOException {
+        out.beginObject();
+        out.name("typeName").value(annotation.getTypeName());
+        out.name("elementValuePairs");
+        IBinaryElementValuePair[] pairs = annotation.getElementValuePairs();
+        if (pairs == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (IBinaryElementValuePair pair : pairs) {
+                out.beginObject();
+                out.name("name").value(pair.getName());
+                out.name("value");
+                writeDefaultValue(out, pair.getValue());
+                out.endObject();
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+
+    private static void writeDefaultValue(TypeWriter out, Object defaultValue) throws IOException {
+        if (defaultValue == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        if (defaultValue instanceof Constant) {
+            out.name("constant");
+            writeConstant(out, (Constant)defaultValue);
+        } else if (defaultValue instanceof ClassSignature) {
+            out.name("class").value(((ClassSignature)defaultValue).getTypeName());
+        } else if (defaultValue instanceof IBinaryAnnotation) {
+            out.name("annotation");
+            writeAnnotation(out, (IBinaryAnnotation)defaultValue);
+        } else if (defaultValue instanceof EnumConstantSignature) {
+            EnumConstantSignature signature = (EnumConstantSignature)defaultValue;
+            out.name("enum").beginObject();
+            out.name("typeName").value(signature.getTypeName());
+            out.name("constantName").value(signature.getEnumConstantName());
+            out.endObject();
+        } else if (defaultValue instanceof Object[]) {
+            out.name("array").beginArray();
+            for (Object o : (Object[])defaultValue) {
+                writeDefaultValue(out, o);
+            }
+            out.endArray();
+        }
+        out.endObject();
     }
 
-    private static JsonElement toJsonField(IBinaryField field) {
-        JsonObject object = new JsonObject();
-        object.addProperty("modifiers", field.getModifiers());
-        object.add("constant", toJsonConstant(field.getConstant()));
-        object.add("genericSignature",
-                   field.getGenericSignature() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(field.getGenericSignature())));
-        object.add("name", field.getName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(field.getName())));
-        object.addProperty("tagBits", String.valueOf(field.getTagBits()));
-        object.add("typeName", field.getTypeName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(field.getTypeName())));
-        object.add("annotations", toJsonAnnotations(field.getAnnotations()));
-        return object;
+    private static void writeMemberTypes(TypeWriter out, IBinaryNestedType[] memberTypes) throws IOException {
+        if (memberTypes == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (IBinaryNestedType type : memberTypes) {
+            out.beginObject();
+            out.name("enclosingTypeName").value(type.getEnclosingTypeName());
+            out.name("modifiers").value(type.getModifiers());
+            out.name("name").value(type.getName());
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    private static void writeMissingTypeNames(TypeWriter out, char[][][] missingTypeNames) throws IOException {
+        if (missingTypeNames == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (char[][] typeName : missingTypeNames) {
+            writeArrayString(out, typeName);
+        }
+        out.endArray();
+    }
+
+    private static void writeArrayString(TypeWriter out, char[][] chars) throws IOException {
+        if (chars == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (char[] aChar : chars) {
+            out.value(aChar);
+        }
+        out.endArray();
     }
 
     public static JsonElement toJsonConstant(Constant constant) {
@@ -183,101 +414,105 @@ public class BinaryTypeConvector {
         return con;
     }
 
-    private static JsonElement toJsonAnnotations(IBinaryAnnotation[] annotations) {
-        if (annotations == null) return JsonNull.INSTANCE;
+    public static JsonElement toJsonArrayString(char[][] chars) {
+        if (chars == null) return JsonNull.INSTANCE;
         JsonArray array = new JsonArray();
-        for (IBinaryAnnotation annotation : annotations) {
-            array.add(toJsonAnnotation(annotation));
+        for (char[] aChar : chars) {
+            array.add(new JsonPrimitive(new String(aChar)));
         }
         return array;
     }
 
-    private static JsonElement toJsonAnnotation(IBinaryAnnotation annotation) {
-        JsonObject object = new JsonObject();
-        object.add("typeName",
-                   annotation.getTypeName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(annotation.getTypeName())));
-        object.add("elementValuePairs", toJsonElementValuePairs(annotation.getElementValuePairs()));
-        return object;
-    }
+    /**
+     * Thin wrapper of {@link JsonWriter} which counts or replaces shared strings in compact mode.
+     */
+    private static class TypeWriter {
+        private final JsonWriter           out;
+        /** Counts of written strings, used in first pass of compact mode. */
+        private final Map<String, Integer> counts;
+        /** String table, used in second pass of compact mode. */
+        private final Map<String, Integer> table;
 
-    private static JsonElement toJsonElementValuePairs(IBinaryElementValuePair[] elementValuePairs) {
-        if (elementValuePairs == null) return JsonNull.INSTANCE;
-        JsonArray array = new JsonArray();
-        for (IBinaryElementValuePair pair : elementValuePairs) {
-            array.add(toJsonElementValuePair(pair));
+        private TypeWriter(JsonWriter out, Map<String, Integer> counts, Map<String, Integer> table) {
+            this.out = out;
+            this.counts = counts;
+            this.table = table;
         }
-        return array;
-    }
 
-    private static JsonElement toJsonElementValuePair(IBinaryElementValuePair pair) {
-        JsonObject object = new JsonObject();
-        object.add("name", pair.getName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(pair.getName())));
-        object.add("value", toJsonDefaultValue(pair.getValue()));
-        return object;
-    }
+        static TypeWriter plain(JsonWriter out) {
+            return new TypeWriter(out, null, null);
+        }
 
-    private static JsonElement toJsonDefaultValue(Object defaultValue) {
-        if (defaultValue == null) return JsonNull.INSTANCE;
-        JsonObject object = new JsonObject();
-        if (defaultValue instanceof Constant) {
-            object.add("constant", toJsonConstant((Constant)defaultValue));
-        } else if (defaultValue instanceof ClassSignature) {
-            object.addProperty("class", new String(((ClassSignature)defaultValue).getTypeName()));
-        } else if (defaultValue instanceof IBinaryAnnotation) {
-            object.add("annotation", toJsonAnnotation((IBinaryAnnotation)defaultValue));
-        } else if (defaultValue instanceof EnumConstantSignature) {
-            EnumConstantSignature signature = (EnumConstantSignature)defaultValue;
-            JsonObject enumSignature = new JsonObject();
-            enumSignature.addProperty("typeName", new String(signature.getTypeName()));
-            enumSignature.addProperty("constantName", new String(signature.getEnumConstantName()));
-            object.add("enum", enumSignature);
-        } else if (defaultValue instanceof Object[]) {
-            JsonArray array = new JsonArray();
-            for (Object o : (Object[])defaultValue) {
-                array.add(toJsonDefaultValue(o));
-            }
-            object.add("array", array);
+        static TypeWriter counting(JsonWriter out, Map<String, Integer> counts) {
+            return new TypeWriter(out, counts, null);
         }
 
-        return object;
-    }
+        static TypeWriter compact(JsonWriter out, Map<String, Integer> table) {
+            return new TypeWriter(out, null, table);
+        }
 
-    private static JsonElement toJsonMemberTypes(IBinaryNestedType[] memberTypes) {
-        if (memberTypes == null) return JsonNull.INSTANCE;
-        JsonArray array = new JsonArray();
-        for (IBinaryNestedType type : memberTypes) {
-            array.add(toJsonMemberType(type));
+        TypeWriter name(String name) throws IOException {
+            out.name(name);
+            return this;
         }
-        return array;
-    }
 
-    private static JsonElement toJsonMemberType(IBinaryNestedType type) {
-        JsonObject object = new JsonObject();
-        object.add("enclosingTypeName",
-                   type.getEnclosingTypeName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getEnclosingTypeName())));
-        object.addProperty("modifiers", type.getModifiers());
-        object.add("name", type.getName() == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(type.getName())));
-        return object;
-    }
+        TypeWriter value(char[] value) throws IOException {
+            return value(value == null ? null : new String(value));
+        }
 
-    private static JsonElement toJsonMissingTypeNames(char[][][] missingTypeNames) {
-        if (missingTypeNames == null) return JsonNull.INSTANCE;
-        JsonArray array = new JsonArray();
-        for (char[][] typeName : missingTypeNames) {
-            array.add(toJsonArrayString(typeName));
+        TypeWriter value(String value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else if (counts != null) {
+                Integer count = counts.get(value);
+                counts.put(value, count == null ? 1 : count + 1);
+                out.value(value);
+            } else if (table != null) {
+                Integer index = table.get(value);
+                if (index != null) {
+                    out.value("~" + index);
+                } else {
+                    out.value(value.startsWith("~") ? "~" + value : value);
+                }
+            } else {
+                out.value(value);
+            }
+            return this;
         }
-        return array;
-    }
 
+        TypeWriter value(long value) throws IOException {
+            out.value(value);
+            return this;
+        }
 
-    public static JsonElement toJsonArrayString(char[][] chars) {
-        if (chars == null) return JsonNull.INSTANCE;
-        JsonArray array = new JsonArray();
-        for (char[] aChar : chars) {
-            array.add(new JsonPrimitive(new String(aChar)));
+        TypeWriter value(boolean value) throws IOException {
+            out.value(value);
+            return this;
+        }
+
+        TypeWriter nullValue() throws IOException {
+            out.nullValue();
+            return this;
+        }
+
+        TypeWriter beginObject() throws IOException {
+            out.beginObject();
+            return this;
+        }
+
+        TypeWriter endObject() throws IOException {
+            out.endObject();
+            return this;
         }
-        return array;
-    }
 
+        TypeWriter beginArray() throws IOException {
+            out.beginArray();
+            return this;
+        }
 
+        TypeWriter endArray() throws IOException {
+            out.endArray();
+            return this;
+        }
+    }
 }
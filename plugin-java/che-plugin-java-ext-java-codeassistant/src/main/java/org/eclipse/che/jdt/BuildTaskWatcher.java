@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.api.builder.BuildStatus;
+import org.eclipse.che.api.builder.dto.BuildTaskDescriptor;
+import org.eclipse.che.api.builder.internal.BuilderEvent;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.rest.HttpJsonHelper;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for the end of build tasks.
+ * <p/>
+ * Status of the task is requested when the builder notifies that task is done, instead of polling it with fixed interval.
+ * If notification is lost (e.g. builder runs on other node), status is rechecked after {@link #STATUS_CHECK_PERIOD}.
+ * Several requests may wait for the same task, they share one latch.
+ */
+@Singleton
+public class BuildTaskWatcher {
+    /** Max time to wait for notification before status of the task is requested again, in milliseconds. */
+    private static final long STATUS_CHECK_PERIOD = 5000;
+    /** Initial delay between status requests when task is reported as done but its status isn't updated yet, in milliseconds. */
+    private static final long RECHECK_DELAY       = 100;
+
+    /** key = task id, value = latch released when task is done, shared by all waiters of the task */
+    private final Map<Long, TaskLatch> waiters = new HashMap<>();
+
+    @Inject
+    public BuildTaskWatcher(EventService eventService) {
+        eventService.subscribe(new EventSubscriber<BuilderEvent>() {
+            @Override
+            public void onEvent(BuilderEvent event) {
+                if (event.getType() == BuilderEvent.EventType.DONE) {
+                    synchronized (waiters) {
+                        TaskLatch latch = waiters.get(event.getTaskId());
+                        if (latch != null) {
+                            latch.countDown();
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits until task is finished.
+     *
+     * @param descriptor
+     *         descriptor of the launched task
+     * @return descriptor of the finished task
+     */
+    @NotNull
+    public BuildTaskDescriptor waitTaskFinish(@NotNull BuildTaskDescriptor descriptor) throws Exception {
+        Link statusLink = findLink("get status", descriptor);
+        if (statusLink == null || !isRunning(descriptor)) {
+            return descriptor;
+        }
+        CountDownLatch latch = register(descriptor.getTaskId());
+        try {
+            // task may be done before the latch is registered
+            BuildTaskDescriptor status = HttpJsonHelper.request(BuildTaskDescriptor.class, statusLink);
+            boolean notified = false;
+            long delay = RECHECK_DELAY;
+            while (isRunning(status)) {
+                if (!notified) {
+                    notified = latch.await(STATUS_CHECK_PERIOD, TimeUnit.MILLISECONDS);
+                } else {
+                    // builder reported the end of the task, but its status isn't updated yet
+                    Thread.sleep(delay);
+                    delay = Math.min(delay * 2, STATUS_CHECK_PERIOD);
+                }
+                status = HttpJsonHelper.request(BuildTaskDescriptor.class, statusLink);
+            }
+            return status;
+        } finally {
+            unregister(descriptor.getTaskId());
+        }
+    }
+
+    private CountDownLatch register(long taskId) {
+        synchronized (waiters) {
+            TaskLatch latch = waiters.get(taskId);
+            if (latch == null) {
+                latch = new TaskLatch();
+                waiters.put(taskId, latch);
+            }
+            latch.waiters++;
+            return latch;
+        }
+    }
+
+    private void unregister(long taskId) {
+        synchronized (waiters) {
+            TaskLatch latch = waiters.get(taskId);
+            if (latch != null && --latch.waiters == 0) {
+                waiters.remove(taskId);
+            }
+        }
+    }
+
+    private static boolean isRunning(BuildTaskDescriptor descriptor) {
+        return descriptor.getStatus() == BuildStatus.IN_PROGRESS || descriptor.getStatus() == BuildStatus.IN_QUEUE;
+    }
+
+    private static Link findLink(String rel, BuildTaskDescriptor descriptor) {
+        for (Link link : descriptor.getLinks()) {
+            if (link.getRel().equals(rel)) {
+                return link;
+            }
+        }
+        return null;
+    }
+
+    /** Latch of the task and number of requests which wait for it. */
+    private static class TaskLatch extends CountDownLatch {
+        private int waiters;
+
+        TaskLatch() {
+            super(1);
+        }
+    }
+}
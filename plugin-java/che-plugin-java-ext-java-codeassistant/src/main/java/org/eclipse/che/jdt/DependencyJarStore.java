@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Node-wide content addressed store of dependency jars.
+ * <p/>
+ * Jars are stored once under the SHA-1 of their content, dependency directories of the projects contain
+ * hard links to the stored jars, so the same library used by many projects takes disk space once and
+ * projects keep their own jar names. Link count of the stored file is its reference count, jars which
+ * aren't linked from any project are deleted by {@link #gc()}. If the file system doesn't support hard links
+ * project gets its own copy of the jar. If the file system doesn't report link count, references are unknown and
+ * stored jars aren't collected, it is logged once.
+ */
+public class DependencyJarStore {
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyJarStore.class);
+
+    private static final String JAR_SUFFIX = ".jar";
+
+    private final File    directory;
+    /** Whether it is already logged that link count isn't available and stored jars aren't collected. */
+    private       boolean gcDisabledLogged;
+
+    public DependencyJarStore(File directory) {
+        this.directory = directory;
+        directory.mkdirs();
+    }
+
+    /**
+     * Stores content of the stream and links the given file to the stored jar.
+     * File which already links to the jar with the same content is left untouched.
+     *
+     * @param in
+     *         content of the jar, stream isn't closed
+     * @param target
+     *         file in the dependency directory of the project
+     * @return content hash of the jar
+     */
+    public String store(InputStream in, File target) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        File temp = File.createTempFile("jar", ".tmp", directory);
+        try {
+            byte[] buffer = new byte[8192];
+            try (OutputStream out = new FileOutputStream(temp)) {
+                int r;
+                while ((r = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, r);
+                    out.write(buffer, 0, r);
+                }
+            }
+            String hash = toHex(digest.digest());
+            File stored = new File(directory, hash + JAR_SUFFIX);
+            synchronized (this) {
+                if (!stored.exists()) {
+                    Files.move(temp.toPath(), stored.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+                link(target.toPath(), stored.toPath());
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /**
+     * Returns number of the project files which link to the stored jar or <code>-1</code>
+     * if jar isn't stored or link count isn't supported by the file system.
+     */
+    public int getReferenceCount(String hash) {
+        File stored = new File(directory, hash + JAR_SUFFIX);
+        if (!stored.exists()) {
+            return -1;
+        }
+        try {
+            return getLinkCount(stored.toPath()) - 1;
+        } catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+            return -1;
+        }
+    }
+
+    /** Returns stored jars. */
+    public List<File> getJars() {
+        List<File> jars = new ArrayList<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(JAR_SUFFIX)) {
+                    jars.add(file);
+                }
+            }
+        }
+        return jars;
+    }
+
+    /**
+     * Deletes stored jars which aren't linked from any project.
+     */
+    public synchronized void gc() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.getName().endsWith(JAR_SUFFIX)) {
+                continue;
+            }
+            try {
+                if (getLinkCount(file.toPath()) <= 1) {
+                    Files.delete(file.toPath());
+                }
+            } catch (UnsupportedOperationException | IllegalArgumentException e) {
+                // link count isn't available, references are unknown
+                if (!gcDisabledLogged) {
+                    gcDisabledLogged = true;
+                    LOG.warn("File system of {} doesn't report link count, unused jars aren't deleted", directory);
+                }
+                return;
+            } catch (IOException e) {
+                LOG.warn("Can't delete unused jar " + file, e);
+            }
+        }
+    }
+
+    private static void link(Path target, Path stored) throws IOException {
+        if (Files.exists(target) && Files.isSameFile(target, stored)) {
+            return;
+        }
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, stored);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(stored, target);
+        }
+    }
+
+    private static int getLinkCount(Path file) throws IOException {
+        return (Integer)Files.getAttribute(file, "unix:nlink");
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
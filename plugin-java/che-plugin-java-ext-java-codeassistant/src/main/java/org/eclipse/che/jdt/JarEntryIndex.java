@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the files and folders of a jar built once from its central directory.
+ * <p/>
+ * Paths have the same form as paths of the jar entry resources in the navigation tree: they start with '/' and
+ * folders have no trailing '/', e.g. <code>/META-INF/MANIFEST.MF</code>. Folders which have no own jar entry but
+ * contain entries are indexed too. Lookup of an entry and of the children of a folder is a map lookup,
+ * children are sorted once: files first, then folders, by name, as in the navigation tree.
+ */
+public class JarEntryIndex {
+    private static final Comparator<Entry> ORDER = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry e1, Entry e2) {
+            if (e1.directory != e2.directory) {
+                return e1.directory ? 1 : -1;
+            }
+            return e1.name.compareTo(e2.name);
+        }
+    };
+
+    /** key = path, value = entry */
+    private final Map<String, Entry>       entries  = new HashMap<>();
+    /** key = path of the folder, empty string for the root of the jar, value = sorted children */
+    private final Map<String, List<Entry>> children = new HashMap<>();
+
+    private JarEntryIndex() {
+    }
+
+    /** Builds index of the entries of the jar. */
+    public static JarEntryIndex build(ZipFile jar) {
+        JarEntryIndex index = new JarEntryIndex();
+        Enumeration<? extends ZipEntry> zipEntries = jar.entries();
+        while (zipEntries.hasMoreElements()) {
+            ZipEntry zipEntry = zipEntries.nextElement();
+            String name = zipEntry.getName();
+            boolean directory = name.endsWith("/");
+            if (directory) {
+                name = name.substring(0, name.length() - 1);
+            }
+            if (!name.isEmpty()) {
+                index.add('/' + name, directory);
+            }
+        }
+        for (List<Entry> entries : index.children.values()) {
+            Collections.sort(entries, ORDER);
+        }
+        return index;
+    }
+
+    /**
+     * Returns entry with the given path.
+     *
+     * @return entry or <code>null</code> if jar doesn't contain the path
+     */
+    public Entry getEntry(String path) {
+        return entries.get(path);
+    }
+
+    /**
+     * Returns sorted children of the folder.
+     *
+     * @param path
+     *         path of the folder, <code>/</code> for the root of the jar
+     * @return children or <code>null</code> if jar doesn't contain the folder
+     */
+    public List<Entry> getChildren(String path) {
+        String key = "/".equals(path) ? "" : path;
+        List<Entry> folderChildren = children.get(key);
+        if (folderChildren == null) {
+            Entry entry = entries.get(key);
+            return entry != null && entry.directory ? Collections.<Entry>emptyList() : null;
+        }
+        return folderChildren;
+    }
+
+    /** Returns number of the indexed files and folders. */
+    public int size() {
+        return entries.size();
+    }
+
+    private void add(String path, boolean directory) {
+        Entry existing = entries.get(path);
+        if (existing != null) {
+            return;
+        }
+        int separator = path.lastIndexOf('/');
+        String parent = path.substring(0, separator);
+        Entry entry = new Entry(path.substring(separator + 1), path, directory);
+        entries.put(path, entry);
+        List<Entry> parentChildren = children.get(parent);
+        if (parentChildren == null) {
+            parentChildren = new ArrayList<>();
+            children.put(parent, parentChildren);
+        }
+        parentChildren.add(entry);
+        if (!parent.isEmpty()) {
+            add(parent, true);
+        }
+    }
+
+    /** File or folder of the jar. */
+    public static class Entry {
+        private final String  name;
+        private final String  path;
+        private final boolean directory;
+
+        Entry(String name, String path, boolean directory) {
+            this.name = name;
+            this.path = path;
+            this.directory = directory;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public boolean isDirectory() {
+            return directory;
+        }
+    }
+}
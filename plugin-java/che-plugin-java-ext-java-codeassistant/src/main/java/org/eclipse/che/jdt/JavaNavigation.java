@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.jdt;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.inject.Inject;
@@ -41,13 +46,19 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -58,56 +69,59 @@ import java.util.zip.ZipFile;
 public class JavaNavigation {
     private static final Logger               LOG           = LoggerFactory.getLogger(JavaNavigation.class);
     private static final ArrayList<JarEntry>  NO_ENTRIES    = new ArrayList<>(1);
+    private static final String               SUFFIX_CLASS  = ".class";
+    /** Max summary number of the entries of the cached jar entry indexes. */
+    private static final long                 MAX_INDEXED_ENTRIES = 2000000;
+    /** Packages, class files, folders and files, each kind sorted by name. */
     private static       Comparator<JarEntry> comparator    = new Comparator<JarEntry>() {
         @Override
         public int compare(JarEntry o1, JarEntry o2) {
-            if (o1.getType() == JarEntryType.PACKAGE && o2.getType() != JarEntryType.PACKAGE) {
-                return 1;
-            }
-
-            if (o2.getType() == JarEntryType.PACKAGE && o1.getType() != JarEntryType.PACKAGE) {
-                return 1;
-            }
-
-            if (o1.getType() == JarEntryType.CLASS_FILE && o2.getType() != JarEntryType.CLASS_FILE) {
-                return 1;
-            }
-
-            if (o1.getType() != JarEntryType.CLASS_FILE && o2.getType() == JarEntryType.CLASS_FILE) {
-                return 1;
+            int rank1 = rank(o1.getType());
+            int rank2 = rank(o2.getType());
+            if (rank1 != rank2) {
+                return rank1 < rank2 ? -1 : 1;
             }
+            return o1.getName().compareTo(o2.getName());
+        }
 
-            if (o1.getType() == JarEntryType.FOLDER && o2.getType() != JarEntryType.FOLDER) {
-                return 1;
+        private int rank(JarEntryType type) {
+            if (type == JarEntryType.PACKAGE) {
+                return 0;
             }
-
-            if (o1.getType() != JarEntryType.FOLDER && o2.getType() == JarEntryType.FOLDER) {
+            if (type == JarEntryType.CLASS_FILE) {
                 return 1;
             }
-
-            if (o1.getType() == JarEntryType.FILE && o2.getType() != JarEntryType.FILE) {
-                return -1;
-            }
-
-            if (o1.getType() != JarEntryType.FILE && o2.getType() == JarEntryType.FILE) {
-                return -1;
-            }
-
-
-            if (o1.getType() == o2.getType()) {
-                return o1.getName().compareTo(o2.getName());
-            }
-
-            return 0;
+            return type == JarEntryType.FOLDER ? 2 : 3;
         }
     };
     private              Gson                 gson          = new GsonBuilder().disableHtmlEscaping().serializeNulls().create();
     private              boolean              fFoldPackages = true;
     private SourcesFromBytecodeGenerator sourcesGenerator;
+    private JavaProjectService           projectService;
+    /** key = content hash of the jar or its path, value = index of the jar entries */
+    private final Cache<String, JarEntryIndex> entryIndexes = CacheBuilder.newBuilder()
+                                                                          .maximumWeight(MAX_INDEXED_ENTRIES)
+                                                                          .weigher(new Weigher<String, JarEntryIndex>() {
+                                                                              @Override
+                                                                              public int weigh(String key, JarEntryIndex value) {
+                                                                                  return value.size();
+                                                                              }
+                                                                          })
+                                                                          .build();
 
-    @Inject
     public JavaNavigation(SourcesFromBytecodeGenerator sourcesGenerator) {
+        this(sourcesGenerator, null);
+    }
+
+    /**
+     * @param projectService
+     *         provides content hashes of the jars and the store of generated sources, if <code>null</code> generated
+     *         sources aren't stored
+     */
+    @Inject
+    public JavaNavigation(SourcesFromBytecodeGenerator sourcesGenerator, JavaProjectService projectService) {
         this.sourcesGenerator = sourcesGenerator;
+        this.projectService = projectService;
     }
 
     /**
@@ -194,6 +208,54 @@ public class JavaNavigation {
         return jars;
     }
 
+    /**
+     * Returns page of the content of the package fragment root, the same content as
+     * {@link #getPackageFragmentRootContent(JavaProject, int)} returns. Content of a jar is its packages followed by its
+     * folders and files, which are taken from the {@link JarEntryIndex}, so entries are created for the returned page only.
+     *
+     * @param offset
+     *         index of the first returned entry
+     * @param limit
+     *         max number of the returned entries, <code>0</code> if number isn't limited
+     */
+    public List<JarEntry> getPackageFragmentRootContent(JavaProject project, int hash, int offset, int limit) throws JavaModelException {
+        IPackageFragmentRoot root = getPackageFragmentRoot(project, hash);
+        if (root == null) {
+            return NO_ENTRIES;
+        }
+        JarEntryIndex index = getEntryIndex(root);
+        List<JarEntryIndex.Entry> children = index != null ? index.getChildren("/") : null;
+        if (children == null) {
+            return page(convertToJarEntry(getPackageFragmentRootContent(root), root), offset, limit);
+        }
+        // top level packages are folded, so there are few of them
+        List<Object> packages = new ArrayList<>();
+        getHierarchicalPackageChildren(root, null, packages);
+        List<JarEntry> packageEntries = convertToJarEntry(packages.toArray(), root);
+        // folders go before files like in the whole content, see comparator, index keeps each kind sorted by name
+        List<JarEntryIndex.Entry> resources = new ArrayList<>();
+        for (JarEntryIndex.Entry child : children) {
+            // package folders are shown as packages
+            if (child.isDirectory() && !root.getPackageFragment(child.getName()).exists()) {
+                resources.add(child);
+            }
+        }
+        for (JarEntryIndex.Entry child : children) {
+            // class files of the default package are shown in the default package
+            if (!child.isDirectory() && !child.getName().endsWith(SUFFIX_CLASS)) {
+                resources.add(child);
+            }
+        }
+        int size = packageEntries.size() + resources.size();
+        int from = Math.min(Math.max(offset, 0), size);
+        int to = limit <= 0 ? size : (int)Math.min((long)from + limit, size);
+        List<JarEntry> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(i < packageEntries.size() ? packageEntries.get(i) : getJarEntry(resources.get(i - packageEntries.size())));
+        }
+        return result;
+    }
+
     public List<JarEntry> getPackageFragmentRootContent(JavaProject project, int hash) throws JavaModelException {
         IPackageFragmentRoot packageFragmentRoot = getPackageFragmentRoot(project, hash);
 
@@ -434,11 +496,38 @@ public class JavaNavigation {
     }
 
     public List<JarEntry> getChildren(JavaProject project, int rootId, String path) throws JavaModelException {
+        return getChildren(project, rootId, path, 0, 0);
+    }
+
+    /**
+     * Returns page of the children of the package or of the folder of the package fragment root.
+     * Children of the jar folders are taken from the {@link JarEntryIndex} of the jar, DTOs are created
+     * for the returned page only.
+     *
+     * @param offset
+     *         index of the first returned entry
+     * @param limit
+     *         max number of the returned entries, <code>0</code> if number isn't limited
+     */
+    public List<JarEntry> getChildren(JavaProject project, int rootId, String path, int offset, int limit) throws JavaModelException {
         IPackageFragmentRoot root = getPackageFragmentRoot(project, rootId);
         if (root == null) {
             return NO_ENTRIES;
         }
 
+        JarEntryIndex index = path.startsWith("/") ? getEntryIndex(root) : null;
+        if (index != null) {
+            List<JarEntryIndex.Entry> children = index.getChildren(path);
+            if (children == null) {
+                return NO_ENTRIES;
+            }
+            List<JarEntry> result = new ArrayList<>();
+            for (JarEntryIndex.Entry child : page(children, offset, limit)) {
+                result.add(getJarEntry(child));
+            }
+            return result;
+        }
+
         if (path.startsWith("/")) {
             // jar file and folders
             Object[] resources = root.getNonJavaResources();
@@ -447,7 +536,7 @@ public class JavaNavigation {
                     JarEntryDirectory directory = (JarEntryDirectory)resource;
                     Object[] children = findJarDirectoryChildren(directory, path);
                     if (children != null) {
-                        return convertToJarEntry(children, root);
+                        return page(convertToJarEntry(children, root), offset, limit);
                     }
                 }
             }
@@ -458,7 +547,7 @@ public class JavaNavigation {
             if (fragment == null) {
                 return NO_ENTRIES;
             }
-            return convertToJarEntry(getPackageContent(fragment), root);
+            return page(convertToJarEntry(getPackageContent(fragment), root), offset, limit);
         }
         return NO_ENTRIES;
     }
@@ -489,6 +578,10 @@ public class JavaNavigation {
                         jarPackageFragmentRoot.closeJar(jar);
                     }
                 }
+                JarEntryIndex index = getEntryIndex(root);
+                if (index != null && index.getEntry(path) == null) {
+                    return null;
+                }
             }
             Object[] resources = root.getNonJavaResources();
 
@@ -515,13 +608,88 @@ public class JavaNavigation {
                 if (classFile.getSourceRange() != null) {
                     return classFile.getSource();
                 } else {
-                    return sourcesGenerator.generateSource(classFile.getType());
+                    return getGeneratedSource(classFile);
                 }
             }
         }
         return null;
     }
 
+    /**
+     * Returns content of the non java file of the jar which is written directly from the jar entry,
+     * unlike {@link #getContent} the file isn't read into memory.
+     *
+     * @param path
+     *         path of the file in the jar, starts with '/'
+     * @return content or <code>null</code> if root isn't a jar or jar doesn't contain the file
+     */
+    public StreamingOutput getJarEntryContent(JavaProject project, int rootId, final String path) throws CoreException {
+        IPackageFragmentRoot root = getPackageFragmentRoot(project, rootId);
+        if (!(root instanceof JarPackageFragmentRoot) || !path.startsWith("/")) {
+            return null;
+        }
+        final JarPackageFragmentRoot jarPackageFragmentRoot = (JarPackageFragmentRoot)root;
+        ZipFile jar = null;
+        try {
+            jar = jarPackageFragmentRoot.getJar();
+            if (jar.getEntry(path.substring(1)) == null) {
+                return null;
+            }
+        } finally {
+            if (jar != null) {
+                jarPackageFragmentRoot.closeJar(jar);
+            }
+        }
+        return new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException, WebApplicationException {
+                ZipFile jar = null;
+                try {
+                    jar = jarPackageFragmentRoot.getJar();
+                    ZipEntry entry = jar.getEntry(path.substring(1));
+                    if (entry == null) {
+                        throw new IOException("Jar entry " + path + " doesn't exist");
+                    }
+                    try (InputStream stream = jar.getInputStream(entry)) {
+                        ByteStreams.copy(stream, output);
+                    }
+                } catch (CoreException e) {
+                    throw new IOException(e);
+                } finally {
+                    if (jar != null) {
+                        jarPackageFragmentRoot.closeJar(jar);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns source generated from the bytecode of the class file. Sources of the jar classes are stored in
+     * the {@link SourceStubStore} shared by all projects, so the same class is generated once per node.
+     */
+    private String getGeneratedSource(IClassFile classFile) throws JavaModelException {
+        IPackageFragmentRoot root = (IPackageFragmentRoot)classFile.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+        String jarHash = projectService != null && root != null && root.isArchive()
+                         ? projectService.getContentHash(root.getPath().toFile())
+                         : null;
+        if (jarHash == null) {
+            return sourcesGenerator.generateSource(classFile.getType());
+        }
+        String packageName = classFile.getParent().getElementName();
+        String className = classFile.getElementName().substring(0, classFile.getElementName().length() - SUFFIX_CLASS.length());
+        String binaryName = packageName.isEmpty() ? className : packageName.replace('.', '/') + '/' + className;
+        SourceStubStore store = projectService.getStubStore();
+        String source = store.get(jarHash, binaryName);
+        if (source == null) {
+            source = sourcesGenerator.generateSource(classFile.getType());
+            if (source != null) {
+                store.put(jarHash, binaryName, source);
+            }
+        }
+        return source;
+    }
+
     private String readFileContent(JarEntryFile file) {
         try (InputStream stream = (file.getContents())) {
             return IoUtil.readStream(stream);
@@ -552,6 +720,11 @@ public class JavaNavigation {
             return null;
         }
         if (path.startsWith("/")) {
+            JarEntryIndex index = getEntryIndex(root);
+            if (index != null) {
+                JarEntryIndex.Entry entry = index.getEntry(path);
+                return entry != null ? getJarEntry(entry) : null;
+            }
 
             JarPackageFragmentRoot jarPackageFragmentRoot = (JarPackageFragmentRoot)root;
             ZipFile jar = null;
@@ -600,4 +773,56 @@ public class JavaNavigation {
 
         return null;
     }
+
+    /**
+     * Returns index of the entries of the jar, index is built once per jar content and shared by all projects.
+     *
+     * @return index or <code>null</code> if root isn't a jar or jar can't be read
+     */
+    private JarEntryIndex getEntryIndex(IPackageFragmentRoot root) {
+        if (!(root instanceof JarPackageFragmentRoot)) {
+            return null;
+        }
+        final JarPackageFragmentRoot jarRoot = (JarPackageFragmentRoot)root;
+        String key = projectService != null
+                     ? projectService.getContentHash(root.getPath().toFile())
+                     : null;
+        if (key == null) {
+            File file = root.getPath().toFile();
+            key = file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified();
+        }
+        try {
+            return entryIndexes.get(key, new Callable<JarEntryIndex>() {
+                @Override
+                public JarEntryIndex call() throws Exception {
+                    ZipFile jar = jarRoot.getJar();
+                    try {
+                        return JarEntryIndex.build(jar);
+                    } finally {
+                        jarRoot.closeJar(jar);
+                    }
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            LOG.error("Can't index entries of " + root.getPath(), e.getCause());
+            return null;
+        }
+    }
+
+    private JarEntry getJarEntry(JarEntryIndex.Entry indexEntry) {
+        JarEntry entry = DtoFactory.getInstance().createDto(JarEntry.class);
+        entry.setType(indexEntry.isDirectory() ? JarEntryType.FOLDER : JarEntryType.FILE);
+        entry.setName(indexEntry.getName());
+        entry.setPath(indexEntry.getPath());
+        return entry;
+    }
+
+    private static <T> List<T> page(List<T> entries, int offset, int limit) {
+        if (offset <= 0 && (limit <= 0 || limit >= entries.size())) {
+            return entries;
+        }
+        int from = Math.min(Math.max(offset, 0), entries.size());
+        int to = limit <= 0 ? entries.size() : (int)Math.min((long)from + limit, entries.size());
+        return new ArrayList<>(entries.subList(from, to));
+    }
 }
@@ -25,6 +25,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.util.List;
 
 /**
@@ -47,55 +48,85 @@ public class JavaNavigationService {
     @Produces("application/json")
     public OpenDeclarationDescriptor findDeclaration(@QueryParam("projectpath") String projectPath, @QueryParam("bindingkey") String bindingKey)
             throws JavaModelException {
-        JavaProject project = service.getOrCreateJavaProject(wsId, projectPath);
-        if(bindingKey.contains(";.")){
-            String fqn = bindingKey.substring(0, bindingKey.indexOf(";."));
-            String bodyDeclaration = bindingKey.substring(bindingKey.indexOf(";."));
-            bindingKey = fqn + bodyDeclaration.replaceAll("/",".");
+        JavaProject project = service.acquireJavaProject(wsId, projectPath);
+        try {
+            if(bindingKey.contains(";.")){
+                String fqn = bindingKey.substring(0, bindingKey.indexOf(";."));
+                String bodyDeclaration = bindingKey.substring(bindingKey.indexOf(";."));
+                bindingKey = fqn + bodyDeclaration.replaceAll("/",".");
+            }
+            return navigation.findDeclaration(project, bindingKey);
+        } finally {
+            service.releaseJavaProject(project);
         }
-        return navigation.findDeclaration(project, bindingKey);
     }
 
     @GET
     @Path("libraries")
     @Produces("application/json")
     public List<Jar> getExternalLibraries(@QueryParam("projectpath") String projectPath) throws JavaModelException {
-        JavaProject project = service.getOrCreateJavaProject(wsId, projectPath);
-        return navigation.getProjectDependecyJars(project);
+        JavaProject project = service.acquireJavaProject(wsId, projectPath);
+        try {
+            return navigation.getProjectDependecyJars(project);
+        } finally {
+            service.releaseJavaProject(project);
+        }
     }
 
     @GET
     @Path("lib/children")
     @Produces("application/json")
-    public List<JarEntry> getLibraryChildren(@QueryParam("projectpath") String projectPath, @QueryParam("root") int rootId)
+    public List<JarEntry> getLibraryChildren(@QueryParam("projectpath") String projectPath, @QueryParam("root") int rootId,
+                                             @QueryParam("offset") int offset, @QueryParam("limit") int limit)
             throws JavaModelException {
-        JavaProject project = service.getOrCreateJavaProject(wsId, projectPath);
-        return navigation.getPackageFragmentRootContent(project, rootId);
+        JavaProject project = service.acquireJavaProject(wsId, projectPath);
+        try {
+            return navigation.getPackageFragmentRootContent(project, rootId, offset, limit);
+        } finally {
+            service.releaseJavaProject(project);
+        }
     }
 
     @GET
     @Path("children")
     @Produces("application/json")
     public List<JarEntry> getChildren(@QueryParam("projectpath") String projectPath, @QueryParam("path") String path,
-                                      @QueryParam("root") int rootId) throws JavaModelException {
-        JavaProject project = service.getOrCreateJavaProject(wsId, projectPath);
-        return navigation.getChildren(project, rootId, path);
+                                      @QueryParam("root") int rootId, @QueryParam("offset") int offset,
+                                      @QueryParam("limit") int limit) throws JavaModelException {
+        JavaProject project = service.acquireJavaProject(wsId, projectPath);
+        try {
+            return navigation.getChildren(project, rootId, path, offset, limit);
+        } finally {
+            service.releaseJavaProject(project);
+        }
     }
 
     @GET
     @Path("content")
     public Response getContent(@QueryParam("projectpath") String projectPath, @QueryParam("path") String path,
                                @QueryParam("root") int rootId) throws CoreException {
-        JavaProject project = service.getOrCreateJavaProject(wsId, projectPath);
-        String content = navigation.getContent(project, rootId, path);
-        return Response.ok().entity(content).build();
+        JavaProject project = service.acquireJavaProject(wsId, projectPath);
+        try {
+            StreamingOutput jarEntryContent = navigation.getJarEntryContent(project, rootId, path);
+            if (jarEntryContent != null) {
+                return Response.ok().entity(jarEntryContent).build();
+            }
+            String content = navigation.getContent(project, rootId, path);
+            return Response.ok().entity(content).build();
+        } finally {
+            service.releaseJavaProject(project);
+        }
     }
 
     @GET
     @Path("entry")
     public JarEntry getEntry(@QueryParam("projectpath") String projectPath, @QueryParam("path") String path,
                                @QueryParam("root") int rootId) throws CoreException {
-        JavaProject project = service.getOrCreateJavaProject(wsId, projectPath);
-        return navigation.getEntry(project, rootId, path);
+        JavaProject project = service.acquireJavaProject(wsId, projectPath);
+        try {
+            return navigation.getEntry(project, rootId, path);
+        } finally {
+            service.releaseJavaProject(project);
+        }
     }
 }
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+/**
+ * JMX view of the cache of java projects, see {@link JavaProjectService}.
+ */
+public interface JavaProjectCacheMXBean {
+    /** Number of requests which found the project in the cache. */
+    long getHitCount();
+
+    /** Number of requests which had to wait for the project creation. */
+    long getMissCount();
+
+    /** Number of created projects. */
+    long getLoadCount();
+
+    /** Number of failed project creations. */
+    long getLoadFailureCount();
+
+    /** Summary time of the project creations, in milliseconds. */
+    long getTotalLoadTime();
+
+    /** Number of projects removed from the cache because of heap budget or expiration. */
+    long getEvictionCount();
+
+    /** Number of projects in the cache. */
+    long getSize();
+
+    /** Estimated memory used by the cached projects, in kilobytes. */
+    long getWeight();
+
+    /** Max estimated memory of the cached projects, in kilobytes. */
+    long getHeapBudget();
+}
@@ -12,8 +12,12 @@ package org.eclipse.che.jdt;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
@@ -26,7 +30,9 @@ import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.eclipse.che.jdt.core.resources.ResourceChangedEvent;
 import org.eclipse.che.jdt.internal.core.JavaProject;
+import org.eclipse.che.jdt.internal.core.search.indexing.SharedIndexStore;
 import org.eclipse.che.vfs.impl.fs.LocalFSMountStrategy;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.codeassist.impl.AssistOptions;
@@ -34,12 +40,34 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Maintenance and create JavaProjects
@@ -51,19 +79,72 @@ public class JavaProjectService {
     /** Logger. */
     private static final Logger LOG = LoggerFactory.getLogger(JavaProjectService.class);
 
+    /** Number of threads which create java projects in background. */
+    private static final int LOADER_THREADS    = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    /** Max number of project creations waiting for a free loader thread. */
+    private static final int LOADER_QUEUE_SIZE = 100;
+    /** Time to collect file changes of a project into one batch, in milliseconds. */
+    private static final long CHANGES_DELAY     = 300;
+    /** Max time a request waits for creation of the project before it gets {@link ProjectNotReadyException}, in milliseconds. */
+    private static final long LOAD_WAIT_TIMEOUT = 5000;
+    /** Number of attempts to acquire a project which is evicted concurrently, see {@link #acquireJavaProject}. */
+    private static final int  ACQUIRE_ATTEMPTS  = 3;
+    /** Name of the JMX bean with the cache statistics. */
+    private static final String MBEAN_NAME      = "org.eclipse.che.jdt:type=JavaProjectCache";
+
+    /** State of the java model of a project. */
+    public enum ProjectState {
+        /** Project wasn't requested yet or was evicted from the cache. */
+        NOT_LOADED,
+        /** Project model is being created. */
+        LOADING,
+        /** Project model is created, libraries are still being indexed. */
+        WARMING,
+        /** Project model and all indexes are ready. */
+        READY,
+        /** Last attempt to create project model failed. */
+        FAILED
+    }
+
     private Cache<String, JavaProject> cache;
+    /** key = wsId + projectPath, value = weight of the cached project in kilobytes, see {@link #weigh} */
+    private final ConcurrentHashMap<String, Integer> weights = new ConcurrentHashMap<>();
+    private final long       heapBudget;
+    private final CacheStats stats = new CacheStats();
+    private final ConcurrentHashMap<String, Future<JavaProject>> loadingProjects = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Throwable>           failedProjects  = new ConcurrentHashMap<>();
+    /** key = wsId + projectPath, value = content hashes of the project jars, see {@link #getClasspathHashes} */
+    private final ConcurrentHashMap<String, Map<String, String>> classpathHashes = new ConcurrentHashMap<>();
+    /** key = wsId + projectPath, value = file changes which aren't applied to the project model yet */
+    private final Map<String, ProjectChanges> pendingChanges = new HashMap<>();
+    private final ThreadPoolExecutor          projectLoader;
+    private final ScheduledExecutorService    changesExecutor;
+    /** key = project used by a request thread, value = number of requests using it, see {@link #acquireJavaProject} */
+    private final Map<JavaProject, Integer>   usedProjects    = new IdentityHashMap<>();
+    /** Projects removed from the cache while used by requests, closed when the last request releases them. */
+    private final Set<JavaProject>            projectsToClose = Collections.newSetFromMap(new IdentityHashMap<JavaProject, Boolean>());
     private ConcurrentHashMap<String, CopyOnWriteArraySet<String>> projectInWs = new ConcurrentHashMap<>();
     private LocalFSMountStrategy fsMountStrategy;
     private String               tempDir;
+    private SharedIndexStore     sharedIndexStore;
+    private DependencyJarStore   jarStore;
+    private SourceStubStore      stubStore;
+    private JavadocCache         javadocCache;
     private Map<String, String> options = new HashMap<>();
 
     @Inject
     public JavaProjectService(EventService eventService,
                               LocalFSMountStrategy fsMountStrategy,
-                              @Named("che.java.codeassistant.index.dir") String temp) {
+                              @Named("che.java.codeassistant.index.dir") String temp,
+                              @Named("che.java.codeassistant.cache.heap_budget_mb") int heapBudgetMb,
+                              JavadocCache javadocCache) {
         eventService.subscribe(new VirtualFileEventSubscriber());
         this.fsMountStrategy = fsMountStrategy;
+        this.javadocCache = javadocCache;
         tempDir = temp;
+        sharedIndexStore = new SharedIndexStore(new File(temp, "shared-indexes"));
+        jarStore = new DependencyJarStore(new File(temp, "shared-jars"));
+        stubStore = new SourceStubStore(new File(temp, "shared-stubs"));
         options.put(JavaCore.COMPILER_COMPLIANCE, JavaCore.VERSION_1_7);
         options.put(JavaCore.CORE_ENCODING, "UTF-8");
         options.put(JavaCore.COMPILER_SOURCE, JavaCore.VERSION_1_7);
@@ -79,37 +160,203 @@ public class JavaProjectService {
         options.put(JavaCore.COMPILER_ANNOTATION_NULL_ANALYSIS, JavaCore.ENABLED);
         options.put(CompilerOptions.OPTION_Process_Annotations, JavaCore.ENABLED);
         options.put(CompilerOptions.OPTION_GenerateClassFiles, JavaCore.ENABLED);
-        cache = CacheBuilder.newBuilder().expireAfterAccess(4, TimeUnit.HOURS).removalListener(
-                new RemovalListener<String, JavaProject>() {
-                    @Override
-                    public void onRemoval(RemovalNotification<String, JavaProject> notification) {
-                        JavaProject value = notification.getValue();
-                        if (value != null) {
-                            closeProject(value);
-                            deleteDependencyDirectory(value.getWsId(), value.getProjectPath());
-                        }
-                    }
-                }).build();
+        heapBudget = heapBudgetMb * 1024L;
+        // single segment, otherwise the budget is split between segments and a large project doesn't fit any of them
+        cache = CacheBuilder.newBuilder()
+                            .concurrencyLevel(1)
+                            .maximumWeight(heapBudget)
+                            .weigher(new Weigher<String, JavaProject>() {
+                                @Override
+                                public int weigh(String key, JavaProject value) {
+                                    return JavaProjectService.this.weigh(key, value);
+                                }
+                            })
+                            .expireAfterAccess(4, TimeUnit.HOURS)
+                            .removalListener(new RemovalListener<String, JavaProject>() {
+                                @Override
+                                public void onRemoval(RemovalNotification<String, JavaProject> notification) {
+                                    JavaProject value = notification.getValue();
+                                    // project is put again to update its weight, see updateWeights
+                                    if (value == null || notification.getCause() == RemovalCause.REPLACED) {
+                                        return;
+                                    }
+                                    weights.remove(notification.getKey());
+                                    classpathHashes.remove(notification.getKey());
+                                    synchronized (pendingChanges) {
+                                        pendingChanges.remove(notification.getKey());
+                                    }
+                                    Set<String> projects = projectInWs.get(value.getWsId());
+                                    if (projects != null) {
+                                        projects.remove(value.getProjectPath());
+                                    }
+                                    closeUnusedProject(value);
+                                    if (notification.wasEvicted()) {
+                                        stats.evictions.incrementAndGet();
+                                    }
+                                    // dependencies of the project evicted because of heap budget are kept, it is likely to be
+                                    // used again soon, explicitly removed projects delete dependencies themselves
+                                    if (notification.getCause() == RemovalCause.EXPIRED) {
+                                        deleteDependencyDirectory(value.getWsId(), value.getProjectPath());
+                                    }
+                                }
+                            }).build();
+        projectLoader = new ThreadPoolExecutor(LOADER_THREADS, LOADER_THREADS, 60L, TimeUnit.SECONDS,
+                                               new LinkedBlockingQueue<Runnable>(LOADER_QUEUE_SIZE),
+                                               new ThreadFactoryBuilder().setNameFormat("JavaProjectLoader-%d").setDaemon(true).build(),
+                                               new ThreadPoolExecutor.CallerRunsPolicy());
+        projectLoader.allowCoreThreadTimeOut(true);
+        registerMBean();
+        changesExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("JavaProjectChanges-%d").setDaemon(true).build());
     }
 
+    /**
+     * Returns java project, creates it if needed and waits a limited time until it is created.
+     * Concurrent requests for the same project share one creation.
+     *
+     * @throws ProjectNotReadyException
+     *         if project isn't created during {@link #LOAD_WAIT_TIMEOUT}, creation continues in background
+     */
     public JavaProject getOrCreateJavaProject(String wsId, String projectPath) {
+        JavaProject project = cache.getIfPresent(wsId + projectPath);
+        if (project != null) {
+            stats.hits.incrementAndGet();
+            return project;
+        }
+        stats.misses.incrementAndGet();
+        try {
+            return loadJavaProject(wsId, projectPath).get(LOAD_WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ProjectNotReadyException(projectPath);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Returns java project like {@link #getOrCreateJavaProject} and marks it as used, project removed from the cache
+     * isn't closed until it is released. Every call must be followed by {@link #releaseJavaProject} in finally block.
+     *
+     * @throws ProjectNotReadyException
+     *         if project isn't created during {@link #LOAD_WAIT_TIMEOUT} or is evicted each time it is acquired
+     */
+    public JavaProject acquireJavaProject(String wsId, String projectPath) {
         String key = wsId + projectPath;
+        for (int attempt = 0; attempt < ACQUIRE_ATTEMPTS; attempt++) {
+            JavaProject project = getOrCreateJavaProject(wsId, projectPath);
+            synchronized (usedProjects) {
+                // project may be evicted and closed between getting it and marking it as used
+                if (cache.asMap().get(key) == project) {
+                    Integer count = usedProjects.get(project);
+                    usedProjects.put(project, count == null ? 1 : count + 1);
+                    return project;
+                }
+            }
+        }
+        throw new ProjectNotReadyException(projectPath);
+    }
+
+    /** Releases project acquired with {@link #acquireJavaProject}, closes it if it was removed from the cache meanwhile. */
+    public void releaseJavaProject(JavaProject project) {
+        synchronized (usedProjects) {
+            Integer count = usedProjects.get(project);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                usedProjects.put(project, count - 1);
+                return;
+            }
+            usedProjects.remove(project);
+            if (!projectsToClose.remove(project)) {
+                return;
+            }
+        }
+        closeProject(project);
+    }
+
+    /**
+     * Starts creation of java project in background, if project isn't created yet.
+     * Only one creation per project is running at the same time, concurrent callers get the same future.
+     */
+    public Future<JavaProject> loadJavaProject(final String wsId, final String projectPath) {
+        final String key = wsId + projectPath;
         JavaProject project = cache.getIfPresent(key);
         if (project != null) {
-            return project;
+            return Futures.immediateFuture(project);
+        }
+        FutureTask<JavaProject> task = new FutureTask<>(new Callable<JavaProject>() {
+            @Override
+            public JavaProject call() throws Exception {
+                try {
+                    JavaProject javaProject = cache.getIfPresent(key);
+                    if (javaProject == null) {
+                        long start = System.nanoTime();
+                        javaProject = createJavaProject(wsId, projectPath);
+                        stats.loads.incrementAndGet();
+                        stats.loadTime.addAndGet(System.nanoTime() - start);
+                    }
+                    failedProjects.remove(key);
+                    return javaProject;
+                } catch (Exception | Error e) {
+                    stats.loadFailures.incrementAndGet();
+                    failedProjects.put(key, e);
+                    throw e;
+                } finally {
+                    loadingProjects.remove(key);
+                }
+            }
+        });
+        Future<JavaProject> loading = loadingProjects.putIfAbsent(key, task);
+        if (loading != null) {
+            return loading;
+        }
+        projectLoader.execute(task);
+        return task;
+    }
+
+    /**
+     * Returns state of the java model of the project.
+     */
+    public ProjectState getProjectState(String wsId, String projectPath) {
+        String key = wsId + projectPath;
+        JavaProject project = cache.getIfPresent(key);
+        if (project != null) {
+            return project.getIndexManager().awaitingJobsCount() > 0 ? ProjectState.WARMING : ProjectState.READY;
+        }
+        if (loadingProjects.containsKey(key)) {
+            return ProjectState.LOADING;
         }
+        if (failedProjects.containsKey(key)) {
+            return ProjectState.FAILED;
+        }
+        return ProjectState.NOT_LOADED;
+    }
+
+    private JavaProject createJavaProject(String wsId, String projectPath) {
+        String key = wsId + projectPath;
         File mountPath;
         try {
             mountPath = fsMountStrategy.getMountPath(wsId);
         } catch (ServerException e) {
             throw new RuntimeException(e);
         }
-        JavaProject javaProject = new JavaProject(mountPath, projectPath, tempDir, wsId, new HashMap<>(options));
+        JavaProject javaProject = new JavaProject(mountPath, projectPath, tempDir, wsId, new HashMap<>(options), sharedIndexStore);
+        // weigher only reads the weight, footprint isn't estimated under the cache lock
+        weights.put(key, clampWeight(javaProject.estimateFootprint()));
         cache.put(key, javaProject);
         if (!projectInWs.containsKey(wsId)) {
             projectInWs.put(wsId, new CopyOnWriteArraySet<String>());
         }
         projectInWs.get(wsId).add(projectPath);
+        javadocCache.prewarm(javaProject);
         return javaProject;
     }
 
@@ -122,15 +369,51 @@ public class JavaProjectService {
     }
 
     public void removeProject(String wsId, String projectPath) {
-        JavaProject javaProject = cache.getIfPresent(wsId + projectPath);
+        unloadProject(wsId, projectPath);
+        deleteDependencyDirectory(wsId, projectPath);
+    }
+
+    /**
+     * Removes java model of the project from the cache, dependency jars of the project are kept on disk.
+     */
+    public void unloadProject(String wsId, String projectPath) {
+        waitProjectLoading(wsId + projectPath);
+        failedProjects.remove(wsId + projectPath);
+        classpathHashes.remove(wsId + projectPath);
+        synchronized (pendingChanges) {
+            pendingChanges.remove(wsId + projectPath);
+        }
         if (projectInWs.containsKey(wsId)) {
             projectInWs.get(wsId).remove(projectPath);
         }
-        if (javaProject != null) {
-            cache.invalidate(wsId + projectPath);
-            closeProject(javaProject);
+        // removal listener closes the project when requests which use it are finished
+        cache.invalidate(wsId + projectPath);
+    }
+
+    /** Project which is being created can't be removed, otherwise it will be put into the cache after removing. */
+    private void waitProjectLoading(String key) {
+        Future<JavaProject> loading = loadingProjects.get(key);
+        if (loading == null) {
+            return;
+        }
+        try {
+            loading.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // failed project isn't put into the cache
         }
-        deleteDependencyDirectory(wsId, projectPath);
+    }
+
+    /** Closes project removed from the cache, or defers closing until requests which use it release it. */
+    private void closeUnusedProject(JavaProject javaProject) {
+        synchronized (usedProjects) {
+            if (usedProjects.containsKey(javaProject)) {
+                projectsToClose.add(javaProject);
+                return;
+            }
+        }
+        closeProject(javaProject);
     }
 
     private void closeProject(JavaProject javaProject) {
@@ -141,10 +424,85 @@ public class JavaProjectService {
         }
     }
 
+    /**
+     * Returns content hashes of the jars on the classpath of the project.
+     *
+     * @return map where key is handle identifier of the jar package fragment root and value is content hash of the jar
+     */
+    public Map<String, String> getClasspathHashes(String wsId, String projectPath) throws JavaModelException {
+        Map<String, String> hashes = classpathHashes.get(wsId + projectPath);
+        if (hashes != null) {
+            return hashes;
+        }
+        JavaProject javaProject = acquireJavaProject(wsId, projectPath);
+        hashes = new LinkedHashMap<>();
+        try {
+            for (IPackageFragmentRoot root : javaProject.getAllPackageFragmentRoots()) {
+                if (!root.isArchive()) {
+                    continue;
+                }
+                try {
+                    hashes.put(root.getHandleIdentifier(), sharedIndexStore.getContentHash(root.getPath().toFile()));
+                } catch (IOException e) {
+                    LOG.warn("Can't compute content hash of " + root.getPath(), e);
+                }
+            }
+        } finally {
+            releaseJavaProject(javaProject);
+        }
+        hashes = Collections.unmodifiableMap(hashes);
+        classpathHashes.put(wsId + projectPath, hashes);
+        return hashes;
+    }
+
+    /**
+     * Returns content hash of the jar on the project classpath.
+     *
+     * @param rootHandle
+     *         handle identifier of the jar package fragment root
+     * @return content hash or <code>null</code> if the jar isn't on the classpath
+     */
+    public String getJarHash(String wsId, String projectPath, String rootHandle) {
+        try {
+            return getClasspathHashes(wsId, projectPath).get(rootHandle);
+        } catch (JavaModelException e) {
+            LOG.warn("Can't get classpath of the project " + projectPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns content hash of the file, e.g. of a jar or of its source attachment. Hashes are cached by
+     * the {@link SharedIndexStore}, so hashes computed when jars are indexed are reused.
+     *
+     * @return content hash or <code>null</code> if the file doesn't exist or can't be read
+     */
+    public String getContentHash(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return sharedIndexStore.getContentHash(file);
+        } catch (IOException e) {
+            LOG.warn("Can't compute content hash of " + file, e);
+            return null;
+        }
+    }
+
     public Map<String, String> getOptions() {
         return options;
     }
 
+    /** Returns store of dependency jars shared by all projects on this node. */
+    public DependencyJarStore getJarStore() {
+        return jarStore;
+    }
+
+    /** Returns store of the sources generated from bytecode shared by all projects on this node. */
+    public SourceStubStore getStubStore() {
+        return stubStore;
+    }
+
     private void deleteDependencyDirectory(String wsId, String projectPath) {
         File projectDepDir = new File(tempDir, wsId + projectPath);
         if (projectDepDir.exists()) {
@@ -156,6 +514,7 @@ public class JavaProjectService {
                     wsDepDir.delete();
                 }
             }
+            jarStore.gc();
         }
     }
 
@@ -182,15 +541,8 @@ public class JavaProjectService {
                 if (projectInWs.containsKey(eventWorkspace)) {
                     for (String path : projectInWs.get(eventWorkspace)) {
                         if (eventPath.startsWith(path)) {
-                            JavaProject javaProject = cache.getIfPresent(eventWorkspace + path);
-                            if (javaProject != null) {
-                                try {
-                                    javaProject.getJavaModelManager().deltaState.resourceChanged(
-                                            new ResourceChangedEvent(fsMountStrategy.getMountPath(eventWorkspace), event));
-                                    javaProject.creteNewNameEnvironment();
-                                } catch (ServerException e) {
-                                    LOG.error("Can't find workspace mount path", e);
-                                }
+                            if (cache.getIfPresent(eventWorkspace + path) != null) {
+                                addChange(eventWorkspace, path, event);
                             }
                             break;
                         }
@@ -203,11 +555,225 @@ public class JavaProjectService {
         }
     }
 
+    /**
+     * Adds file change to the pending changes of the project. Changes are applied to the project model
+     * in one batch after {@link #CHANGES_DELAY}, so saving a file several times or creating many files at once
+     * updates the name environment once.
+     */
+    private void addChange(String wsId, String projectPath, VirtualFileEvent event) {
+        final String key = wsId + projectPath;
+        synchronized (pendingChanges) {
+            ProjectChanges changes = pendingChanges.get(key);
+            if (changes == null) {
+                changes = new ProjectChanges(wsId);
+                pendingChanges.put(key, changes);
+                changesExecutor.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        applyChanges(key);
+                    }
+                }, CHANGES_DELAY, TimeUnit.MILLISECONDS);
+            }
+            changes.add(event);
+        }
+    }
+
+    private void applyChanges(String key) {
+        ProjectChanges changes;
+        synchronized (pendingChanges) {
+            changes = pendingChanges.remove(key);
+        }
+        JavaProject javaProject = cache.getIfPresent(key);
+        if (changes == null || javaProject == null) {
+            return;
+        }
+        try {
+            File mountPath = fsMountStrategy.getMountPath(changes.wsId);
+            for (VirtualFileEvent event : changes.events) {
+                javaProject.getJavaModelManager().deltaState.resourceChanged(new ResourceChangedEvent(mountPath, event));
+                if (event.getType() == VirtualFileEvent.ChangeType.MOVED || event.getType() == VirtualFileEvent.ChangeType.RENAMED) {
+                    // delta processor ignores moves, packages of the project may be changed
+                    javaProject.resetCaches();
+                }
+            }
+            // added packages are already in the project caches, removed ones reset them
+            javaProject.updateNameEnvironment();
+            // cached types contain bindings of the types declared in other files, any of them may be changed
+            javaProject.getSourceTypeCache().invalidate();
+        } catch (ServerException e) {
+            LOG.error("Can't find workspace mount path", e);
+        } catch (Throwable t) {
+            //catch all exceptions that may be happened
+            LOG.error("Can't update java model", t);
+        }
+    }
+
+    /** File changes of a project, repeated content updates of the same file are collapsed into one. */
+    private static class ProjectChanges {
+        private final String                                     wsId;
+        private final List<VirtualFileEvent>                     events    = new ArrayList<>();
+        /** key = file path, value = type of the last pending change of the file */
+        private final Map<String, VirtualFileEvent.ChangeType> lastTypes = new HashMap<>();
+
+        ProjectChanges(String wsId) {
+            this.wsId = wsId;
+        }
+
+        void add(VirtualFileEvent event) {
+            VirtualFileEvent.ChangeType lastType = lastTypes.get(event.getPath());
+            if (event.getType() == VirtualFileEvent.ChangeType.CONTENT_UPDATED
+                && (lastType == VirtualFileEvent.ChangeType.CONTENT_UPDATED || lastType == VirtualFileEvent.ChangeType.CREATED)) {
+                // file content is read when change is applied, so previous change covers this one
+                return;
+            }
+            events.add(event);
+            lastTypes.put(event.getPath(), event.getType());
+        }
+    }
+
+    /**
+     * Returns weight of the project in kilobytes, large project gets the whole budget and evicts all others.
+     * Weight is estimated before the project is put into the cache, see {@link #createJavaProject} and
+     * {@link #updateWeights}, since weigher is called under the cache lock.
+     */
+    private int weigh(String key, JavaProject project) {
+        Integer weight = weights.get(key);
+        return weight == null ? 1 : weight;
+    }
+
+    private int clampWeight(long footprint) {
+        return (int)Math.max(1, Math.min(heapBudget, footprint / 1024));
+    }
+
+    /**
+     * Periodically updates weights of the cached projects, footprint of a project grows after creation
+     * while indexes are built and files are opened. Guava computes weight once, so projects which weight changed
+     * by more than 10% are put again, putting resets access order of the project, so the others aren't touched.
+     */
+    @ScheduleRate(initialDelay = 1, period = 1, unit = TimeUnit.MINUTES)
+    void updateWeights() {
+        for (Map.Entry<String, JavaProject> entry : cache.asMap().entrySet()) {
+            String key = entry.getKey();
+            Integer weight = weights.get(key);
+            int newWeight = clampWeight(entry.getValue().estimateFootprint());
+            if (weight == null || Math.abs(newWeight - weight) > weight / 10) {
+                weights.put(key, newWeight);
+                if (!cache.asMap().replace(key, entry.getValue(), entry.getValue())) {
+                    // project was removed meanwhile, removal listener may already have dropped its weight
+                    weights.remove(key, newWeight);
+                }
+            }
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats, new ObjectName(MBEAN_NAME));
+        } catch (JMException e) {
+            LOG.warn("Can't register java project cache MBean", e);
+        }
+    }
+
+    private void unregisterMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(MBEAN_NAME));
+        } catch (JMException e) {
+            LOG.warn("Can't unregister java project cache MBean", e);
+        }
+    }
+
+    private class CacheStats implements JavaProjectCacheMXBean {
+        private final AtomicLong hits         = new AtomicLong();
+        private final AtomicLong misses       = new AtomicLong();
+        private final AtomicLong loads        = new AtomicLong();
+        private final AtomicLong loadFailures = new AtomicLong();
+        /** in nanoseconds */
+        private final AtomicLong loadTime     = new AtomicLong();
+        private final AtomicLong evictions    = new AtomicLong();
+
+        @Override
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        @Override
+        public long getMissCount() {
+            return misses.get();
+        }
+
+        @Override
+        public long getLoadCount() {
+            return loads.get();
+        }
+
+        @Override
+        public long getLoadFailureCount() {
+            return loadFailures.get();
+        }
+
+        @Override
+        public long getTotalLoadTime() {
+            return TimeUnit.NANOSECONDS.toMillis(loadTime.get());
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return evictions.get();
+        }
+
+        @Override
+        public long getSize() {
+            return cache.size();
+        }
+
+        @Override
+        public long getWeight() {
+            long weight = 0;
+            for (Integer value : weights.values()) {
+                weight += value;
+            }
+            return weight;
+        }
+
+        @Override
+        public long getHeapBudget() {
+            return heapBudget;
+        }
+    }
+
     /**
      * Periodically cleanup cache, to avoid memory leak.
      */
     @ScheduleRate(initialDelay = 1, period = 1, unit = TimeUnit.HOURS)
     void cacheClenup() {
         cache.cleanUp();
+        jarStore.gc();
+        stubStore.gc(getUsedJarHashes());
+    }
+
+    /** Returns content hashes of the stored dependency jars and of the jars on classpath of the cached projects. */
+    private Set<String> getUsedJarHashes() {
+        Set<String> hashes = new HashSet<>();
+        for (File jar : jarStore.getJars()) {
+            String hash = getContentHash(jar);
+            if (hash != null) {
+                hashes.add(hash);
+            }
+        }
+        for (JavaProject project : cache.asMap().values()) {
+            try {
+                hashes.addAll(getClasspathHashes(project.getWsId(), project.getProjectPath()).values());
+            } catch (JavaModelException | ProjectNotReadyException e) {
+                LOG.warn("Can't get classpath of the project " + project.getProjectPath(), e);
+            }
+        }
+        return hashes;
+    }
+
+    @PreDestroy
+    void stop() {
+        projectLoader.shutdownNow();
+        changesExecutor.shutdownNow();
+        unregisterMBean();
     }
 }
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.jdt.internal.core.JavaProject;
+import org.eclipse.che.jdt.javadoc.JavaElementLinks;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Node-wide cache of rendered Javadoc of library elements.
+ * <p/>
+ * Classes of a jar never change, so HTML is keyed by content hash of the jar, content hash of its source
+ * attachment and handle identifier of the element relative to its package fragment root, and is shared between
+ * all projects and workspaces which use the same jar. HTML rendered before sources are attached isn't returned
+ * after that. Cached HTML is rendered with placeholders instead of the base href of
+ * the links and the handle of the package fragment root, they are replaced with the values of the requesting
+ * project when HTML is returned. HTML which links to elements of other package fragment roots isn't cached.
+ * <p/>
+ * Javadoc of the types listed in <code>che.java.codeassistant.javadoc.prewarm</code> and of their public members
+ * is rendered in background when a project is created, once per jar.
+ */
+@Singleton
+public class JavadocCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JavadocCache.class);
+
+    /** Max summary length of cached HTML strings. */
+    private static final long   MAX_WEIGHT  = 32 * 1024 * 1024;
+    /** Base href of the links in cached HTML. */
+    private static final String BASE_HREF   = "javadoc-cache:";
+    /** Replaces link prefix of the package fragment root of the element in cached HTML. */
+    private static final String ROOT_PREFIX = "{javadoc-cache-root}";
+    /** Cached when element has no Javadoc, cache doesn't accept <code>null</code>. */
+    private static final String NO_JAVADOC  = "";
+    /** Start of the links to the elements of any package fragment root, root handles start with '/'. */
+    private static final String ANY_ROOT_PREFIX = JavaElementLinks.getLinkPrefix("/");
+
+    private final Provider<JavaProjectService> projectService;
+    private final List<String>                 prewarmTypes;
+    /** Content hashes of the jars which Javadoc is already pre-warmed. */
+    private final Set<String>                  prewarmedJars;
+    private final ExecutorService              prewarmExecutor;
+
+    private final Cache<String, String> cache = CacheBuilder.newBuilder()
+                                                            .maximumWeight(MAX_WEIGHT)
+                                                            .weigher(new Weigher<String, String>() {
+                                                                @Override
+                                                                public int weigh(String key, String value) {
+                                                                    return key.length() + value.length();
+                                                                }
+                                                            })
+                                                            .build();
+
+    /**
+     * @param prewarmTypes
+     *         comma separated fully qualified names of the types which Javadoc is pre-warmed, empty string disables pre-warming
+     */
+    @Inject
+    public JavadocCache(Provider<JavaProjectService> projectService,
+                        @Named("che.java.codeassistant.javadoc.prewarm") String prewarmTypes) {
+        this.projectService = projectService;
+        this.prewarmTypes = Lists.newArrayList(Splitter.on(',').trimResults().omitEmptyStrings().split(prewarmTypes));
+        this.prewarmedJars = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        this.prewarmExecutor = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("JavadocPrewarm-%d").setDaemon(true).setPriority(Thread.MIN_PRIORITY).build());
+    }
+
+    /**
+     * Returns Javadoc HTML of the member, see {@link JavadocFinder}. HTML of the members of jars is cached,
+     * Javadoc of the project sources is rendered every time.
+     *
+     * @param member
+     *         documented member
+     * @param baseHref
+     *         base href of the links in the returned HTML
+     * @return HTML or <code>null</code> if there is no Javadoc
+     */
+    public String getJavadoc(IMember member, String baseHref) {
+        IPackageFragmentRoot root = (IPackageFragmentRoot)member.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+        String jarHash = getJarHash(member, root);
+        if (jarHash == null) {
+            return new JavadocFinder(baseHref).getJavadoc(member);
+        }
+        String html = getHtml(member, root, jarHash, getSourceHash(root));
+        if (html.isEmpty()) {
+            return null;
+        }
+        return html.replace(ROOT_PREFIX, JavaElementLinks.getLinkPrefix(root.getHandleIdentifier())).replace(BASE_HREF, baseHref);
+    }
+
+    /**
+     * Renders Javadoc of the pre-warmed types of the project in background. Jars which are already pre-warmed are skipped.
+     */
+    public void prewarm(final JavaProject project) {
+        if (prewarmTypes.isEmpty()) {
+            return;
+        }
+        prewarmExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Set<String> jars = new HashSet<>();
+                for (String typeName : prewarmTypes) {
+                    try {
+                        IType type = project.findType(typeName);
+                        if (type == null || !type.isBinary()) {
+                            continue;
+                        }
+                        IPackageFragmentRoot root = (IPackageFragmentRoot)type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+                        String jarHash = getJarHash(type, root);
+                        if (jarHash == null || prewarmedJars.contains(jarHash)) {
+                            continue;
+                        }
+                        jars.add(jarHash);
+                        String sourceHash = getSourceHash(root);
+                        List<IMember> members = new ArrayList<>();
+                        members.add(type);
+                        Collections.addAll(members, type.getMethods());
+                        Collections.addAll(members, type.getFields());
+                        for (IMember member : members) {
+                            if (member == type || Flags.isPublic(member.getFlags())) {
+                                getHtml(member, root, jarHash, sourceHash);
+                            }
+                        }
+                    } catch (JavaModelException | RuntimeException e) {
+                        // project may be closed while Javadoc is pre-warmed
+                        LOG.debug("Can't pre-warm Javadoc of " + typeName, e);
+                    }
+                }
+                prewarmedJars.addAll(jars);
+            }
+        });
+    }
+
+    /** Returns cached HTML of the member, renders it if it isn't cached. */
+    private String getHtml(IMember member, IPackageFragmentRoot root, String jarHash, String sourceHash) {
+        String rootHandle = root.getHandleIdentifier();
+        String key = jarHash + '|' + (sourceHash == null ? "" : sourceHash) + '|'
+                     + member.getHandleIdentifier().substring(rootHandle.length());
+        String html = cache.getIfPresent(key);
+        if (html == null) {
+            html = new JavadocFinder(BASE_HREF).getJavadoc(member);
+            if (html == null) {
+                html = NO_JAVADOC;
+            } else {
+                html = html.replace(JavaElementLinks.getLinkPrefix(rootHandle), ROOT_PREFIX);
+            }
+            if (!html.contains(ANY_ROOT_PREFIX)) {
+                cache.put(key, html);
+            }
+        }
+        return html;
+    }
+
+    /** Returns content hash of the jar which contains the member or <code>null</code> if member isn't from jar. */
+    private String getJarHash(IMember member, IPackageFragmentRoot root) {
+        if (root == null || !root.isArchive() || !(member.getJavaProject() instanceof JavaProject)) {
+            return null;
+        }
+        return projectService.get().getContentHash(root.getPath().toFile());
+    }
+
+    /** Returns content hash of the source attachment of the jar or <code>null</code> if sources aren't attached yet. */
+    private String getSourceHash(IPackageFragmentRoot root) {
+        try {
+            IPath sourcePath = root.getSourceAttachmentPath();
+            return sourcePath == null ? null : projectService.get().getContentHash(sourcePath.toFile());
+        } catch (JavaModelException e) {
+            LOG.debug("Can't get source attachment of " + root.getPath(), e);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        prewarmExecutor.shutdownNow();
+    }
+}
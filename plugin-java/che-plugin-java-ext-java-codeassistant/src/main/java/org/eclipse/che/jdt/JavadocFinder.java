@@ -71,13 +71,23 @@ public class JavadocFinder {
             LABEL_FLAGS & ~JavaElementLabels.F_FULLY_QUALIFIED | JavaElementLabels.F_POST_QUALIFIED;
     private static final long   TYPE_PARAMETER_FLAGS = LABEL_FLAGS | JavaElementLabels.TP_POST_QUALIFIED;
     private static final long   PACKAGE_FLAGS        = LABEL_FLAGS & ~JavaElementLabels.ALL_FULLY_QUALIFIED;
-    private static String styleSheet;
-    private        String baseHref;
+    private static String       styleSheet;
+    private        String       baseHref;
+    private        JavadocCache cache;
 
     public JavadocFinder(String baseHref) {
         this.baseHref = baseHref;
     }
 
+    /**
+     * @param cache
+     *         cache of the rendered Javadoc of library elements, may be <code>null</code>
+     */
+    public JavadocFinder(String baseHref, JavadocCache cache) {
+        this.baseHref = baseHref;
+        this.cache = cache;
+    }
+
     private static long getHeaderFlags(IJavaElement element) {
         switch (element.getElementType()) {
             case IJavaElement.LOCAL_VARIABLE:
@@ -148,7 +158,7 @@ public class JavadocFinder {
         if (javaElement == null || !(javaElement instanceof IMember)) {
             return null;
         }
-        return getJavadoc((IMember)javaElement);
+        return getCachedJavadoc((IMember)javaElement);
     }
 
     public String findJavadoc(JavaProject project, String fqn) throws JavaModelException {
@@ -161,10 +171,14 @@ public class JavadocFinder {
         if (member == null) {
             return null;
         }
-        return getJavadoc(member);
+        return getCachedJavadoc(member);
+    }
+
+    private String getCachedJavadoc(IMember member) {
+        return cache != null ? cache.getJavadoc(member, baseHref) : getJavadoc(member);
     }
 
-    private String getJavadoc(IMember element) {
+    String getJavadoc(IMember element) {
         StringBuffer buffer = new StringBuffer();
         boolean hasContents = false;
         if (element instanceof IPackageFragment || element instanceof IMember) {
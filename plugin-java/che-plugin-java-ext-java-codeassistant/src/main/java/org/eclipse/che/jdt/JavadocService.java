@@ -37,28 +37,39 @@ public class JavadocService {
     @Inject
     private JavaProjectService service;
 
+    @Inject
+    private JavadocCache javadocCache;
+
     @Path("find")
     @GET
     @Produces("text/html")
     public String findJavadoc(@QueryParam("fqn") String fqn, @QueryParam("projectpath") String projectPath, @Context UriInfo uriInfo) throws JavaModelException {
-        JavaProject project = service.getOrCreateJavaProject(wsId, projectPath);
-        String urlPart = getUrlPart(projectPath, uriInfo.getBaseUriBuilder());
-        if(fqn.contains(";.")){
-            String name = fqn.substring(0, fqn.indexOf(";."));
-            String bodyDeclaration = fqn.substring(fqn.indexOf(";."));
-            fqn = name + bodyDeclaration.replaceAll("/",".");
-        }
+        JavaProject project = service.acquireJavaProject(wsId, projectPath);
+        try {
+            String urlPart = getUrlPart(projectPath, uriInfo.getBaseUriBuilder());
+            if(fqn.contains(";.")){
+                String name = fqn.substring(0, fqn.indexOf(";."));
+                String bodyDeclaration = fqn.substring(fqn.indexOf(";."));
+                fqn = name + bodyDeclaration.replaceAll("/",".");
+            }
 
-        return new JavadocFinder(urlPart).findJavadoc(project, fqn);
+            return new JavadocFinder(urlPart, javadocCache).findJavadoc(project, fqn);
+        } finally {
+            service.releaseJavaProject(project);
+        }
     }
 
     @Path("get")
     @Produces("text/html")
     @GET
     public String get(@QueryParam("handle") String handle, @QueryParam("projectpath") String projectPath, @Context UriInfo uriInfo) {
-        JavaProject project = service.getOrCreateJavaProject(wsId, projectPath);
-        String urlPart = getUrlPart(projectPath, uriInfo.getBaseUriBuilder());
-        return new JavadocFinder(urlPart).findJavadoc4Handle(project, handle);
+        JavaProject project = service.acquireJavaProject(wsId, projectPath);
+        try {
+            String urlPart = getUrlPart(projectPath, uriInfo.getBaseUriBuilder());
+            return new JavadocFinder(urlPart, javadocCache).findJavadoc4Handle(project, handle);
+        } finally {
+            service.releaseJavaProject(project);
+        }
     }
 
     private String getUrlPart(String projectPath, UriBuilder uriBuilder) {
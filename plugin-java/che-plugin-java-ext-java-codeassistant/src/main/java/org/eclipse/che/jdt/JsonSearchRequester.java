@@ -13,21 +13,74 @@ package org.eclipse.che.jdt;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 
+import org.eclipse.che.jdt.internal.core.TypeUsageHistory;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.internal.codeassist.ISearchRequestor;
 import org.eclipse.jdt.internal.compiler.env.AccessRestriction;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
 /**
+ * Collects search results as JSON.
+ * <p/>
+ * Results may be limited and ranked: types recently used in the project come first, then types of the project sources,
+ * then library types. When the limit is reached, a match which can't get into the best results is dropped before
+ * its JSON is built.
+ *
  * @author Evgen Vidolob
  */
 public class JsonSearchRequester implements ISearchRequestor {
     private static final Gson gson = new GsonBuilder().disableHtmlEscaping().serializeNulls().create();
 
-    private JsonArray result = new JsonArray();
+    private static final Comparator<Match> RELEVANCE = new Comparator<Match>() {
+        @Override
+        public int compare(Match m1, Match m2) {
+            if (m1.lastUse != m2.lastUse) {
+                return m1.lastUse > m2.lastUse ? -1 : 1;
+            }
+            if (m1.source != m2.source) {
+                return m1.source ? -1 : 1;
+            }
+            return m1.order < m2.order ? -1 : (m1.order == m2.order ? 0 : 1);
+        }
+    };
+
+    private final int              limit;
+    private final Set<String>      sourcePackages;
+    private final TypeUsageHistory typeUsage;
+    /** Collected matches, the least relevant one is the head of the queue. */
+    private final PriorityQueue<Match> matches = new PriorityQueue<>(11, Collections.reverseOrder(RELEVANCE));
+
+    private long order;
+
+    /** Creates requester which collects all results in the order they are found. */
+    public JsonSearchRequester() {
+        this(0, null, null);
+    }
+
+    /**
+     * @param limit
+     *         max number of results, <code>0</code> if results aren't limited
+     * @param sourcePackages
+     *         names of the packages of the project sources, may be <code>null</code>
+     * @param typeUsage
+     *         types recently used in the project, may be <code>null</code>
+     */
+    public JsonSearchRequester(int limit, Set<String> sourcePackages, TypeUsageHistory typeUsage) {
+        this.limit = limit;
+        this.sourcePackages = sourcePackages;
+        this.typeUsage = typeUsage;
+    }
 
     @Override
     public void acceptConstructor(int modifiers, char[] simpleTypeName, int parameterCount, char[] signature, char[][] parameterTypes,
@@ -39,20 +92,33 @@ public class JsonSearchRequester implements ISearchRequestor {
                     return;
             }
         }
+        String pkg = new String(packageName);
+        String typeName = new String(simpleTypeName);
+        Match match = newMatch(pkg, pkg.isEmpty() ? typeName : pkg + '.' + typeName);
+        if (!isAccepted(match)) {
+            return;
+        }
         JsonObject constructor = new JsonObject();
         constructor.addProperty("modifiers", modifiers);
-        constructor.addProperty("simpleTypeName", new String(simpleTypeName));
+        constructor.addProperty("simpleTypeName", typeName);
         constructor.addProperty("parameterCount", parameterCount);
         constructor.add("signature", signature == null ? JsonNull.INSTANCE : new JsonPrimitive(new String(signature)));
         constructor.add("parameterTypes", BinaryTypeConvector.toJsonArrayString(parameterTypes));
         constructor.add("parameterNames", BinaryTypeConvector.toJsonArrayString(parameterNames));
         constructor.addProperty("typeModifiers", typeModifiers);
-        constructor.addProperty("packageName", new String(packageName));
+        constructor.addProperty("packageName", pkg);
         constructor.addProperty("extraFlags", extraFlags);
-        result.add(constructor);
+        add(match, constructor);
     }
 
+    /** Returns results as JSON array ordered by relevance. */
     public String toJsonString() {
+        List<Match> sorted = new ArrayList<>(matches);
+        Collections.sort(sorted, RELEVANCE);
+        JsonArray result = new JsonArray();
+        for (Match match : sorted) {
+            result.add(match.json);
+        }
         return gson.toJson(result);
     }
 
@@ -65,16 +131,63 @@ public class JsonSearchRequester implements ISearchRequestor {
                     return;
             }
         }
+        String pkg = new String(packageName);
+        StringBuilder qualifiedName = new StringBuilder(pkg);
+        if (enclosingTypeNames != null) {
+            for (char[] enclosingTypeName : enclosingTypeNames) {
+                qualifiedName.append('.').append(enclosingTypeName);
+            }
+        }
+        qualifiedName.append('.').append(typeName);
+        Match match = newMatch(pkg, pkg.isEmpty() ? qualifiedName.substring(1) : qualifiedName.toString());
+        if (!isAccepted(match)) {
+            return;
+        }
         JsonObject type = new JsonObject();
-        type.addProperty("packageName", new String(packageName));
+        type.addProperty("packageName", pkg);
         type.addProperty("typeName", new String(typeName));
         type.add("enclosingTypeNames", BinaryTypeConvector.toJsonArrayString(enclosingTypeNames));
         type.addProperty("modifiers", modifiers);
-        result.add(type);
+        add(match, type);
     }
 
     @Override
     public void acceptPackage(char[] packageName) {
-        result.add(new JsonPrimitive(new String(packageName)));
+        Match match = newMatch(null, null);
+        if (isAccepted(match)) {
+            add(match, new JsonPrimitive(new String(packageName)));
+        }
+    }
+
+    private Match newMatch(String packageName, String qualifiedName) {
+        boolean source = packageName != null && sourcePackages != null && sourcePackages.contains(packageName);
+        long lastUse = qualifiedName != null && typeUsage != null ? typeUsage.getLastUse(qualifiedName) : 0;
+        return new Match(source, lastUse, order++);
+    }
+
+    /** Returns <code>false</code> if the limit is reached and the match is less relevant than all collected ones. */
+    private boolean isAccepted(Match match) {
+        return limit <= 0 || matches.size() < limit || RELEVANCE.compare(match, matches.peek()) < 0;
+    }
+
+    private void add(Match match, JsonElement json) {
+        match.json = json;
+        matches.add(match);
+        if (limit > 0 && matches.size() > limit) {
+            matches.poll();
+        }
+    }
+
+    private static class Match {
+        final boolean source;
+        final long    lastUse;
+        final long    order;
+        JsonElement   json;
+
+        Match(boolean source, long lastUse, long order) {
+            this.source = source;
+            this.lastUse = lastUse;
+            this.order = order;
+        }
     }
 }
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Thrown when java model of the project is still being created in background. REST services respond with
+ * <code>503 Service Unavailable</code> and <code>Retry-After</code> header, clients should repeat the request later
+ * and must not treat it as "not found".
+ */
+public class ProjectNotReadyException extends WebApplicationException {
+    private static final long serialVersionUID = 4512316723064478345L;
+
+    /** Seconds after which client should repeat the request. */
+    private static final int RETRY_AFTER = 2;
+
+    public ProjectNotReadyException(String projectPath) {
+        super(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                      .header("Retry-After", RETRY_AFTER)
+                      .entity("Java model of the project " + projectPath + " is being created")
+                      .type(MediaType.TEXT_PLAIN)
+                      .build());
+    }
+}
@@ -16,33 +16,32 @@ import org.eclipse.che.api.builder.dto.BuildOptions;
 import org.eclipse.che.api.builder.dto.BuildTaskDescriptor;
 import org.eclipse.che.api.core.rest.HttpJsonHelper;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
-import org.eclipse.che.api.vfs.server.util.DeleteOnCloseFileInputStream;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.commons.lang.ZipUtils;
+import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.user.User;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.jdt.internal.core.JavaProject;
 import org.eclipse.che.jdt.internal.core.SearchableEnvironment;
+import org.eclipse.che.jdt.internal.core.SourceTypeCache;
 import org.eclipse.che.jdt.internal.core.SourceTypeElementInfo;
 import org.eclipse.che.vfs.impl.fs.LocalFSMountStrategy;
+import com.google.gson.Gson;
+import com.google.gson.JsonPrimitive;
 import com.google.inject.name.Named;
 
-import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CodenvyCompilationUnitResolver;
-import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.IDependent;
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.env.ISourceType;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
-import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +49,8 @@ import javax.validation.constraints.NotNull;
 import org.eclipse.che.commons.annotation.Nullable;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -58,20 +59,24 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 import java.io.File;
 import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 /**
  * Rest service for WorkerNameEnvironment
@@ -91,9 +96,18 @@ public class RestNameEnvironment {
     @Inject
     private JavaProjectService javaProjectService;
 
+    @Inject
+    private BinaryTypeCache binaryTypeCache;
+
+    @Inject
+    private BuildTaskWatcher buildTaskWatcher;
+
     @Context
     private HttpServletRequest request;
 
+    @Context
+    private HttpServletResponse response;
+
     @Inject
     @Named("che.java.codeassistant.index.dir")
     private String temp;
@@ -118,46 +132,78 @@ public class RestNameEnvironment {
     @Produces(MediaType.APPLICATION_JSON)
     @javax.ws.rs.Path("findTypeCompound")
     public String findTypeCompound(@QueryParam("compoundTypeName") String compoundTypeName, @QueryParam("projectpath") String projectPath) {
-        JavaProject javaProject = getJavaProject(projectPath);
-        SearchableEnvironment environment = javaProject.getNameEnvironment();
+        JavaProject javaProject = javaProjectService.acquireJavaProject(wsId, projectPath);
         try {
-            NameEnvironmentAnswer answer = environment.findType(getCharArrayFrom(compoundTypeName));
-            if (answer == null && compoundTypeName.contains("$")) {
-                String innerName = compoundTypeName.substring(compoundTypeName.indexOf('$') + 1, compoundTypeName.length());
-                compoundTypeName = compoundTypeName.substring(0, compoundTypeName.indexOf('$'));
-                answer = environment.findType(getCharArrayFrom(compoundTypeName));
-                if (!answer.isCompilationUnit()) return null;
-                ICompilationUnit compilationUnit = answer.getCompilationUnit();
-                CompilationUnit result = getCompilationUnit(javaProject, environment, compilationUnit);
-                AbstractTypeDeclaration o = (AbstractTypeDeclaration)result.types().get(0);
-                ITypeBinding typeBinding = o.resolveBinding();
-
-                for (ITypeBinding binding : typeBinding.getDeclaredTypes()) {
-                    if (binding.getBinaryName().endsWith(innerName)) {
-                        typeBinding = binding;
-                        break;
-                    }
-                }
-                Map<TypeBinding, ?> bindings = (Map<TypeBinding, ?>)result.getProperty("compilerBindingsToASTBindings");
-                SourceTypeBinding binding = null;
-                for (Map.Entry<TypeBinding, ?> entry : bindings.entrySet()) {
-                    if (entry.getValue().equals(typeBinding)) {
-                        binding = (SourceTypeBinding)entry.getKey();
-                        break;
-                    }
-                }
-                return TypeBindingConvector.toJsonBinaryType(binding);
-            }
-
-            return processAnswer(answer, javaProject, environment);
+            SearchableEnvironment environment = javaProject.getNameEnvironment();
+            return findTypeCompound(javaProject, environment, compoundTypeName);
         } catch (JavaModelException e) {
             LOG.debug("Can't parse class: ", e);
             throw new WebApplicationException();
+        } finally {
+            javaProjectService.releaseJavaProject(javaProject);
         }
     }
 
-    private JavaProject getJavaProject(String projectPath) {
-        return javaProjectService.getOrCreateJavaProject(wsId, projectPath);
+    /**
+     * Batch version of {@link #findTypeCompound(String, String)}.
+     * Request body contains compound type names, one per line, each name has the same format as <code>compoundTypeName</code>
+     * parameter of <code>findTypeCompound</code> (e.g. <code>java,util,List</code>).
+     *
+     * @return JSON object where key is requested compound type name and value is type info or <code>null</code>
+     * if type not found; names which failed to resolve because of an error are omitted, so client may request them later
+     */
+    @POST
+    @Consumes(MediaType.TEXT_PLAIN)
+    @Produces(MediaType.APPLICATION_JSON)
+    @javax.ws.rs.Path("findTypesBatch")
+    public String findTypesBatch(@QueryParam("projectpath") String projectPath, String compoundTypeNames) {
+        JavaProject javaProject = javaProjectService.acquireJavaProject(wsId, projectPath);
+        try {
+            SearchableEnvironment environment = javaProject.getNameEnvironment();
+            Set<String> names = new LinkedHashSet<>();
+            for (String name : compoundTypeNames.split("\n")) {
+                name = name.trim();
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+            StringBuilder result = new StringBuilder("{");
+            for (String name : names) {
+                String type;
+                try {
+                    type = findTypeCompound(javaProject, environment, name);
+                } catch (JavaModelException | RuntimeException e) {
+                    LOG.warn("Can't find type " + name, e);
+                    continue;
+                }
+                if (result.length() > 1) {
+                    result.append(',');
+                }
+                result.append(new JsonPrimitive(name).toString()).append(':').append(type == null ? "null" : type);
+            }
+            return result.append('}').toString();
+        } finally {
+            javaProjectService.releaseJavaProject(javaProject);
+        }
+    }
+
+    private String findTypeCompound(JavaProject javaProject, SearchableEnvironment environment, String compoundTypeName)
+            throws JavaModelException {
+        String type;
+        NameEnvironmentAnswer answer = environment.findType(getCharArrayFrom(compoundTypeName));
+        if (answer == null && compoundTypeName.contains("$")) {
+            String innerName = compoundTypeName.substring(compoundTypeName.indexOf('$') + 1, compoundTypeName.length());
+            String outerName = compoundTypeName.substring(0, compoundTypeName.indexOf('$'));
+            answer = environment.findType(getCharArrayFrom(outerName));
+            if (answer == null || !answer.isCompilationUnit()) return null;
+            type = getSourceTypeInfo(javaProject, environment, answer.getCompilationUnit(), innerName);
+        } else {
+            type = processAnswer(answer, javaProject, environment);
+        }
+        if (type != null) {
+            javaProject.getTypeUsage().record(compoundTypeName.replace(',', '.').replace('$', '.'));
+        }
+        return type;
     }
 
     @GET
@@ -165,15 +211,56 @@ public class RestNameEnvironment {
     @javax.ws.rs.Path("findType")
     public String findType(@QueryParam("typename") String typeName, @QueryParam("packagename") String packageName,
                            @QueryParam("projectpath") String projectPath) {
-        JavaProject javaProject = getJavaProject(projectPath);
-        SearchableEnvironment environment = javaProject.getNameEnvironment();
-
-        NameEnvironmentAnswer answer = environment.findType(typeName.toCharArray(), getCharArrayFrom(packageName));
+        JavaProject javaProject = javaProjectService.acquireJavaProject(wsId, projectPath);
         try {
+            SearchableEnvironment environment = javaProject.getNameEnvironment();
+
+            NameEnvironmentAnswer answer = environment.findType(typeName.toCharArray(), getCharArrayFrom(packageName));
+            if (answer != null) {
+                javaProject.getTypeUsage().record(packageName.isEmpty() ? typeName : packageName.replace(',', '.') + '.' + typeName);
+            }
             return processAnswer(answer, javaProject, environment);
         } catch (JavaModelException e) {
-           LOG.debug("Can't parse class: ", e);
-           throw new WebApplicationException(e);
+            LOG.debug("Can't parse class: ", e);
+            throw new WebApplicationException(e);
+        } finally {
+            javaProjectService.releaseJavaProject(javaProject);
+        }
+    }
+
+    /**
+     * Returns state of the java model of the project, see {@link JavaProjectService.ProjectState}.
+     * Name environment queries are answered in <code>WARMING</code> state too, but library types may be missing
+     * in search results until indexing is finished.
+     *
+     * @param load
+     *         if <code>true</code> starts creation of the project model in background
+     */
+    @GET
+    @javax.ws.rs.Path("project-state")
+    @Produces("text/plain")
+    public String getProjectState(@QueryParam("projectpath") String projectPath, @QueryParam("load") boolean load) {
+        if (load) {
+            javaProjectService.loadJavaProject(wsId, projectPath);
+        }
+        return javaProjectService.getProjectState(wsId, projectPath).name();
+    }
+
+    /**
+     * Returns content hashes of the jars on the project classpath, the worker uses them as keys of its persistent type cache.
+     *
+     * @return JSON object where key is handle identifier of the jar package fragment root, see
+     * {@link org.eclipse.jdt.internal.compiler.env.IBinaryType#getFileName()}, and value is content hash of the jar
+     */
+    @GET
+    @javax.ws.rs.Path("classpath-hashes")
+    @Produces(MediaType.APPLICATION_JSON)
+    public String getClasspathHashes(@QueryParam("projectpath") String projectPath) {
+        try {
+            return new Gson().toJson(javaProjectService.getClasspathHashes(wsId, projectPath));
+        } catch (JavaModelException e) {
+            LOG.debug("Can't get classpath of the project: ", e);
+            throw new WebApplicationException(e);
         }
     }
 
@@ -182,60 +269,107 @@ public class RestNameEnvironment {
     @Produces("text/plain")
     public String isPackage(@QueryParam("packagename") String packageName, @QueryParam("parent") String parentPackageName,
                             @QueryParam("projectpath") String projectPath) {
-        JavaProject javaProject = getJavaProject(projectPath);
-        SearchableEnvironment environment = javaProject.getNameEnvironment();
-        return String.valueOf(environment.isPackage(getCharArrayFrom(parentPackageName), packageName.toCharArray()));
+        JavaProject javaProject = javaProjectService.acquireJavaProject(wsId, projectPath);
+        try {
+            SearchableEnvironment environment = javaProject.getNameEnvironment();
+            return String.valueOf(environment.isPackage(getCharArrayFrom(parentPackageName), packageName.toCharArray()));
+        } finally {
+            javaProjectService.releaseJavaProject(javaProject);
+        }
     }
 
     @GET
     @Path("findPackages")
     @Produces(MediaType.APPLICATION_JSON)
     public String findPackages(@QueryParam("packagename") String packageName, @QueryParam("projectpath") String projectPath) {
-        JavaProject javaProject = getJavaProject(projectPath);
-        SearchableEnvironment environment = javaProject.getNameEnvironment();
-        JsonSearchRequester requestor = new JsonSearchRequester();
-        environment.findPackages(packageName.toCharArray(), requestor);
-        return requestor.toJsonString();
+        JavaProject javaProject = javaProjectService.acquireJavaProject(wsId, projectPath);
+        try {
+            SearchableEnvironment environment = javaProject.getNameEnvironment();
+            JsonSearchRequester requestor = new JsonSearchRequester();
+            environment.findPackages(packageName.toCharArray(), requestor);
+            return requestor.toJsonString();
+        } finally {
+            javaProjectService.releaseJavaProject(javaProject);
+        }
     }
 
+    /**
+     * Finds constructors of the types which names start with the prefix.
+     *
+     * @param limit
+     *         max number of returned constructors, <code>0</code> if number isn't limited, see {@link JsonSearchRequester}
+     */
     @GET
     @javax.ws.rs.Path("findConstructor")
     @Produces(MediaType.APPLICATION_JSON)
     public String findConstructorDeclarations(@QueryParam("prefix") String prefix,
                                               @QueryParam("camelcase") boolean camelCaseMatch,
+                                              @QueryParam("limit") int limit,
                                               @QueryParam("projectpath") String projectPath) {
-        JavaProject javaProject = getJavaProject(projectPath);
-        SearchableEnvironment environment = javaProject.getNameEnvironment();
-        JsonSearchRequester searchRequester = new JsonSearchRequester();
-        environment.findConstructorDeclarations(prefix.toCharArray(), camelCaseMatch, searchRequester, null);
-        return searchRequester.toJsonString();
+        JavaProject javaProject = javaProjectService.acquireJavaProject(wsId, projectPath);
+        try {
+            SearchableEnvironment environment = javaProject.getNameEnvironment();
+            JsonSearchRequester searchRequester = newSearchRequester(javaProject, limit);
+            environment.findConstructorDeclarations(prefix.toCharArray(), camelCaseMatch, searchRequester, null);
+            return searchRequester.toJsonString();
+        } finally {
+            javaProjectService.releaseJavaProject(javaProject);
+        }
     }
 
+    /**
+     * Finds types which names start with the qualified name.
+     *
+     * @param limit
+     *         max number of returned types, <code>0</code> if number isn't limited, see {@link JsonSearchRequester}
+     */
     @GET
     @javax.ws.rs.Path("findTypes")
     @Produces(MediaType.APPLICATION_JSON)
     public String findTypes(@QueryParam("qualifiedname") String qualifiedName, @QueryParam("findmembers") boolean findMembers,
                             @QueryParam("camelcase") boolean camelCaseMatch,
                             @QueryParam("searchfor") int searchFor,
+                            @QueryParam("limit") int limit,
                             @QueryParam("projectpath") String projectPath) {
-        JavaProject javaProject = getJavaProject(projectPath);
-        SearchableEnvironment environment = javaProject.getNameEnvironment();
-        JsonSearchRequester searchRequester = new JsonSearchRequester();
-        environment.findTypes(qualifiedName.toCharArray(), findMembers, camelCaseMatch, searchFor, searchRequester);
-        return searchRequester.toJsonString();
+        JavaProject javaProject = javaProjectService.acquireJavaProject(wsId, projectPath);
+        try {
+            SearchableEnvironment environment = javaProject.getNameEnvironment();
+            JsonSearchRequester searchRequester = newSearchRequester(javaProject, limit);
+            environment.findTypes(qualifiedName.toCharArray(), findMembers, camelCaseMatch, searchFor, searchRequester);
+            return searchRequester.toJsonString();
+        } finally {
+            javaProjectService.releaseJavaProject(javaProject);
+        }
     }
 
+    /**
+     * Finds types with the given simple name.
+     *
+     * @param limit
+     *         max number of returned types, <code>0</code> if number isn't limited, see {@link JsonSearchRequester}
+     */
     @GET
     @javax.ws.rs.Path("findExactTypes")
     @Produces(MediaType.APPLICATION_JSON)
-    public String findExactTypes(@QueryParam("missingsimplename") String missingSimpleName, @QueryParam("findmembers") boolean findMembers,
+    public String findExactTypes(@QueryParam("missingsimplename") String missingSimpleName,
+                                 @QueryParam("findmembers") boolean findMembers,
                                  @QueryParam("searchfor") int searchFor,
+                                 @QueryParam("limit") int limit,
                                  @QueryParam("projectpath") String projectPath) {
-        JavaProject javaProject = getJavaProject(projectPath);
-        SearchableEnvironment environment = javaProject.getNameEnvironment();
-        JsonSearchRequester searchRequester = new JsonSearchRequester();
-        environment.findExactTypes(missingSimpleName.toCharArray(), findMembers, searchFor, searchRequester);
-        return searchRequester.toJsonString();
+        JavaProject javaProject = javaProjectService.acquireJavaProject(wsId, projectPath);
+        try {
+            SearchableEnvironment environment = javaProject.getNameEnvironment();
+            JsonSearchRequester searchRequester = newSearchRequester(javaProject, limit);
+            environment.findExactTypes(missingSimpleName.toCharArray(), findMembers, searchFor, searchRequester);
+            return searchRequester.toJsonString();
+        } finally {
+            javaProjectService.releaseJavaProject(javaProject);
+        }
+    }
+
+    /** Returns requester which ranks types of the project sources and recently used types first. */
+    private JsonSearchRequester newSearchRequester(JavaProject javaProject, int limit) {
+        return new JsonSearchRequester(limit, javaProject.getSourcePackageNames(), javaProject.getTypeUsage());
     }
 
     @GET
@@ -268,40 +402,41 @@ public class RestNameEnvironment {
     public void waitUpdateDependencyBuildEnd(@QueryParam("projectpath") String projectPath,
                                              BuildTaskDescriptor descriptor,
                                              @Context UriInfo uriInfo) throws Exception {
-        // call to wait-for-build-finish method
         try {
-            BuildTaskDescriptor finishedBuildStatus = waitTaskFinish(descriptor);
+            // sources are built by the builder at the same time with binaries
+            BuildOptions buildOptions = DtoFactory.getInstance().createDto(BuildOptions.class);
+            buildOptions.getOptions().put("-Dclassifier", "sources");
+            String url = apiUrl + "/builder/" + wsId + "/dependencies";
+            BuildTaskDescriptor sourcesTask = getDependencies(url, projectPath, "copy", buildOptions);
+
+            BuildTaskDescriptor finishedBuildStatus = buildTaskWatcher.waitTaskFinish(descriptor);
             if (finishedBuildStatus.getStatus() == BuildStatus.FAILED) {
                 buildFailed(finishedBuildStatus);
             }
-            javaProjectService.removeProject(wsId, projectPath);
+            // jars stay on disk, so the ones which aren't changed aren't rewritten and keep their indexes
+            javaProjectService.unloadProject(wsId, projectPath);
 
             File projectDepDir = new File(temp, wsId + projectPath);
             projectDepDir.mkdirs();
+            File projectSourcesJars = new File(projectDepDir, "sources");
 
             Link downloadLink = findLink("download result", finishedBuildStatus.getLinks());
             if (downloadLink != null) {
-                File zip = doDownload(downloadLink.getHref(), projectPath, "dependencies.zip");
-                ZipUtils.unzip(new DeleteOnCloseFileInputStream(zip), projectDepDir);
+                Set<String> extracted = downloadAndUnzip(downloadLink.getHref(), projectDepDir);
+                extracted.add(projectSourcesJars.getName());
+                deleteStaleFiles(projectDepDir, extracted);
             }
 
-            BuildOptions buildOptions = DtoFactory.getInstance().createDto(BuildOptions.class);
-            buildOptions.getOptions().put("-Dclassifier", "sources");
-            String url = apiUrl + "/builder/" + wsId + "/dependencies";
-            BuildTaskDescriptor dependencies = getDependencies(url, projectPath, "copy", buildOptions);
-            BuildTaskDescriptor buildTaskDescriptor = waitTaskFinish(dependencies);
-            if (finishedBuildStatus.getStatus() == BuildStatus.FAILED) {
-                buildFailed(finishedBuildStatus);
-            }
-            File projectSourcesJars = new File(projectDepDir, "sources");
+            BuildTaskDescriptor sourcesStatus = buildTaskWatcher.waitTaskFinish(sourcesTask);
             projectSourcesJars.mkdirs();
-            downloadLink = findLink("download result", buildTaskDescriptor.getLinks());
-            if (downloadLink != null) {
-                File zip = doDownload(downloadLink.getHref(), projectPath, "sources.zip");
-                ZipUtils.unzip(new DeleteOnCloseFileInputStream(zip), projectSourcesJars);
+            downloadLink = findLink("download result", sourcesStatus.getLinks());
+            if (sourcesStatus.getStatus() == BuildStatus.FAILED) {
+                LOG.warn("Can't get sources of the dependencies of the project " + projectPath);
+            } else if (downloadLink != null) {
+                deleteStaleFiles(projectSourcesJars, downloadAndUnzip(downloadLink.getHref(), projectSourcesJars));
             }
-            //create JavaProject adn put it into cache
-            javaProjectService.getOrCreateJavaProject(wsId, projectPath);
+            //create JavaProject in background and put it into cache
+            javaProjectService.loadJavaProject(wsId, projectPath);
 
         } catch (Throwable debug) {
             LOG.warn("RestNameEnvironment", debug);
@@ -309,7 +444,13 @@ public class RestNameEnvironment {
         }
     }
 
-    private File doDownload(String downloadURL, String projectPath, String zipName) throws IOException {
+    /**
+     * Downloads zip and extracts it into the directory while downloading, zip isn't saved on disk.
+     * Jars are put into the node-wide {@link DependencyJarStore} and linked into the directory.
+     *
+     * @return names of the top level files and folders of the zip
+     */
+    private Set<String> downloadAndUnzip(String downloadURL, File targetDir) throws IOException {
         HttpURLConnection http = null;
         HttpStream stream = null;
         try {
@@ -323,9 +464,7 @@ public class RestNameEnvironment {
             // Connection closed automatically when input stream closed.
             // If IOException or BuilderException occurs then connection closed immediately.
             stream = new HttpStream(http);
-            java.nio.file.Path path = Paths.get(temp, wsId + projectPath + "/" + zipName);
-            Files.copy(stream, path);
-            return path.toFile();
+            return unzip(stream, targetDir);
         } catch (MalformedURLException e) {
             throw e;
         } catch (IOException ioe) {
@@ -341,6 +480,95 @@ public class RestNameEnvironment {
 
     }
 
+    private Set<String> unzip(InputStream in, File targetDir) throws IOException {
+        Set<String> names = new HashSet<>();
+        String targetPath = targetDir.getCanonicalPath() + File.separator;
+        ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            File file = new File(targetDir, entry.getName());
+            if (!file.getCanonicalPath().startsWith(targetPath)) {
+                throw new IOException("Zip entry is outside of the target directory: " + entry.getName());
+            }
+            int separator = entry.getName().indexOf('/');
+            names.add(separator == -1 ? entry.getName() : entry.getName().substring(0, separator));
+            if (entry.isDirectory()) {
+                file.mkdirs();
+            } else if (entry.getName().endsWith(".jar")) {
+                file.getParentFile().mkdirs();
+                javaProjectService.getJarStore().store(zip, file);
+            } else {
+                file.getParentFile().mkdirs();
+                writeIfChanged(zip, file);
+            }
+            zip.closeEntry();
+        }
+        return names;
+    }
+
+    /**
+     * Writes content of the stream into the file. Part of the existing file which is equal to the content isn't rewritten,
+     * so file which is already present with the same content is left untouched and keeps its modification time.
+     */
+    private static void writeIfChanged(InputStream in, File file) throws IOException {
+        byte[] buffer = new byte[8192];
+        byte[] existing = new byte[8192];
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            long position = 0;
+            boolean changed = false;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (!changed) {
+                    if (readFully(out, existing, read) == read && equals(buffer, existing, read)) {
+                        position += read;
+                        continue;
+                    }
+                    changed = true;
+                    out.seek(position);
+                }
+                out.write(buffer, 0, read);
+                position += read;
+            }
+            if (out.length() != position) {
+                out.setLength(position);
+            }
+        }
+    }
+
+    private static int readFully(RandomAccessFile file, byte[] buffer, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = file.read(buffer, total, length - total);
+            if (read == -1) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static boolean equals(byte[] first, byte[] second, int length) {
+        for (int i = 0; i < length; i++) {
+            if (first[i] != second[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Deletes children of the directory which aren't in the given set of names, e.g. jars removed from the project. */
+    private static void deleteStaleFiles(File dir, Set<String> names) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!names.contains(file.getName())) {
+                IoUtil.deleteRecursive(file);
+            }
+        }
+    }
+
     private void buildFailed(@Nullable BuildTaskDescriptor buildStatus) throws BuilderException {
         if (buildStatus != null) {
             Link logLink = findLink("view build log", buildStatus.getLinks());
@@ -363,27 +591,6 @@ public class RestNameEnvironment {
         return null;
     }
 
-    @NotNull
-    private BuildTaskDescriptor waitTaskFinish(@NotNull BuildTaskDescriptor buildDescription) throws Exception {
-        BuildTaskDescriptor request = buildDescription;
-        final int sleepTime = 500;
-
-        Link statusLink = findLink("get status", buildDescription.getLinks());
-
-        if (statusLink != null) {
-            while (request.getStatus() == BuildStatus.IN_PROGRESS || request.getStatus() == BuildStatus.IN_QUEUE) {
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException ignored) {
-                }
-                request = HttpJsonHelper.request(BuildTaskDescriptor.class, statusLink);
-            }
-        }
-
-        return request;
-    }
-
-
     @NotNull
     private BuildTaskDescriptor getDependencies(@NotNull String url, @NotNull String projectName, @NotNull String analyzeType, @Nullable
     BuildOptions options)
@@ -394,12 +601,12 @@ public class RestNameEnvironment {
     }
 
 
-    private String processAnswer(NameEnvironmentAnswer answer, IJavaProject project, INameEnvironment environment)
+    private String processAnswer(NameEnvironmentAnswer answer, JavaProject project, INameEnvironment environment)
             throws JavaModelException {
         if (answer == null) return null;
         if (answer.isBinaryType()) {
             IBinaryType binaryType = answer.getBinaryType();
-            return BinaryTypeConvector.toJsonBinaryType(binaryType);
+            return binaryTypeCache.toJson(getJarHash(project, binaryType), binaryType, isCompactTypeAccepted());
         } else if (answer.isCompilationUnit()) {
             ICompilationUnit compilationUnit = answer.getCompilationUnit();
             return getSourceTypeInfo(project, environment, compilationUnit);
@@ -416,37 +623,87 @@ public class RestNameEnvironment {
         return null;
     }
 
-    private String getSourceTypeInfo(IJavaProject project, INameEnvironment environment, ICompilationUnit compilationUnit)
-            throws JavaModelException {
-        CompilationUnit result = getCompilationUnit(project, environment, compilationUnit);
-
-        BindingASTVisitor visitor = new BindingASTVisitor();
-        result.accept(visitor);
-        Map<TypeBinding, ?> bindings = (Map<TypeBinding, ?>)result.getProperty("compilerBindingsToASTBindings");
-        SourceTypeBinding binding = null;
-        for (Map.Entry<TypeBinding, ?> entry : bindings.entrySet()) {
-            if (entry.getValue().equals(visitor.typeBinding)) {
-                binding = (SourceTypeBinding)entry.getKey();
-                break;
-            }
+    /** Returns content hash of the jar which contains the binary type or <code>null</code> if type isn't from jar. */
+    private String getJarHash(JavaProject project, IBinaryType binaryType) {
+        if (binaryType.getFileName() == null) {
+            return null;
         }
-        if (binding == null) return null;
-        return TypeBindingConvector.toJsonBinaryType(binding);
+        String fileName = new String(binaryType.getFileName());
+        int separator = fileName.lastIndexOf(IDependent.JAR_FILE_ENTRY_SEPARATOR);
+        if (separator == -1) {
+            return null;
+        }
+        return javaProjectService.getJarHash(project.getWsId(), project.getProjectPath(), fileName.substring(0, separator));
+    }
+
+    /**
+     * Returns <code>true</code> if client accepts compact encoding of the binary types. Encoding of the response depends on
+     * <code>Accept</code> header from now on, so it is announced with <code>Vary</code> header for the caches.
+     */
+    private boolean isCompactTypeAccepted() {
+        response.setHeader("Vary", HttpHeaders.ACCEPT);
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(BinaryTypeConvector.COMPACT_MEDIA_TYPE);
     }
 
-    private CompilationUnit getCompilationUnit(IJavaProject project, INameEnvironment environment,
-                                               ICompilationUnit compilationUnit) throws JavaModelException {
+    private String getSourceTypeInfo(JavaProject project, INameEnvironment environment, ICompilationUnit compilationUnit)
+            throws JavaModelException {
+        return getSourceTypeInfo(project, environment, compilationUnit, "");
+    }
+
+    /**
+     * Returns JSON of the source type, see {@link TypeBindingConvector#toJsonBinaryType(SourceTypeBinding)}.
+     * JSON is cached by the project until files of the project are changed.
+     *
+     * @param memberName
+     *         binary name of the member type relative to the first type of the unit, e.g. <code>Inner</code>
+     *         for <code>Outer$Inner</code>, or empty string for the main type of the unit
+     */
+    private String getSourceTypeInfo(JavaProject project, INameEnvironment environment, ICompilationUnit compilationUnit,
+                                     String memberName) throws JavaModelException {
+        SourceTypeCache typeCache = project.getSourceTypeCache();
+        String path = new String(compilationUnit.getFileName());
+        long stamp = SourceTypeCache.getContentStamp(compilationUnit.getContents());
+        String json = typeCache.get(path, memberName, stamp);
+        if (json != null) {
+            return json;
+        }
+        long generation = typeCache.getGeneration();
         int flags = 0;
         flags |= org.eclipse.jdt.core.ICompilationUnit.ENABLE_STATEMENTS_RECOVERY;
         flags |= org.eclipse.jdt.core.ICompilationUnit.IGNORE_METHOD_BODIES;
         flags |= org.eclipse.jdt.core.ICompilationUnit.ENABLE_BINDINGS_RECOVERY;
-        HashMap<String, String> opts = new HashMap<>(javaProjectService.getOptions());
-        CompilationUnitDeclaration compilationUnitDeclaration =
-                CodenvyCompilationUnitResolver.resolve(compilationUnit, project, environment, opts, flags, null);
-        return CodenvyCompilationUnitResolver.convert(
-                compilationUnitDeclaration,
-                compilationUnit.getContents(),
-                flags, opts);
+        CompilationUnitDeclaration unit =
+                CodenvyCompilationUnitResolver.resolve(compilationUnit, project, environment, javaProjectService.getOptions(), flags, null);
+        SourceTypeBinding binding = findBinding(unit, memberName);
+        if (binding == null) return null;
+        json = TypeBindingConvector.toJsonBinaryType(binding);
+        typeCache.put(path, memberName, stamp, generation, json);
+        return json;
+    }
+
+    /**
+     * Returns compiler binding of the type declared in the resolved unit. Bindings are taken from the type declarations,
+     * the unit isn't converted to DOM.
+     */
+    private static SourceTypeBinding findBinding(CompilationUnitDeclaration unit, String memberName) {
+        if (unit == null || unit.types == null || unit.types.length == 0 || unit.isPackageInfo()) {
+            return null;
+        }
+        if (memberName.isEmpty()) {
+            // main type is the last top level type of the unit
+            return unit.types[unit.types.length - 1].binding;
+        }
+        SourceTypeBinding outer = unit.types[0].binding;
+        if (outer == null) {
+            return null;
+        }
+        for (ReferenceBinding member : outer.memberTypes()) {
+            if (member instanceof SourceTypeBinding && new String(member.constantPoolName()).endsWith(memberName)) {
+                return (SourceTypeBinding)member;
+            }
+        }
+        return outer;
     }
 
     private char[][] getCharArrayFrom(String list) {
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+
+/**
+ * Node-wide on-disk store of the sources generated from bytecode by {@link SourcesFromBytecodeGenerator}.
+ * <p/>
+ * Classes of a jar never change, so source of a type is stored under content hash of the jar and binary name
+ * of the type, e.g. <code>1/3f2a...c9/java/util/List.java</code>, and is shared between all projects and workspaces
+ * which use the same jar. Files are written to a temporary file and moved, so concurrent readers never see
+ * a partially written source. Directory of the store includes version of the generated format, sources of the
+ * previous versions aren't used and are deleted by {@link #gc(Set)} together with sources of the jars which aren't
+ * used any more.
+ */
+public class SourceStubStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SourceStubStore.class);
+
+    /** Version of the generated sources, must be changed when {@link SourcesFromBytecodeGenerator} output changes. */
+    private static final String VERSION = "1";
+
+    private final File root;
+    private final File directory;
+
+    public SourceStubStore(File directory) {
+        this.root = directory;
+        this.directory = new File(directory, VERSION);
+        this.directory.mkdirs();
+    }
+
+    /**
+     * Returns stored source of the type.
+     *
+     * @param jarHash
+     *         content hash of the jar which contains the type
+     * @param binaryName
+     *         binary name of the type with '/' as package separator, e.g. <code>java/util/Map$Entry</code>
+     * @return source or <code>null</code> if source isn't stored
+     */
+    public String get(String jarHash, String binaryName) {
+        try {
+            return new String(Files.readAllBytes(getFile(jarHash, binaryName).toPath()), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Can't read stored source of " + binaryName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores source of the type, see {@link #get(String, String)}.
+     */
+    public void put(String jarHash, String binaryName, String source) {
+        File file = getFile(jarHash, binaryName);
+        File parent = file.getParentFile();
+        parent.mkdirs();
+        File temp = null;
+        try {
+            temp = File.createTempFile("source", ".tmp", parent);
+            Files.write(temp.toPath(), source.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Can't store source of " + binaryName, e);
+        } finally {
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Deletes sources of the jars which aren't used any more and sources of the previous versions of the store.
+     *
+     * @param usedJarHashes
+     *         content hashes of the jars which sources are kept
+     */
+    public void gc(Set<String> usedJarHashes) {
+        File[] versions = root.listFiles();
+        if (versions != null) {
+            for (File version : versions) {
+                if (!version.getName().equals(VERSION)) {
+                    IoUtil.deleteRecursive(version);
+                }
+            }
+        }
+        File[] jars = directory.listFiles();
+        if (jars == null) {
+            return;
+        }
+        for (File jar : jars) {
+            if (!usedJarHashes.contains(jar.getName())) {
+                IoUtil.deleteRecursive(jar);
+            }
+        }
+    }
+
+    private File getFile(String jarHash, String binaryName) {
+        return new File(new File(directory, jarHash), binaryName + ".java");
+    }
+}
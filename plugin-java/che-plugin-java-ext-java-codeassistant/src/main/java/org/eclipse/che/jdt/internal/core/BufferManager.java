@@ -105,6 +105,20 @@ public IBuffer getBuffer(IOpenable owner) {
 	}
 }
 
+/**
+ * Returns summary length of the contents of the open buffers, in characters.
+ */
+public long getOpenBuffersLength() {
+	long length = 0;
+	synchronized (this.openBuffers) {
+		Enumeration buffers = this.openBuffers.elements();
+		while (buffers.hasMoreElements()) {
+			length += ((IBuffer)buffers.nextElement()).getLength();
+		}
+	}
+	return length;
+}
+
 /**
  * Returns the default buffer factory.
  * @deprecated
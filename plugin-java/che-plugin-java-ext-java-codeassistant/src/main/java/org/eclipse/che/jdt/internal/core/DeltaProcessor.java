@@ -1136,9 +1136,11 @@ public class DeltaProcessor {
 
                     break;
                 case IJavaElement.PACKAGE_FRAGMENT:
-                    // reset project's package fragment cache
+                    // add package to project's package fragment cache, reset the cache if it can't be updated
                     project = (JavaProject)element.getJavaProject();
-                    this.projectCachesToReset.add(project);
+                    if (!project.addPackageFragment((PackageFragment)element)) {
+                        this.projectCachesToReset.add(project);
+                    }
 
                     break;
             }
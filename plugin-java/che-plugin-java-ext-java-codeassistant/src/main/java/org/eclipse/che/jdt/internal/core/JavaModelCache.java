@@ -31,6 +31,8 @@ public class JavaModelCache {
 	public static final int    DEFAULT_OPENABLE_SIZE   = 250;
 			// average 6629 bytes per openable (includes children) -> maximum size : 662900*BASE_VALUE bytes
 	public static final int    DEFAULT_CHILDREN_SIZE   = 250 * 20; // average 20 children per openable
+	private static final long  OPENABLE_INFO_SIZE      = 4096; // rough average size of compilation unit or class file info
+	private static final long  CHILDREN_INFO_SIZE      = 512;  // rough average size of member info
 	public static final String RATIO_PROPERTY          = "org.eclipse.jdt.core.javamodelcache.ratio"; //$NON-NLS-1$
 	public static final String JAR_TYPE_RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.jartyperatio"; //$NON-NLS-1$
 
@@ -264,6 +266,17 @@ protected void removeInfo(JavaElement element) {
 			this.childrenCache.remove(element);
 	}
 }
+/*
+ * Returns rough estimate of the memory used by the cached infos, in bytes.
+ * Based on the average sizes of the infos, see DEFAULT_*_SIZE constants.
+ */
+protected long estimateFootprint() {
+	return this.projectCache.size() * 25552L
+	       + this.rootCache.getCurrentSpace() * 2590L
+	       + this.pkgCache.getCurrentSpace() * 1782L
+	       + (this.openableCache.getCurrentSpace() + this.jarTypeCache.getCurrentSpace()) * OPENABLE_INFO_SIZE
+	       + this.childrenCache.size() * CHILDREN_INFO_SIZE;
+}
 protected void resetJarTypeCache() {
 	this.jarTypeCache = new LRUCache((int) (DEFAULT_OPENABLE_SIZE * getMemoryRatio() * getJarTypeRatio()));
 }
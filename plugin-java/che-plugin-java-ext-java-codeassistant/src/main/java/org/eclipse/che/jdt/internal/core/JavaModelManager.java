@@ -181,6 +181,13 @@ public class JavaModelManager {
         return null;
     }
 
+    /**
+     * Returns rough estimate of the memory used by the cached element infos, in bytes.
+     */
+    public synchronized long estimateCacheFootprint() {
+        return cache.estimateFootprint();
+    }
+
     public IndexManager getIndexManager() {
         return indexManager;
     }
@@ -758,9 +765,7 @@ public class JavaModelManager {
                 if (monitor != null && monitor.isCanceled()) {
                     return projectInfo.secondaryTypes;
                 }
-                try {
-                    Thread.sleep(10);
-                } catch (InterruptedException e) {
+                if (!this.indexManager.awaitJobDone(10)) {
                     return projectInfo.secondaryTypes;
                 }
             }
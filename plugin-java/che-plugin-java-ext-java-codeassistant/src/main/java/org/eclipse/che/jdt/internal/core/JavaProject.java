@@ -17,6 +17,7 @@ import org.eclipse.che.api.project.shared.Builders;
 import org.eclipse.che.ide.ant.tools.AntUtils;
 import org.eclipse.che.jdt.core.JavaCore;
 import org.eclipse.che.jdt.internal.core.search.indexing.IndexManager;
+import org.eclipse.che.jdt.internal.core.search.indexing.SharedIndexStore;
 import org.eclipse.che.jdt.internal.core.util.JavaElementFinder;
 import org.eclipse.che.ide.maven.tools.MavenUtils;
 import org.eclipse.core.resources.IProject;
@@ -54,12 +55,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class JavaProject extends Openable implements IJavaProject {
 
@@ -85,8 +88,21 @@ public class JavaProject extends Openable implements IJavaProject {
     private IClasspathEntry[]         rawClassPath;
     private ResolvedClasspath         resolvedClasspath;
     private IndexManager              indexManager;
+    private final SourceTypeCache     sourceTypeCache = new SourceTypeCache();
+    private final TypeUsageHistory    typeUsage       = new TypeUsageHistory();
+    /** Packages of the project sources, see {@link #getSourcePackageNames()}. */
+    private volatile SourcePackages   sourcePackages;
 
     public JavaProject(File root, String projectPath, String tempDir, String ws, Map<String, String> options) {
+        this(root, projectPath, tempDir, ws, options, null);
+    }
+
+    /**
+     * @param sharedIndexStore
+     *         node-wide store of library indexes, if <code>null</code> project indexes all libraries by itself
+     */
+    public JavaProject(File root, String projectPath, String tempDir, String ws, Map<String, String> options,
+                       SharedIndexStore sharedIndexStore) {
         super(null, new JavaModelManager());
         manager.setJavaProject(this);
         this.projectPath = projectPath;
@@ -149,7 +165,7 @@ public class JavaProject extends Openable implements IJavaProject {
             LOG.error("Can't find jar dependency's: ", e);
         }
         rawClassPath = paths.toArray(new IClasspathEntry[paths.size()]);
-        indexManager = new IndexManager(tempDir + "/indexes/" + ws + projectPath + "/", this);
+        indexManager = new IndexManager(tempDir + "/indexes/" + ws + projectPath + "/", this, sharedIndexStore);
         indexManager.reset();
         indexManager.indexAll(this);
         indexManager.saveIndexes();
@@ -1033,6 +1049,7 @@ public class JavaProject extends Openable implements IJavaProject {
     public void close() throws JavaModelException {
         indexManager.shutdown();
         indexManager.deleteIndexFiles();
+        indexManager.releaseSharedIndexes();
         nameEnvironment.cleanup();
         File file = new File(tempDir + "/indexes/" + wsId);
         String[] list = file.list();
@@ -1199,10 +1216,55 @@ public class JavaProject extends Openable implements IJavaProject {
         return manager;
     }
 
+    /** Returns cache of serialized source types of this project. */
+    public SourceTypeCache getSourceTypeCache() {
+        return sourceTypeCache;
+    }
+
+    /**
+     * Returns names of the packages of the project sources. Names are collected once per generation of the
+     * {@link SourceTypeCache}, which is changed by every change of the project.
+     */
+    public Set<String> getSourcePackageNames() {
+        long generation = sourceTypeCache.getGeneration();
+        SourcePackages packages = sourcePackages;
+        if (packages == null || packages.generation != generation) {
+            Set<String> names = new HashSet<>();
+            try {
+                for (IPackageFragmentRoot root : getPackageFragmentRoots()) {
+                    if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+                        for (IJavaElement fragment : root.getChildren()) {
+                            names.add(fragment.getElementName());
+                        }
+                    }
+                }
+            } catch (JavaModelException e) {
+                LOG.debug("Can't get source packages of the project: ", e);
+            }
+            packages = new SourcePackages(generation, Collections.unmodifiableSet(names));
+            sourcePackages = packages;
+        }
+        return packages.names;
+    }
+
+    /** Returns types recently resolved for the editors of this project. */
+    public TypeUsageHistory getTypeUsage() {
+        return typeUsage;
+    }
+
     public String getWorkspacePath() {
         return workspacePath;
     }
 
+    /**
+     * Returns rough estimate of the memory used by this project: cached element infos, open buffers and serialized
+     * source types, in bytes. Index files are on disk and aren't counted.
+     */
+    public long estimateFootprint() {
+        return manager.estimateCacheFootprint()
+               + (manager.getDefaultBufferManager().getOpenBuffersLength() + sourceTypeCache.getLength()) * 2;
+    }
+
     public synchronized void creteNewNameEnvironment() {
         try {
             nameEnvironment = new SearchableEnvironment(this, (ICompilationUnit[])null);
@@ -1211,6 +1273,42 @@ public class JavaProject extends Openable implements IJavaProject {
         }
     }
 
+    /**
+     * Updates name environment after a batch of source changes was applied to the model.
+     * Packages added by the changes are patched into the project caches by the delta processor, in this case only
+     * the table of packages of the current name lookup is replaced. Name environment is recreated if the project
+     * caches were reset, e.g. packages were removed.
+     */
+    public synchronized void updateNameEnvironment() {
+        JavaProjectElementInfo info = (JavaProjectElementInfo)manager.peekAtInfo(this);
+        JavaProjectElementInfo.ProjectCache cache = info == null ? null : info.projectCache;
+        if (cache == null || cache.allPkgFragmentsCache == null || nameEnvironment == null
+            || nameEnvironment.nameLookup.packageFragmentRoots != cache.allPkgFragmentRootsCache) {
+            creteNewNameEnvironment();
+            return;
+        }
+        nameEnvironment.nameLookup.packageFragments = cache.allPkgFragmentsCache;
+    }
+
+    /*
+     * Adds the given package to the package fragment caches of this project.
+     * Returns false if the caches can't be updated and must be reset.
+     */
+    boolean addPackageFragment(PackageFragment pkg) {
+        JavaProjectElementInfo info = (JavaProjectElementInfo)manager.peekAtInfo(this);
+        return info != null && info.addPackageFragment(pkg);
+    }
+
+    private static class SourcePackages {
+        final long        generation;
+        final Set<String> names;
+
+        SourcePackages(long generation, Set<String> names) {
+            this.generation = generation;
+            this.names = names;
+        }
+    }
+
     public static class ResolvedClasspath {
         IClasspathEntry[] resolvedClasspath;
         IJavaModelStatus                unresolvedEntryStatus     = JavaModelStatus.VERIFIED_OK;
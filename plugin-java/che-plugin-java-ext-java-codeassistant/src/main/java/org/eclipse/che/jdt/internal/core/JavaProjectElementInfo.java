@@ -43,7 +43,7 @@ import java.util.Map;
 class JavaProjectElementInfo extends OpenableElementInfo {
 
     static final IPackageFragmentRoot[] NO_ROOTS = new IPackageFragmentRoot[0];
-    ProjectCache projectCache;
+    volatile ProjectCache projectCache;
     /**
      * A array with all the non-java resources contained by this PackageFragment
      */
@@ -305,23 +305,7 @@ class JavaProjectElementInfo extends OpenableElementInfo {
                     String[] pkgName = (String[])set[j];
                     if (pkgName == null)
                         continue;
-                    Object existing = allPkgFragmentsCache.get(pkgName);
-                    if (existing == null || existing == NO_ROOTS) {
-                        allPkgFragmentsCache.put(pkgName, root);
-                        // ensure super packages (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=119161)
-                        // are also in the map
-                        addSuperPackageNames(pkgName, allPkgFragmentsCache);
-                    } else {
-                        if (existing instanceof PackageFragmentRoot) {
-                            allPkgFragmentsCache.put(pkgName, new IPackageFragmentRoot[]{(PackageFragmentRoot)existing, root});
-                        } else {
-                            IPackageFragmentRoot[] roots = (IPackageFragmentRoot[])existing;
-                            int rootLength = roots.length;
-                            System.arraycopy(roots, 0, roots = new IPackageFragmentRoot[rootLength + 1], 0, rootLength);
-                            roots[rootLength] = root;
-                            allPkgFragmentsCache.put(pkgName, roots);
-                        }
-                    }
+                    addPackageName(pkgName, root, allPkgFragmentsCache);
                 }
             }
             cache.allPkgFragmentsCache = allPkgFragmentsCache;
@@ -330,6 +314,66 @@ class JavaProjectElementInfo extends OpenableElementInfo {
                               project.getJavaModelManager());
     }
 
+    /*
+     * Adds the given package name of the given root to the table of all package fragments
+     */
+    private static void addPackageName(String[] pkgName, IPackageFragmentRoot root, HashtableOfArrayToObject allPkgFragmentsCache) {
+        Object existing = allPkgFragmentsCache.get(pkgName);
+        if (existing == null || existing == NO_ROOTS) {
+            allPkgFragmentsCache.put(pkgName, root);
+            // ensure super packages (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=119161)
+            // are also in the map
+            addSuperPackageNames(pkgName, allPkgFragmentsCache);
+        } else {
+            if (existing instanceof PackageFragmentRoot) {
+                allPkgFragmentsCache.put(pkgName, new IPackageFragmentRoot[]{(PackageFragmentRoot)existing, root});
+            } else {
+                IPackageFragmentRoot[] roots = (IPackageFragmentRoot[])existing;
+                int rootLength = roots.length;
+                System.arraycopy(roots, 0, roots = new IPackageFragmentRoot[rootLength + 1], 0, rootLength);
+                roots[rootLength] = root;
+                allPkgFragmentsCache.put(pkgName, roots);
+            }
+        }
+    }
+
+    /*
+     * Adds the given package to the package fragments caches without recomputing them.
+     * Name lookups read the caches concurrently, so the set of packages of the root and the table of all package
+     * fragments are copied, modified and published with a new project cache.
+     * Returns false if the caches are not computed yet or the package belongs to an unknown root, in this case
+     * the caches must be reset.
+     */
+    synchronized boolean addPackageFragment(PackageFragment pkg) {
+        ProjectCache cache = this.projectCache;
+        if (cache == null || cache.allPkgFragmentsCache == null) {
+            return false;
+        }
+        IPackageFragmentRoot root = pkg.getPackageFragmentRoot();
+        HashSetOfArray fragmentsCache = (HashSetOfArray)cache.pkgFragmentsCaches.get(root);
+        if (fragmentsCache == null) {
+            return false;
+        }
+        if (fragmentsCache.contains(pkg.names)) {
+            return true;
+        }
+        HashtableOfArrayToObject allPkgFragmentsCache;
+        try {
+            fragmentsCache = (HashSetOfArray)fragmentsCache.clone();
+            allPkgFragmentsCache = (HashtableOfArrayToObject)cache.allPkgFragmentsCache.clone();
+        } catch (CloneNotSupportedException e) {
+            return false;
+        }
+        fragmentsCache.add(pkg.names);
+        addPackageName(pkg.names, root, allPkgFragmentsCache);
+        Map pkgFragmentsCaches = new HashMap(cache.pkgFragmentsCaches);
+        pkgFragmentsCaches.put(root, fragmentsCache);
+        ProjectCache newCache = new ProjectCache(cache.allPkgFragmentRootsCache, cache.rootToResolvedEntries, pkgFragmentsCaches);
+        newCache.allPkgFragmentsCache = allPkgFragmentsCache;
+        this.projectCache = newCache;
+        return true;
+    }
+
     /*
      * Reset the package fragment roots and package fragment caches
      */
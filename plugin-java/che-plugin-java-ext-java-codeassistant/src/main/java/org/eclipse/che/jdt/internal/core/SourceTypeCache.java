@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.internal.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of serialized source types of a project.
+ * <p/>
+ * JSON of a type is keyed by path of its compilation unit and is valid while content stamp of the unit is the same,
+ * so the unit isn't resolved again for every request. JSON also contains bindings of the types referenced from
+ * other files, so whole cache is invalidated on any file change of the project, see {@link #invalidate()}.
+ * Content stamp covers changes of the unit itself which aren't applied to the project yet.
+ */
+public class SourceTypeCache {
+    /** key = path of the compilation unit */
+    private final ConcurrentHashMap<String, Entry> entries    = new ConcurrentHashMap<>();
+    /** Incremented on every invalidation, JSON computed before invalidation isn't put into the cache. */
+    private final AtomicLong                       generation = new AtomicLong();
+
+    /**
+     * Returns content stamp of the compilation unit.
+     *
+     * @param contents
+     *         contents of the compilation unit
+     */
+    public static long getContentStamp(char[] contents) {
+        long hash = 1125899906842597L;
+        for (char c : contents) {
+            hash = 31 * hash + c;
+        }
+        return hash ^ ((long)contents.length << 32);
+    }
+
+    /**
+     * Returns cached JSON of the type or <code>null</code> if the type isn't cached or its compilation unit was changed.
+     *
+     * @param path
+     *         path of the compilation unit
+     * @param typeName
+     *         name of the type relative to the compilation unit, empty string for the main type of the unit
+     * @param stamp
+     *         current content stamp of the compilation unit
+     */
+    public String get(String path, String typeName, long stamp) {
+        Entry entry = entries.get(path);
+        if (entry == null || entry.stamp != stamp) {
+            return null;
+        }
+        return entry.types.get(typeName);
+    }
+
+    /** Returns current generation of the cache, it must be taken before the compilation unit is resolved. */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Puts JSON of the type, JSON is ignored if the cache was invalidated after <code>generation</code> was taken.
+     *
+     * @param generation
+     *         generation of the cache taken before the compilation unit was resolved, see {@link #getGeneration()}
+     */
+    public void put(String path, String typeName, long stamp, long generation, String json) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        Entry entry = entries.get(path);
+        if (entry == null || entry.stamp != stamp) {
+            entry = new Entry(stamp);
+            entries.put(path, entry);
+        }
+        entry.types.put(typeName, json);
+        if (this.generation.get() != generation) {
+            // invalidated concurrently, cleaning may be done before the put
+            entries.remove(path);
+        }
+    }
+
+    /** Removes all types, invoked when files of the project are changed. */
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /** Returns summary length of the cached JSON strings, in chars. */
+    public long getLength() {
+        long length = 0;
+        for (Entry entry : entries.values()) {
+            for (String json : entry.types.values()) {
+                length += json.length();
+            }
+        }
+        return length;
+    }
+
+    private static class Entry {
+        final long                              stamp;
+        /** key = type name relative to the compilation unit, value = JSON of the type */
+        final ConcurrentHashMap<String, String> types = new ConcurrentHashMap<>();
+
+        Entry(long stamp) {
+            this.stamp = stamp;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.internal.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Types recently resolved for the editors of a project, used to rank type search results.
+ */
+public class TypeUsageHistory {
+    /** Max number of remembered types. */
+    private static final int MAX_SIZE = 500;
+
+    /** key = fully qualified name of the type with '.' as separator of nested types, value = tick of the last use */
+    private final LinkedHashMap<String, Long> types = new LinkedHashMap<String, Long>(MAX_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private long tick;
+
+    /** Remembers use of the type. */
+    public synchronized void record(String qualifiedName) {
+        types.put(qualifiedName, ++tick);
+    }
+
+    /**
+     * Returns tick of the last use of the type, greater value means more recent use, <code>0</code> if type
+     * wasn't used recently.
+     */
+    public synchronized long getLastUse(String qualifiedName) {
+        Long lastUse = types.get(qualifiedName);
+        return lastUse == null ? 0 : lastUse;
+    }
+}
@@ -97,9 +97,17 @@ class AddJarFileToIndex extends IndexRequest {
 
 		if (this.isCancelled || progressMonitor != null && progressMonitor.isCanceled()) return true;
 
+		if (this.indexFileURL == null && !this.forceIndexUpdate) {
+			// jar hashing may take a while, so shared index is resolved here instead of the requesting thread
+			this.indexFileURL = this.manager.acquireSharedIndex(this.containerPath);
+		}
+
 		if (hasPreBuiltIndex()) {
 			boolean added = this.manager.addIndex(this.containerPath, this.indexFileURL);
-			if (added) return true;
+			if (added) {
+				this.manager.writeSharedTypeNames(this.indexFileURL);
+				return true;
+			}
 			this.indexFileURL = null;
 		}
 
@@ -249,6 +257,10 @@ class AddJarFileToIndex extends IndexRequest {
 					}
 				}
 				this.manager.saveIndex(index);
+				if (this.indexFileURL != null) {
+					// let other projects reuse the index instead of building their own copy
+					this.manager.publishSharedIndex(this.indexFileURL, index);
+				}
 				if (JobManager.VERBOSE)
 					org.eclipse.jdt.internal.core.util.Util.verbose("-> done indexing of " //$NON-NLS-1$
 						+ zip.getName() + " (" //$NON-NLS-1$
@@ -54,6 +54,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.zip.CRC32;
@@ -76,7 +77,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
     // key = indexLocation path, value = an index
     private              SimpleLookupTable indexes                              = new SimpleLookupTable();
     /* need to save ? */
-    private              boolean           needToSave                           = false;
+    private volatile     boolean           needToSave                           = false;
     private              IPath             javaPluginLocation                   = null;
     /* can only replace a current state if its less than the new one */
     // key = indexLocation path, value = index state integer
@@ -93,10 +94,19 @@ public class IndexManager extends JobManager implements IIndexConstants {
     private boolean           participantUpdated     = false;
     private String indexLocation;
     private JavaProject javaProject;
+    // node-wide library indexes, may be null
+    private SharedIndexStore sharedIndexStore;
+    // key = containerPath, value = location acquired from the shared index store
+    private Map<IPath, IndexLocation> sharedIndexLocations = new HashMap<>();
 
     public IndexManager(String indexLocation, JavaProject javaProject) {
+        this(indexLocation, javaProject, null);
+    }
+
+    public IndexManager(String indexLocation, JavaProject javaProject, SharedIndexStore sharedIndexStore) {
         this.indexLocation = indexLocation;
         this.javaProject = javaProject;
+        this.sharedIndexStore = sharedIndexStore;
         indexNamesMapFile = new File(getSavedIndexesDirectory(), "indexNamesMap.txt");
         savedIndexNamesFile = new File(getSavedIndexesDirectory(), "savedIndexNames.txt");
         participantIndexNamesFile = new File(getSavedIndexesDirectory(), "participantsIndexNames.txt");
@@ -204,6 +214,76 @@ public class IndexManager extends JobManager implements IIndexConstants {
         return indexLocation;
     }
 
+    /*
+     * Shared locations are read only, so index instances for them come from the shared store.
+     */
+    private Index newReusedIndex(IndexLocation indexLocation, String containerPathString) throws IOException {
+        if (this.sharedIndexStore != null && this.sharedIndexStore.isShared(indexLocation)) {
+            return this.sharedIndexStore.getIndex(indexLocation, containerPathString);
+        }
+        return new Index(indexLocation, containerPathString, true /*reuse index file*/);
+    }
+
+    private boolean isSharedIndex(Index index) {
+        return this.sharedIndexStore != null && this.sharedIndexStore.isShared(index);
+    }
+
+    /**
+     * Returns location of the node-wide index for the given jar, the location is acquired once per container path.
+     * Computing the location requires hashing of the jar, so it should be called by the indexing thread. The jar is
+     * hashed without holding the lock of this manager, so index queries aren't blocked meanwhile.
+     *
+     * @return shared location or <code>null</code> if there is no shared index store
+     */
+    IndexLocation acquireSharedIndex(IPath containerPath) {
+        if (this.sharedIndexStore == null) return null;
+        synchronized (this) {
+            IndexLocation location = this.sharedIndexLocations.get(containerPath);
+            if (location != null) return location;
+        }
+        IndexLocation location = this.sharedIndexStore.acquire(containerPath);
+        if (location == null) return null;
+        synchronized (this) {
+            IndexLocation existing = this.sharedIndexLocations.get(containerPath);
+            if (existing != null) {
+                // acquired concurrently by another job
+                this.sharedIndexStore.release(location);
+                return existing;
+            }
+            this.sharedIndexLocations.put(containerPath, location);
+            return location;
+        }
+    }
+
+    /**
+     * Makes the index built by this manager available for other projects, if the jar has a shared location.
+     */
+    void publishSharedIndex(IndexLocation sharedLocation, Index index) {
+        if (this.sharedIndexStore != null && this.sharedIndexStore.isShared(sharedLocation)) {
+            this.sharedIndexStore.publish(sharedLocation, index.getIndexFile());
+        }
+    }
+
+    /**
+     * Writes type names table of the shared index if it is missing, e.g. the index was published without it.
+     */
+    void writeSharedTypeNames(IndexLocation sharedLocation) {
+        if (this.sharedIndexStore != null && this.sharedIndexStore.isShared(sharedLocation)) {
+            this.sharedIndexStore.writeTypeNames(sharedLocation);
+        }
+    }
+
+    /**
+     * Releases all shared indexes acquired by this manager. Index files are kept on disk.
+     */
+    public synchronized void releaseSharedIndexes() {
+        if (this.sharedIndexStore == null) return;
+        for (IndexLocation location : this.sharedIndexLocations.values()) {
+            this.sharedIndexStore.release(location);
+        }
+        this.sharedIndexLocations.clear();
+    }
+
     public synchronized IndexLocation computeIndexLocation(IPath containerPath) {
         IndexLocation indexLocation = (IndexLocation)this.indexLocations.get(containerPath);
         if (indexLocation == null) {
@@ -332,7 +412,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
             if (reuseExistingFile) {
                 if (indexLocation.exists()) { // check before creating index so as to avoid creating a new empty index if file is missing
                     try {
-                        index = new Index(indexLocation, containerPathString, true /*reuse index file*/);
+                        index = newReusedIndex(indexLocation, containerPathString);
                         this.indexes.put(indexLocation, index);
                         return index;
                     } catch (IOException e) {
@@ -649,11 +729,9 @@ public class IndexManager extends JobManager implements IIndexConstants {
      */
     public void indexSourceFolder(JavaProject javaProject, IPath sourceFolder, char[][] inclusionPatterns, char[][] exclusionPatterns) {
 //        IProject project = javaProject.getProject();
-        if (this.jobEnd > this.jobStart) {
-            // skip it if a job to index the project is already in the queue
-            IndexRequest request = new IndexAllProject(javaProject, this);
-            if (isJobWaiting(request)) return;
-        }
+        // skip it if a job to index the project is already in the queue
+        IndexRequest request = new IndexAllProject(javaProject, this);
+        if (isJobWaiting(request)) return;
 
         request(new AddFolderToIndex(sourceFolder, javaProject, inclusionPatterns, exclusionPatterns, this));
     }
@@ -662,20 +740,28 @@ public class IndexManager extends JobManager implements IIndexConstants {
         IndexLocation indexLocation = computeIndexLocation(containerPath);
         Index index = getIndex(indexLocation);
         if (index != null) {
-            index.monitor = null;
+            if (!isSharedIndex(index))
+                index.monitor = null;
             this.indexes.removeKey(indexLocation);
         }
         updateIndexState(indexLocation, UNKNOWN_STATE);
     }
 
     /**
-     * Advance to the next available job, once the current one has been completed.
-     * Note: clients awaiting until the job count is zero are still waiting at this point.
+     * Invoked after the given job has been completed.
+     * Note: not synchronized, reset() and discardJobs() wait for the running jobs to finish.
      */
-    protected synchronized void moveToNextJob() {
+    protected void jobFinished(IJob job) {
         // remember that one job was executed, and we will need to save indexes at some point
         this.needToSave = true;
-        super.moveToNextJob();
+        super.jobFinished(job);
+    }
+
+    /**
+     * Requests which update the same index are executed sequentially, other ones in parallel.
+     */
+    protected Object getJobKey(IJob job) {
+        return job instanceof IndexRequest ? ((IndexRequest)job).containerPath : null;
     }
 
     /**
@@ -784,7 +870,8 @@ public class IndexManager extends JobManager implements IIndexConstants {
         Index index = getIndex(indexLocation);
         File indexFile = null;
         if (index != null) {
-            index.monitor = null;
+            if (!isSharedIndex(index))
+                index.monitor = null;
             indexFile = index.getIndexFile();
         }
         if (indexFile == null)
@@ -792,7 +879,8 @@ public class IndexManager extends JobManager implements IIndexConstants {
         if (this.indexStates.get(indexLocation) == REUSE_STATE) {
             indexLocation.close();
             this.indexLocations.put(containerPath, null);
-        } else if (indexFile != null && indexFile.exists()) {
+        } else if (indexFile != null && indexFile.exists()
+                   && (this.sharedIndexStore == null || !this.sharedIndexStore.isShared(indexLocation))) {
             if (DEBUG)
                 Util.verbose("removing index file " + indexFile); //$NON-NLS-1$
             indexFile.delete();
@@ -821,7 +909,8 @@ public class IndexManager extends JobManager implements IIndexConstants {
                 continue;
             if (indexLocation.startsWith(path)) {
                 Index index = (Index)valueTable[i];
-                index.monitor = null;
+                if (!isSharedIndex(index))
+                    index.monitor = null;
                 if (locations == null)
                     locations = new IndexLocation[max];
                 locations[count++] = indexLocation;
@@ -880,26 +969,27 @@ public class IndexManager extends JobManager implements IIndexConstants {
     public void removeSourceFolderFromIndex(JavaProject javaProject, IPath sourceFolder, char[][] inclusionPatterns,
                                             char[][] exclusionPatterns) {
 //        IProject project = javaProject.getProject();
-        if (this.jobEnd > this.jobStart) {
-            // skip it if a job to index the project is already in the queue
-            IndexRequest request = new IndexAllProject(javaProject, this);
-            if (isJobWaiting(request)) return;
-        }
+        // skip it if a job to index the project is already in the queue
+        IndexRequest request = new IndexAllProject(javaProject, this);
+        if (isJobWaiting(request)) return;
 
         request(new RemoveFolderFromIndex(sourceFolder, inclusionPatterns, exclusionPatterns, javaProject, this));
     }
 
     /**
      * Flush current state
+     * Note: not synchronized, discarding jobs waits for the running jobs which may need the lock of this manager.
      */
-    public synchronized void reset() {
+    public void reset() {
         super.reset();
-        if (this.indexes != null) {
-            this.indexes = new SimpleLookupTable();
-            this.indexStates = null;
+        synchronized (this) {
+            if (this.indexes != null) {
+                this.indexes = new SimpleLookupTable();
+                this.indexStates = null;
+            }
+            this.indexLocations = new SimpleLookupTable();
+            this.javaPluginLocation = null;
         }
-        this.indexLocations = new SimpleLookupTable();
-        this.javaPluginLocation = null;
     }
 
     /**
@@ -941,12 +1031,9 @@ public class IndexManager extends JobManager implements IIndexConstants {
         }
         synchronized (this) {
             IPath containerPath = new Path(index.containerPath);
-            if (this.jobEnd > this.jobStart) {
-                for (int i = this.jobEnd; i > this.jobStart; i--) { // skip the current job
-                    IJob job = this.awaitingJobs[i];
-                    if (job instanceof IndexRequest)
-                        if (((IndexRequest)job).containerPath.equals(containerPath)) return;
-                }
+            for (IJob job : getWaitingJobs()) { // running jobs aren't included
+                if (job instanceof IndexRequest)
+                    if (((IndexRequest)job).containerPath.equals(containerPath)) return;
             }
             IndexLocation indexLocation = computeIndexLocation(containerPath);
             updateIndexState(indexLocation, SAVED_STATE);
@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.internal.core.search.indexing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.index.IndexLocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Node-wide store of library indexes.
+ * <p/>
+ * Index files are keyed by the SHA-1 of the jar content and the JDT index signature, so the same jar
+ * (e.g. rt.jar of the <code>codenvy:Jre</code> container) is indexed once per node and then used
+ * read-only by the {@link IndexManager} of every project. Entries are reference counted: releasing the
+ * last reference drops the in-memory {@link Index} instances but keeps the index file on disk for the
+ * next project which needs the same jar.
+ * <p/>
+ * Every shared index has a {@link TypeNameTable} of its type declarations, type name queries against shared indexes
+ * are answered by the tables instead of the index files. Table is deleted together with its index file, e.g. when
+ * index file can't be read and is built again.
+ */
+public class SharedIndexStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedIndexStore.class);
+
+    private static final String INDEX_SUFFIX   = ".index";
+    /** Max number of cached jar hashes, changed jar gets a new key, so old keys are evicted. */
+    private static final int    MAX_JAR_HASHES = 2000;
+
+    private final File                      directory;
+    /** key = jar path + size + modification time, value = content hash of the jar */
+    private final Cache<String, String>     jarHashes = CacheBuilder.newBuilder().maximumSize(MAX_JAR_HASHES).build();
+    /** key = content hash, value = shared entry */
+    private final Map<String, SharedEntry>  entries   = new HashMap<>();
+
+    public SharedIndexStore(File directory) {
+        this.directory = directory;
+        directory.mkdirs();
+    }
+
+    /**
+     * Computes SHA-1 of the given file and returns it as hex string.
+     *
+     * @param file
+     *         file to hash
+     * @param salt
+     *         optional string which is digested before the file content, may be <code>null</code>
+     */
+    public static String sha1(File file, String salt) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        if (salt != null) {
+            digest.update(salt.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new FileInputStream(file)) {
+            int r;
+            while ((r = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, r);
+            }
+        }
+        StringBuilder hex = new StringBuilder(40);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Acquires shared index location for the given jar and increments its reference count.
+     * Returned location may not exist yet, in this case the first indexer has to {@link #publish} it.
+     *
+     * @return index location or <code>null</code> if jar can't be read
+     */
+    public IndexLocation acquire(IPath jarPath) {
+        File jar = jarPath.toFile();
+        if (!jar.isFile()) {
+            return null;
+        }
+        String hash;
+        try {
+            hash = getContentHash(jar);
+        } catch (IOException e) {
+            LOG.warn("Can't compute content hash of " + jar, e);
+            return null;
+        }
+        synchronized (this) {
+            SharedEntry entry = entries.get(hash);
+            if (entry == null) {
+                entry = new SharedEntry(new FileIndexLocation(new File(directory, hash + INDEX_SUFFIX)), getTypeNamesFile(hash));
+                entries.put(hash, entry);
+            }
+            entry.references++;
+            return entry.location;
+        }
+    }
+
+    /**
+     * Decrements reference count of the given shared location.
+     * Index file stays on disk, in-memory indexes are dropped when nobody uses them.
+     */
+    public synchronized void release(IndexLocation location) {
+        String hash = getHash(location);
+        SharedEntry entry = entries.get(hash);
+        if (entry == null) {
+            return;
+        }
+        if (--entry.references <= 0) {
+            entries.remove(hash);
+        }
+    }
+
+    /** Returns <code>true</code> if the given location belongs to this store. */
+    public boolean isShared(IndexLocation location) {
+        File indexFile = location == null ? null : location.getIndexFile();
+        return indexFile != null && directory.equals(indexFile.getParentFile());
+    }
+
+    /** Returns <code>true</code> if the given index instance is owned by this store. */
+    public synchronized boolean isShared(Index index) {
+        if (index == null || !isShared(index.getIndexLocation())) {
+            return false;
+        }
+        SharedEntry entry = entries.get(getHash(index.getIndexLocation()));
+        return entry != null && entry.indexes.containsValue(index);
+    }
+
+    /**
+     * Returns read-only index for shared location. Index instances are shared between all projects
+     * which see the jar under the same container path.
+     */
+    public synchronized Index getIndex(IndexLocation location, String containerPath) throws IOException {
+        String hash = getHash(location);
+        SharedEntry entry = entries.get(hash);
+        try {
+            if (entry == null) {
+                // location was released concurrently, don't cache instance
+                return new Index(location, containerPath, true);
+            }
+            Index index = entry.indexes.get(containerPath);
+            if (index == null) {
+                index = new SharedIndex(entry, containerPath);
+                entry.indexes.put(containerPath, index);
+            }
+            return index;
+        } catch (IOException e) {
+            // index file is corrupted or has old format, delete it so the index is built and published again
+            if (location.getIndexFile() != null) {
+                location.getIndexFile().delete();
+            }
+            deleteTypeNames(hash);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes index built by a project available for other projects.
+     *
+     * @param location
+     *         shared location, acquired with {@link #acquire}
+     * @param indexFile
+     *         index file built by project's {@link IndexManager}
+     */
+    public void publish(IndexLocation location, File indexFile) {
+        File target = location.getIndexFile();
+        if (target.exists() || indexFile == null || !indexFile.exists()) {
+            return;
+        }
+        File tmp = null;
+        try {
+            tmp = File.createTempFile("index", ".tmp", directory);
+            Files.copy(indexFile.toPath(), tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            // table left from the previous index file of the same jar doesn't match the new one
+            deleteTypeNames(getHash(location));
+            Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Can't publish shared index " + target, e);
+        } finally {
+            if (tmp != null && tmp.exists()) {
+                tmp.delete();
+            }
+        }
+        writeTypeNames(location);
+    }
+
+    /**
+     * Writes table of the type names for the published index if there is no table yet.
+     * Tables are written by indexing jobs, so queries never wait for them.
+     */
+    public void writeTypeNames(IndexLocation location) {
+        File indexFile = location.getIndexFile();
+        File tableFile = getTypeNamesFile(getHash(location));
+        if (tableFile.exists() || indexFile == null || !indexFile.exists()) {
+            return;
+        }
+        try {
+            TypeNameTable.write(new Index(location, "", true /*reuse index file*/), tableFile);
+        } catch (IOException e) {
+            LOG.warn("Can't write type names of shared index " + indexFile, e);
+        }
+    }
+
+    /**
+     * Returns table of the type names of the shared index or <code>null</code> if the index isn't shared
+     * or its table isn't written yet.
+     */
+    public static TypeNameTable getTypeNames(Index index) {
+        return index instanceof SharedIndex ? ((SharedIndex)index).entry.getTypeNames() : null;
+    }
+
+    /** Returns number of projects which currently use the given location. */
+    public synchronized int getReferenceCount(IndexLocation location) {
+        SharedEntry entry = entries.get(getHash(location));
+        return entry == null ? 0 : entry.references;
+    }
+
+    /**
+     * Returns content hash of the given jar. Hashes are cached by jar path, size and modification time.
+     */
+    public String getContentHash(File jar) throws IOException {
+        String key = jar.getAbsolutePath() + '|' + jar.length() + '|' + jar.lastModified();
+        String hash = jarHashes.getIfPresent(key);
+        if (hash == null) {
+            hash = sha1(jar, DiskIndex.SIGNATURE);
+            jarHashes.put(key, hash);
+        }
+        return hash;
+    }
+
+    private File getTypeNamesFile(String hash) {
+        return new File(directory, hash + TypeNameTable.FILE_SUFFIX);
+    }
+
+    /** Deletes table of the type names of the index, opened table isn't used any more. */
+    private synchronized void deleteTypeNames(String hash) {
+        getTypeNamesFile(hash).delete();
+        SharedEntry entry = entries.get(hash);
+        if (entry != null) {
+            entry.resetTypeNames();
+        }
+    }
+
+    private static String getHash(IndexLocation location) {
+        String name = location.fileName();
+        return name.endsWith(INDEX_SUFFIX) ? name.substring(0, name.length() - INDEX_SUFFIX.length()) : name;
+    }
+
+    private static class SharedEntry {
+        final IndexLocation      location;
+        final File               typeNamesFile;
+        final Map<String, Index> indexes = new HashMap<>();
+        int references;
+
+        private volatile TypeNameTable typeNames;
+        private volatile boolean       typeNamesFailed;
+
+        SharedEntry(IndexLocation location, File typeNamesFile) {
+            this.location = location;
+            this.typeNamesFile = typeNamesFile;
+        }
+
+        TypeNameTable getTypeNames() {
+            TypeNameTable table = typeNames;
+            if (table == null && !typeNamesFailed && typeNamesFile.exists()) {
+                try {
+                    table = TypeNameTable.open(typeNamesFile);
+                    typeNames = table;
+                } catch (IOException e) {
+                    typeNamesFailed = true;
+                    LOG.warn("Can't open type names " + typeNamesFile, e);
+                }
+            }
+            return table;
+        }
+
+        void resetTypeNames() {
+            typeNames = null;
+            typeNamesFailed = false;
+        }
+    }
+
+    /** Read-only index of the shared location, knows its entry to find the type names table. */
+    private static class SharedIndex extends Index {
+        final SharedEntry entry;
+
+        SharedIndex(SharedEntry entry, String containerPath) throws IOException {
+            super(entry.location, containerPath, true /*reuse index file*/);
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.internal.core.search.indexing;
+
+import org.eclipse.che.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-only table of the type declarations of a library index, memory-mapped from a file next to the shared index.
+ * <p/>
+ * Table keeps index keys of the {@link IIndexConstants#TYPE_DECL} category with their document names and two sorted
+ * views of them: by lower case simple name and by camel case humps (first letter and upper case letters of the simple
+ * name, e.g. <code>aLL</code> for <code>ArrayListLoader</code>). Prefix and camel case queries are binary searches
+ * over the mapped file, so the disk index isn't read and no heap is used for the table itself.
+ * Found entries are candidates, the caller still matches them against the search pattern.
+ * <p/>
+ * File layout: magic, version, entry count, entry offsets, ordinals sorted by name, ordinals sorted by humps, entries.
+ * Entry is the index key and the document names, every string is a char count followed by the chars.
+ */
+public class TypeNameTable {
+    static final String FILE_SUFFIX = ".types";
+
+    private static final int MAGIC   = 0x54594E54;
+    private static final int VERSION = 1;
+    private static final int HEADER  = 12;
+
+    /** Receives entries found by the table. */
+    public interface EntryRequestor {
+        void acceptEntry(char[] indexKey, String[] documentNames);
+    }
+
+    private final ByteBuffer buffer;
+    private final int        count;
+
+    private TypeNameTable(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported type name table");
+        }
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+    }
+
+    /** Maps table from the given file. */
+    public static TypeNameTable open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return new TypeNameTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes table of the type declarations of the index. File is replaced atomically, so tables may be written
+     * concurrently by several indexers.
+     */
+    public static void write(Index index, File file) throws IOException {
+        final List<char[]> keys = new ArrayList<>();
+        List<String[]> documents = new ArrayList<>();
+        index.startQuery();
+        try {
+            EntryResult[] entries = index.query(new char[][]{IIndexConstants.TYPE_DECL}, null, SearchPattern.R_PREFIX_MATCH);
+            if (entries != null) {
+                for (EntryResult entry : entries) {
+                    keys.add(entry.getWord());
+                    documents.add(entry.getDocumentNames(index));
+                }
+            }
+        } finally {
+            index.stopQuery();
+        }
+        int size = keys.size();
+        Integer[] byName = new Integer[size];
+        Integer[] byHumps = new Integer[size];
+        final String[] names = new String[size];
+        final String[] humps = new String[size];
+        for (int i = 0; i < size; i++) {
+            char[] key = keys.get(i);
+            int nameLength = nameLength(key);
+            names[i] = lowerCaseName(key, nameLength);
+            humps[i] = humps(key, nameLength);
+            byName[i] = i;
+            byHumps[i] = i;
+        }
+        Arrays.sort(byName, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return names[o1].compareTo(names[o2]);
+            }
+        });
+        Arrays.sort(byHumps, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return humps[o1].compareTo(humps[o2]);
+            }
+        });
+
+        int offset = HEADER + size * 12;
+        int[] offsets = new int[size];
+        for (int i = 0; i < size; i++) {
+            offsets[i] = offset;
+            offset += 2 + keys.get(i).length * 2 + 2;
+            for (String name : documents.get(i)) {
+                offset += 2 + name.length() * 2;
+            }
+        }
+
+        File tmp = File.createTempFile("types", ".tmp", file.getParentFile());
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(size);
+                for (int entryOffset : offsets) {
+                    out.writeInt(entryOffset);
+                }
+                for (Integer ordinal : byName) {
+                    out.writeInt(ordinal);
+                }
+                for (Integer ordinal : byHumps) {
+                    out.writeInt(ordinal);
+                }
+                for (int i = 0; i < size; i++) {
+                    writeChars(out, keys.get(i));
+                    String[] documentNames = documents.get(i);
+                    out.writeShort(documentNames.length);
+                    for (String name : documentNames) {
+                        writeChars(out, name.toCharArray());
+                    }
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    /**
+     * Finds entries which simple names start with the given prefix, ignoring case.
+     *
+     * @param accepted
+     *         ordinals of the entries which were already accepted, they are skipped and found entries are added
+     */
+    public void findPrefix(char[] prefix, BitSet accepted, EntryRequestor requestor) {
+        char[] key = new char[prefix.length];
+        for (int i = 0; i < prefix.length; i++) {
+            key[i] = Character.toLowerCase(prefix[i]);
+        }
+        find(HEADER + count * 4, key, false, accepted, requestor);
+    }
+
+    /** Finds entries which camel case humps start with the humps of the given pattern. */
+    public void findCamelCase(char[] pattern, BitSet accepted, EntryRequestor requestor) {
+        find(HEADER + count * 8, humps(pattern, pattern.length).toCharArray(), true, accepted, requestor);
+    }
+
+    /** Returns number of the type declarations in the table. */
+    public int size() {
+        return count;
+    }
+
+    private void find(int sortedStart, char[] key, boolean humps, BitSet accepted, EntryRequestor requestor) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(buffer.getInt(sortedStart + middle * 4), key, humps) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < count; i++) {
+            int ordinal = buffer.getInt(sortedStart + i * 4);
+            if (compare(ordinal, key, humps) != 0) {
+                break;
+            }
+            if (!accepted.get(ordinal)) {
+                accepted.set(ordinal);
+                acceptEntry(ordinal, requestor);
+            }
+        }
+    }
+
+    /**
+     * Compares sort key of the entry truncated to the length of the given key with the given key,
+     * <code>0</code> means that the entry key starts with the given one.
+     */
+    private int compare(int ordinal, char[] key, boolean humps) {
+        int position = buffer.getInt(HEADER + ordinal * 4);
+        int length = buffer.getShort(position) & 0xFFFF;
+        position += 2;
+        int matched = 0;
+        for (int i = 0; i < length && matched < key.length; i++) {
+            char c = buffer.getChar(position + i * 2);
+            if (c == IIndexConstants.SEPARATOR) {
+                break;
+            }
+            char keyChar;
+            if (humps) {
+                if (i == 0) {
+                    keyChar = Character.toLowerCase(c);
+                } else if (Character.isUpperCase(c)) {
+                    keyChar = c;
+                } else {
+                    continue;
+                }
+            } else {
+                keyChar = Character.toLowerCase(c);
+            }
+            if (keyChar != key[matched]) {
+                return keyChar - key[matched];
+            }
+            matched++;
+        }
+        return matched < key.length ? -1 : 0;
+    }
+
+    private void acceptEntry(int ordinal, EntryRequestor requestor) {
+        int position = buffer.getInt(HEADER + ordinal * 4);
+        char[] indexKey = readChars(position);
+        position += 2 + indexKey.length * 2;
+        String[] documentNames = new String[buffer.getShort(position) & 0xFFFF];
+        position += 2;
+        for (int i = 0; i < documentNames.length; i++) {
+            char[] name = readChars(position);
+            documentNames[i] = new String(name);
+            position += 2 + name.length * 2;
+        }
+        requestor.acceptEntry(indexKey, documentNames);
+    }
+
+    private char[] readChars(int position) {
+        char[] chars = new char[buffer.getShort(position) & 0xFFFF];
+        position += 2;
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = buffer.getChar(position + i * 2);
+        }
+        return chars;
+    }
+
+    private static void writeChars(DataOutputStream out, char[] chars) throws IOException {
+        out.writeShort(chars.length);
+        for (char c : chars) {
+            out.writeChar(c);
+        }
+    }
+
+    private static int nameLength(char[] key) {
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] == IIndexConstants.SEPARATOR) {
+                return i;
+            }
+        }
+        return key.length;
+    }
+
+    private static String lowerCaseName(char[] key, int length) {
+        char[] name = new char[length];
+        for (int i = 0; i < length; i++) {
+            name[i] = Character.toLowerCase(key[i]);
+        }
+        return new String(name);
+    }
+
+    private static String humps(char[] name, int length) {
+        StringBuilder humps = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i == 0) {
+                humps.append(Character.toLowerCase(name[i]));
+            } else if (Character.isUpperCase(name[i])) {
+                humps.append(name[i]);
+            }
+        }
+        return humps.toString();
+    }
+}
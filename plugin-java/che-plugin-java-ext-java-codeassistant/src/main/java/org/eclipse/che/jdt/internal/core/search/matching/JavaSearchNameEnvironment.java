@@ -519,10 +519,9 @@ public class JavaSearchNameEnvironment implements INameEnvironment, SuffixConsta
              IndexManager indexManager = javaProject.getIndexManager();
             if (monitor != null) {
                 while (indexManager.awaitingJobsCount() > 0) {
-                    try {
-                        Thread.sleep(50); // indexes are not ready,  sleep 50ms...
-                    } catch (InterruptedException e) {
-                        // Do nothing
+                    // indexes are not ready, wait for the next finished job, search current indexes if interrupted
+                    if (!indexManager.awaitJobDone(50)) {
+                        break;
                     }
                     if (monitor.isCanceled()) {
                         throw new OperationCanceledException();
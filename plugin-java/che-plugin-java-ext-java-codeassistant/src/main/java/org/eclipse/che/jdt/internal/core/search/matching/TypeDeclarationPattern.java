@@ -10,14 +10,21 @@
  *******************************************************************************/
 package org.eclipse.che.jdt.internal.core.search.matching;
 
+import org.eclipse.che.jdt.core.search.IJavaSearchScope;
+import org.eclipse.che.jdt.core.search.SearchParticipant;
 import org.eclipse.che.jdt.core.search.SearchPattern;
-
+import org.eclipse.che.jdt.internal.core.search.IndexQueryRequestor;
+import org.eclipse.che.jdt.internal.core.search.indexing.SharedIndexStore;
+import org.eclipse.che.jdt.internal.core.search.indexing.TypeNameTable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.core.index.EntryResult;
 import org.eclipse.jdt.internal.core.index.Index;
 
 import java.io.IOException;
+import java.util.BitSet;
 
 public class TypeDeclarationPattern extends JavaSearchPattern {
 
@@ -221,6 +228,36 @@ protected void decodeModifiers() {
 			break;
 	}
 }
+/*
+ * Name queries against shared library indexes are answered by their type name tables, found keys are decoded
+ * and matched the same way as index entries.
+ */
+public void findIndexMatches(final Index index, final IndexQueryRequestor requestor, final SearchParticipant participant,
+		final IJavaSearchScope scope, final IProgressMonitor monitor) throws IOException {
+	int matchMode = getMatchMode();
+	TypeNameTable typeNames = getClass() == TypeDeclarationPattern.class ? SharedIndexStore.getTypeNames(index) : null;
+	if (typeNames == null || this.simpleName == null || this.simpleName.length == 0
+			|| (matchMode & (R_PATTERN_MATCH | R_REGEXP_MATCH)) != 0) {
+		super.findIndexMatches(index, requestor, participant, scope, monitor);
+		return;
+	}
+	final SearchPattern decodedResult = getBlankPattern();
+	TypeNameTable.EntryRequestor entryRequestor = new TypeNameTable.EntryRequestor() {
+		public void acceptEntry(char[] indexKey, String[] documentNames) {
+			if (monitor != null && monitor.isCanceled()) throw new OperationCanceledException();
+			decodedResult.decodeIndexKey(indexKey);
+			if (matchesDecodedKey(decodedResult)) {
+				for (int i = 0, n = documentNames.length; i < n; i++)
+					acceptMatch(documentNames[i], index.containerPath, index.separator, decodedResult, requestor, participant, scope, monitor);
+			}
+		}
+	};
+	BitSet accepted = new BitSet(typeNames.size());
+	if ((matchMode & (R_CAMELCASE_MATCH | R_CAMELCASE_SAME_PART_COUNT_MATCH)) != 0)
+		typeNames.findCamelCase(this.simpleName, accepted, entryRequestor);
+	// camel case patterns fall back to case insensitive prefix match
+	typeNames.findPrefix(this.simpleName, accepted, entryRequestor);
+}
 public SearchPattern getBlankPattern() {
 	return new TypeDeclarationPattern(R_EXACT_MATCH | R_CASE_SENSITIVE);
 }
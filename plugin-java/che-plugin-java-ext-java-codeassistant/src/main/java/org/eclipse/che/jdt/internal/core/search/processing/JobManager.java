@@ -13,25 +13,68 @@ package org.eclipse.che.jdt.internal.core.search.processing;
 import org.eclipse.che.jdt.internal.core.search.Util;
 
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
 import org.eclipse.jdt.internal.core.util.Messages;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background job processing.
+ * <p/>
+ * Jobs are dispatched by the processing thread to the node-wide work-stealing pool. Jobs with the same key
+ * (see {@link #getJobKey(IJob)}, e.g. jobs which update the same index) are executed one by one in the order
+ * they were requested, jobs with different keys are executed in parallel. Jobs without key are executed alone.
+ * <p/>
+ * Query jobs are run by the callers in {@link #performConcurrentJob} and are prioritized: pool threads have lower
+ * priority than the callers and no new background job is started while an immediate query runs.
+ * <p/>
+ * Note: queue state is guarded by the internal lock, subclasses may synchronize on the manager itself,
+ * so the internal lock must never be held while calling the methods of the jobs or of the subclasses,
+ * except {@link #getJobKey(IJob)} which must not block.
+ */
 public abstract class JobManager implements Runnable {
 
-    /* queue of jobs to execute */
-    protected IJob[] awaitingJobs = new IJob[10];
-    protected int                                                    jobStart     = 0;
-    protected int                                                    jobEnd       = -1;
-    protected boolean                                                executing    = false;
+    /** Max number of background jobs executed at the same time, by all job managers. */
+    private static final int  PARALLELISM     = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    /** Idle time after which {@link #notifyIdle(long)} is called, in milliseconds. */
+    private static final long IDLE_CHECK_TIME = 1000;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+            };
+            thread.setName("JavaIndexer-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            // less prioritary than the query jobs which are executed by the callers
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }, null, true);
+
+    private final ReentrantLock lock         = new ReentrantLock();
+    /** Signaled when a job is requested, finished or job execution is enabled. */
+    private final Condition     jobAvailable = lock.newCondition();
+    /** Signaled when a job is finished or discarded. */
+    private final Condition     jobDone      = lock.newCondition();
+
+    /* queue of jobs to execute, jobs are removed from it when they are started */
+    private final LinkedList<IJob> awaitingJobs = new LinkedList<>();
+    /* jobs being executed */
+    private final List<IJob>       runningJobs  = new ArrayList<>();
 
     /* background processing */
-    protected Thread processingThread;
-    protected Job    progressJob;
+    protected volatile Thread processingThread;
 
     /* counter indicating whether job execution is enabled or not, disabled if <= 0
         it cannot go beyond 1 */
@@ -39,9 +82,7 @@ public abstract class JobManager implements Runnable {
 
     public static boolean VERBOSE   = false;
     /* flag indicating that the activation has completed */
-    public        boolean activated = false;
-
-    private int awaitingClients = 0;
+    public volatile boolean activated = false;
 
     /**
      * Invoked exactly once, in background, before starting processing any job
@@ -51,28 +92,50 @@ public abstract class JobManager implements Runnable {
     }
 
     /**
-     * Answer the amount of awaiting jobs.
+     * Answer the amount of awaiting and running jobs.
      */
-    public synchronized int awaitingJobsCount() {
+    public int awaitingJobsCount() {
         // pretend busy in case concurrent job attempts performing before activated
-        return this.activated ? this.jobEnd - this.jobStart + 1 : 1;
+        if (!this.activated) {
+            return 1;
+        }
+        lock.lock();
+        try {
+            return this.awaitingJobs.size() + this.runningJobs.size();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Answers the first job in the queue, or null if there is no job available
-     * Until the job has completed, the job manager will keep answering the same job.
+     * Answers one of the running jobs or the first awaiting job, or null if there is no job available.
      */
-    public synchronized org.eclipse.jdt.internal.core.search.processing.IJob currentJob() {
-        if (this.enableCount > 0 && this.jobStart <= this.jobEnd)
-            return this.awaitingJobs[this.jobStart];
-        return null;
+    public IJob currentJob() {
+        lock.lock();
+        try {
+            if (!this.runningJobs.isEmpty()) {
+                return this.runningJobs.get(0);
+            }
+            if (this.enableCount > 0 && !this.awaitingJobs.isEmpty()) {
+                return this.awaitingJobs.getFirst();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void disable() {
-        this.enableCount--;
+    public void disable() {
+        lock.lock();
+        try {
+            this.enableCount--;
+        } finally {
+            lock.unlock();
+        }
         if (VERBOSE)
             Util.verbose("DISABLING background indexing"); //$NON-NLS-1$
 	}
+
 	/**
 	 * Remove the index from cache for a given project.
 	 * Passing null as a job family discards them all.
@@ -82,46 +145,62 @@ public abstract class JobManager implements Runnable {
 		if (VERBOSE)
 			Util.verbose("DISCARD   background job family - " + jobFamily); //$NON-NLS-1$
 
+		disable();
 		try {
-			org.eclipse.jdt.internal.core.search.processing.IJob currentJob;
-			// cancel current job if it belongs to the given family
-			synchronized(this){
-				currentJob = currentJob();
-				disable();
+			// cancel running jobs which belong to the given family
+			List<IJob> running;
+			lock.lock();
+			try {
+				running = new ArrayList<>(this.runningJobs);
+			} finally {
+				lock.unlock();
+			}
+			List<IJob> discarded = new ArrayList<>();
+			for (IJob job : running) {
+				if (jobFamily == null || job.belongsTo(jobFamily)) {
+					job.cancel();
+					discarded.add(job);
+				}
 			}
-			if (currentJob != null && (jobFamily == null || currentJob.belongsTo(jobFamily))) {
-				currentJob.cancel();
 
-				// wait until current active job has finished
-				while (this.processingThread != null && this.executing){
-					try {
-						if (VERBOSE)
-							Util.verbose("-> waiting end of current background job - " + currentJob); //$NON-NLS-1$
-						Thread.sleep(50);
-					} catch(InterruptedException e){
-						// ignore
-					}
+			// wait until cancelled active jobs have finished
+			lock.lock();
+			try {
+				while (this.processingThread != null && containsAny(this.runningJobs, discarded)) {
+					if (VERBOSE)
+						Util.verbose("-> waiting end of current background jobs - " + jobFamily); //$NON-NLS-1$
+					jobDone.awaitUninterruptibly();
 				}
+			} finally {
+				lock.unlock();
 			}
 
-			// flush and compact awaiting jobs
-			int loc = -1;
-			synchronized(this) {
-				for (int i = this.jobStart; i <= this.jobEnd; i++) {
-					currentJob = this.awaitingJobs[i];
-					if (currentJob != null) { // sanity check
-						this.awaitingJobs[i] = null;
-						if (!(jobFamily == null || currentJob.belongsTo(jobFamily))) { // copy down, compacting
-							this.awaitingJobs[++loc] = currentJob;
-						} else {
-							if (VERBOSE)
-								Util.verbose("-> discarding background job  - " + currentJob); //$NON-NLS-1$
-							currentJob.cancel();
-						}
-					}
+			// flush awaiting jobs
+			List<IJob> awaiting = new ArrayList<>();
+			lock.lock();
+			try {
+				awaiting.addAll(this.awaitingJobs);
+				this.awaitingJobs.clear();
+			} finally {
+				lock.unlock();
+			}
+			List<IJob> kept = new ArrayList<>();
+			for (IJob job : awaiting) {
+				if (jobFamily == null || job.belongsTo(jobFamily)) {
+					if (VERBOSE)
+						Util.verbose("-> discarding background job  - " + job); //$NON-NLS-1$
+					job.cancel();
+				} else {
+					kept.add(job);
 				}
-				this.jobStart = 0;
-				this.jobEnd = loc;
+			}
+			lock.lock();
+			try {
+				// jobs requested while discarding go after the kept ones
+				this.awaitingJobs.addAll(0, kept);
+				jobDone.signalAll();
+			} finally {
+				lock.unlock();
 			}
 		} finally {
 			enable();
@@ -129,38 +208,84 @@ public abstract class JobManager implements Runnable {
 		if (VERBOSE)
 			Util.verbose("DISCARD   DONE with background job family - " + jobFamily); //$NON-NLS-1$
 	}
-	public synchronized void enable() {
-		this.enableCount++;
+
+	private static boolean containsAny(List<IJob> jobs, List<IJob> candidates) {
+		for (IJob candidate : candidates) {
+			if (jobs.contains(candidate)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void enable() {
+		lock.lock();
+		try {
+			this.enableCount++;
+			jobAvailable.signalAll(); // wake up the background thread if it is waiting
+		} finally {
+			lock.unlock();
+		}
 		if (VERBOSE)
 			Util.verbose("ENABLING  background indexing"); //$NON-NLS-1$
-		notifyAll(); // wake up the background thread if it is waiting (context must be synchronized)
 	}
-	protected synchronized boolean isJobWaiting(org.eclipse.jdt.internal.core.search.processing.IJob request) {
-		for (int i = this.jobEnd; i > this.jobStart; i--) // don't check job at jobStart, as it may have already started
-			if (request.equals(this.awaitingJobs[i])) return true;
-		return false;
+
+	/**
+	 * Returns <code>true</code> if the given job is in the queue and isn't started yet.
+	 */
+	protected boolean isJobWaiting(IJob request) {
+		lock.lock();
+		try {
+			for (IJob job : this.awaitingJobs)
+				if (request.equals(job)) return true;
+			return false;
+		} finally {
+			lock.unlock();
+		}
 	}
+
 	/**
-	 * Advance to the next available job, once the current one has been completed.
+	 * Returns jobs which are in the queue and aren't started yet.
+	 */
+	protected List<IJob> getWaitingJobs() {
+		lock.lock();
+		try {
+			return new ArrayList<>(this.awaitingJobs);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the key of the given job. Jobs with equal keys are executed sequentially in the order of request,
+	 * job with <code>null</code> key waits for all running jobs and is executed alone.
+	 */
+	protected Object getJobKey(IJob job) {
+		return null;
+	}
+
+	/**
+	 * Invoked after the given job has been completed.
 	 * Note: clients awaiting until the job count is zero are still waiting at this point.
 	 */
-	protected synchronized void moveToNextJob() {
-		//if (!enabled) return;
-
-		if (this.jobStart <= this.jobEnd) {
-			this.awaitingJobs[this.jobStart++] = null;
-			if (this.jobStart > this.jobEnd) {
-				this.jobStart = 0;
-				this.jobEnd = -1;
-			}
+	protected void jobFinished(IJob job) {
+		lock.lock();
+		try {
+			this.runningJobs.remove(job);
+			jobAvailable.signalAll();
+			jobDone.signalAll();
+		} finally {
+			lock.unlock();
 		}
 	}
+
 	/**
 	 * When idle, give chance to do something
 	 */
 	protected void notifyIdle(long idlingTime) {
 		// do nothing
 	}
+
 	/**
 	 * This API is allowing to run one job in concurrence with background processing.
 	 * Indeed since other jobs are performed in background, resource sharing might be
@@ -219,64 +344,45 @@ public abstract class JobManager implements Runnable {
 								subProgress.beginTask("", totalWork); //$NON-NLS-1$
 								concurrentJobWork = concurrentJobWork * 2 / 10;
 							}
-							// use local variable to avoid potential NPE (see bug 20435 NPE when searching java method
-							// and bug 42760 NullPointerException in JobManager when searching)
-							Thread t = this.processingThread;
-							int originalPriority = t == null ? -1 : t.getPriority();
-							try {
-								if (t != null)
-									t.setPriority(Thread.currentThread().getPriority());
-								synchronized(this) {
-									this.awaitingClients++;
-								}
-								IJob previousJob = null;
-								int awaitingJobsCount;
-								int lastJobsCount = totalWork;
-								float lastWorked = 0;
-								float totalWorked = 0;
-								while ((awaitingJobsCount = awaitingJobsCount()) > 0) {
-									if ((subProgress != null && subProgress.isCanceled())
-											|| this.processingThread == null)
-										throw new OperationCanceledException();
-									IJob currentJob = currentJob();
-									// currentJob can be null when jobs have been added to the queue but job manager is not enabled
-									if (currentJob != null && currentJob != previousJob) {
-										if (VERBOSE)
-											Util.verbose("-> NOT READY - waiting until ready - " + searchJob);//$NON-NLS-1$
-										if (subProgress != null) {
-											String indexing = Messages.bind(Messages.jobmanager_filesToIndex, currentJob.getJobFamily(),
-                                                                            Integer.toString(awaitingJobsCount));
-											subProgress.subTask(indexing);
-											// ratio of the amount of work relative to the total work
-											float ratio = awaitingJobsCount < totalWork ? 1 : ((float) totalWork) / awaitingJobsCount;
-											if (lastJobsCount > awaitingJobsCount) {
-												totalWorked += (lastJobsCount - awaitingJobsCount) * ratio;
-											} else {
-												// more jobs were added, just increment by the ratio
-												totalWorked += ratio;
-											}
-											if (totalWorked - lastWorked >= 1) {
-												subProgress.worked((int) (totalWorked - lastWorked));
-												lastWorked = totalWorked;
-											}
-											lastJobsCount = awaitingJobsCount;
+							IJob previousJob = null;
+							int awaitingJobsCount;
+							int lastJobsCount = totalWork;
+							float lastWorked = 0;
+							float totalWorked = 0;
+							while ((awaitingJobsCount = awaitingJobsCount()) > 0) {
+								if ((subProgress != null && subProgress.isCanceled())
+									|| this.processingThread == null)
+									throw new OperationCanceledException();
+								IJob currentJob = currentJob();
+								// currentJob can be null when jobs have been added to the queue but job manager is not enabled
+								if (currentJob != null && currentJob != previousJob) {
+									if (VERBOSE)
+										Util.verbose("-> NOT READY - waiting until ready - " + searchJob);//$NON-NLS-1$
+									if (subProgress != null) {
+										String indexing = Messages.bind(Messages.jobmanager_filesToIndex, currentJob.getJobFamily(),
+																		Integer.toString(awaitingJobsCount));
+										subProgress.subTask(indexing);
+										// ratio of the amount of work relative to the total work
+										float ratio = awaitingJobsCount < totalWork ? 1 : ((float) totalWork) / awaitingJobsCount;
+										if (lastJobsCount > awaitingJobsCount) {
+											totalWorked += (lastJobsCount - awaitingJobsCount) * ratio;
+										} else {
+											// more jobs were added, just increment by the ratio
+											totalWorked += ratio;
 										}
-										previousJob = currentJob;
-									}
-									try {
-										if (VERBOSE)
-											Util.verbose("-> GOING TO SLEEP - " + searchJob);//$NON-NLS-1$
-										Thread.sleep(50);
-									} catch (InterruptedException e) {
-										// ignore
+										if (totalWorked - lastWorked >= 1) {
+											subProgress.worked((int) (totalWorked - lastWorked));
+											lastWorked = totalWorked;
+										}
+										lastJobsCount = awaitingJobsCount;
 									}
+									previousJob = currentJob;
 								}
-							} finally {
-								synchronized(this) {
-									this.awaitingClients--;
-								}
-								if (t != null && originalPriority > -1 && t.isAlive())
-									t.setPriority(originalPriority);
+								if (VERBOSE)
+									Util.verbose("-> GOING TO SLEEP - " + searchJob);//$NON-NLS-1$
+								// bounded wait, so cancellation of the progress monitor is noticed
+								if (!awaitJobDone(IDLE_CHECK_TIME))
+									throw new OperationCanceledException();
 							}
 						} finally {
 							if (subProgress != null)
@@ -293,166 +399,186 @@ public abstract class JobManager implements Runnable {
 		}
 		return status;
 	}
+
+	/**
+	 * Waits until some job is finished or the given time elapses.
+	 *
+	 * @return <code>false</code> if the waiting thread was interrupted
+	 */
+	public boolean awaitJobDone(long timeoutMillis) {
+		lock.lock();
+		try {
+			if (this.awaitingJobs.isEmpty() && this.runningJobs.isEmpty()) {
+				return true;
+			}
+			jobDone.await(timeoutMillis, TimeUnit.MILLISECONDS);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
 	public abstract String processName();
 
-	public synchronized void request(IJob job) {
+	public void request(IJob job) {
 
 		job.ensureReadyToRun();
 
 		// append the job to the list of ones to process later on
-		int size = this.awaitingJobs.length;
-		if (++this.jobEnd == size) { // when growing, relocate jobs starting at position 0
-			this.jobEnd -= this.jobStart; // jobEnd now equals the number of jobs
-			if (this.jobEnd < 50 && this.jobEnd < this.jobStart) {
-				// plenty of free space in the queue so shift the remaining jobs to the beginning instead of growing it
-				System.arraycopy(this.awaitingJobs, this.jobStart, this.awaitingJobs, 0, this.jobEnd);
-				for (int i = this.jobStart; i < size; i++)
-					this.awaitingJobs[i] = null;
-			} else {
-				System.arraycopy(this.awaitingJobs, this.jobStart,
-                                 this.awaitingJobs = new IJob[size * 2], 0, this.jobEnd);
-			}
-			this.jobStart = 0;
+		lock.lock();
+		try {
+			this.awaitingJobs.add(job);
+			jobAvailable.signalAll(); // wake up the background thread if it is waiting
+		} finally {
+			lock.unlock();
 		}
-		this.awaitingJobs[this.jobEnd] = job;
 		if (VERBOSE) {
 			Util.verbose("REQUEST   background job - " + job); //$NON-NLS-1$
 			Util.verbose("AWAITING JOBS count: " + awaitingJobsCount()); //$NON-NLS-1$
 		}
-		notifyAll(); // wake up the background thread if it is waiting
 	}
+
 	/**
 	 * Flush current state
 	 */
-	public synchronized void reset() {
+	public void reset() {
 		if (VERBOSE)
 			Util.verbose("Reset"); //$NON-NLS-1$
 
-		if (this.processingThread != null) {
-			discardJobs(null); // discard all jobs
-		} else {
-			/* initiate background processing */
-			this.processingThread = new Thread(this, processName());
-			this.processingThread.setDaemon(true);
-			// less prioritary by default, priority is raised if clients are actively waiting on it
-			this.processingThread.setPriority(Thread.NORM_PRIORITY-1);
-			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=296343
-			// set the context loader to avoid leaking the current context loader
-			this.processingThread.setContextClassLoader(this.getClass().getClassLoader());
-			this.processingThread.start();
+		boolean started = false;
+		lock.lock();
+		try {
+			if (this.processingThread == null) {
+				/* initiate background processing */
+				this.processingThread = new Thread(this, processName());
+				this.processingThread.setDaemon(true);
+				// https://bugs.eclipse.org/bugs/show_bug.cgi?id=296343
+				// set the context loader to avoid leaking the current context loader
+				this.processingThread.setContextClassLoader(this.getClass().getClassLoader());
+				this.processingThread.start();
+				started = true;
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (!started) {
+			discardJobs(null); // discard all jobs, not under the lock as it waits for the running jobs
 		}
 	}
+
 	/**
-	 * Infinite loop performing resource indexing
+	 * Returns the first awaiting job which can be started now and marks it as running,
+	 * or null if there is no such job. Must be called with the lock held.
+	 */
+	private IJob startNextJob() {
+		if (this.enableCount <= 0 || this.runningJobs.size() >= PARALLELISM) {
+			return null;
+		}
+		List<Object> busyKeys = new ArrayList<>();
+		for (IJob running : this.runningJobs) {
+			Object key = getJobKey(running);
+			if (key == null) {
+				return null; // exclusive job is running
+			}
+			busyKeys.add(key);
+		}
+		for (Iterator<IJob> iterator = this.awaitingJobs.iterator(); iterator.hasNext(); ) {
+			IJob job = iterator.next();
+			Object key = getJobKey(job);
+			if (key == null) {
+				if (this.runningJobs.isEmpty() && busyKeys.isEmpty()) {
+					iterator.remove();
+					this.runningJobs.add(job);
+					return job;
+				}
+				return null; // jobs requested after the exclusive one wait for it
+			}
+			if (!busyKeys.contains(key)) {
+				iterator.remove();
+				this.runningJobs.add(job);
+				return job;
+			}
+			// following jobs with the same key must wait for this one
+			busyKeys.add(key);
+		}
+		return null;
+	}
+
+	/**
+	 * Infinite loop dispatching background jobs
 	 */
 	public void run() {
 
 		long idlingStart = -1;
 		activateProcessing();
-		try {
-			class ProgressJob extends Job {
-				ProgressJob(String name) {
-					super(name);
-				}
-				protected IStatus run(IProgressMonitor monitor) {
-					IJob job = currentJob();
-					while (!monitor.isCanceled() && job != null) {
-						 String taskName = new StringBuffer(Messages.jobmanager_indexing)
-							.append(Messages.bind(Messages.jobmanager_filesToIndex, job.getJobFamily(),
-                                                  Integer.toString(awaitingJobsCount())))
-							.toString();
-						monitor.subTask(taskName);
-						setName(taskName);
-						try {
-							Thread.sleep(500);
-						} catch (InterruptedException e) {
-							// ignore
-						}
-						job = currentJob();
+		while (this.processingThread != null) {
+			IJob job;
+			boolean idle = false;
+			lock.lock();
+			try {
+				// handle shutdown case when signal came before the wait but after the while loop was entered
+				if (this.processingThread == null) continue;
+
+				// must check for new job inside the lock to avoid timing hole
+				job = startNextJob();
+				if (job == null) {
+					if (this.awaitingJobs.isEmpty() && this.runningJobs.isEmpty()) {
+						if (idlingStart < 0)
+							idlingStart = System.currentTimeMillis();
+						// wait until a new job is posted or idle time is elapsed
+						idle = !jobAvailable.await(IDLE_CHECK_TIME, TimeUnit.MILLISECONDS);
+					} else {
+						jobAvailable.await(); // wait until a job is finished or execution is reenabled
 					}
-					return Status.OK_STATUS;
+				} else {
+					idlingStart = -1;
 				}
+			} catch (InterruptedException e) { // background indexing was interrupted
+				continue;
+			} finally {
+				lock.unlock();
 			}
-			this.progressJob = null;
-			while (this.processingThread != null) {
-				try {
-					IJob job;
-					synchronized (this) {
-						// handle shutdown case when notifyAll came before the wait but after the while loop was entered
-						if (this.processingThread == null) continue;
-
-						// must check for new job inside this sync block to avoid timing hole
-						if ((job = currentJob()) == null) {
-							if (this.progressJob != null) {
-								this.progressJob.cancel();
-								this.progressJob = null;
-							}
-							if (idlingStart < 0)
-								idlingStart = System.currentTimeMillis();
-							else
-								notifyIdle(System.currentTimeMillis() - idlingStart);
-							this.wait(); // wait until a new job is posted (or reenabled:38901)
-						} else {
-							idlingStart = -1;
-						}
-					}
-					if (job == null) {
-						notifyIdle(System.currentTimeMillis() - idlingStart);
-						// just woke up, delay before processing any new jobs, allow some time for the active thread to finish
-						Thread.sleep(500);
-						continue;
-					}
-					if (VERBOSE) {
-						Util.verbose(awaitingJobsCount() + " awaiting jobs"); //$NON-NLS-1$
-						Util.verbose("STARTING background job - " + job); //$NON-NLS-1$
-					}
-					try {
-						this.executing = true;
-						if (this.progressJob == null) {
-							this.progressJob = new ProgressJob(Messages.bind(Messages.jobmanager_indexing, "", "")); //$NON-NLS-1$ //$NON-NLS-2$
-							this.progressJob.setPriority(Job.LONG);
-							this.progressJob.setSystem(true);
-							this.progressJob.schedule();
-						}
-						/*boolean status = */job.execute(null);
-						//if (status == FAILED) request(job);
-					} finally {
-						this.executing = false;
-						if (VERBOSE)
-							Util.verbose("FINISHED background job - " + job); //$NON-NLS-1$
-						moveToNextJob();
-						if (this.awaitingClients == 0)
-							Thread.sleep(50);
-					}
-				} catch (InterruptedException e) { // background indexing was interrupted
-				}
+			if (job == null) {
+				if (idle)
+					notifyIdle(System.currentTimeMillis() - idlingStart);
+				continue;
 			}
-		} catch (RuntimeException e) {
-			if (this.processingThread != null) { // if not shutting down
-				// log exception
-				Util.log(e, "Background Indexer Crash Recovery"); //$NON-NLS-1$
-
-				// keep job manager alive
-				discardJobs(null);
-				this.processingThread = null;
-				reset(); // this will fork a new thread with no waiting jobs, some indexes will be inconsistent
+			if (VERBOSE) {
+				Util.verbose(awaitingJobsCount() + " awaiting jobs"); //$NON-NLS-1$
+				Util.verbose("STARTING background job - " + job); //$NON-NLS-1$
 			}
-			throw e;
-		} catch (Error e) {
-			if (this.processingThread != null && !(e instanceof ThreadDeath)) {
-				// log exception
-				Util.log(e, "Background Indexer Crash Recovery"); //$NON-NLS-1$
+			POOL.execute(new JobRunner(job));
+		}
+	}
 
-				// keep job manager alive
-				discardJobs(null);
-				this.processingThread = null;
-				reset(); // this will fork a new thread with no waiting jobs, some indexes will be inconsistent
+	private class JobRunner implements Runnable {
+		private final IJob job;
+
+		JobRunner(IJob job) {
+			this.job = job;
+		}
+
+		@Override
+		public void run() {
+			try {
+				/*boolean status = */this.job.execute(null);
+				//if (status == FAILED) request(job);
+			} catch (RuntimeException e) {
+				// log exception, other jobs keep running, index of this job may be inconsistent
+				Util.log(e, "Background Indexer Crash Recovery"); //$NON-NLS-1$
+			} finally {
+				if (VERBOSE)
+					Util.verbose("FINISHED background job - " + this.job); //$NON-NLS-1$
+				jobFinished(this.job);
 			}
-			throw e;
 		}
 	}
+
 	/**
-	 * Stop background processing, and wait until the current job is completed before returning
+	 * Stop background processing, and wait until the running jobs are completed before returning
 	 */
 	public void shutdown() {
 
@@ -460,34 +586,39 @@ public abstract class JobManager implements Runnable {
 			Util.verbose("Shutdown"); //$NON-NLS-1$
 
 		disable();
-		discardJobs(null); // will wait until current executing job has completed
+		discardJobs(null); // will wait until executing jobs have completed
 		Thread thread = this.processingThread;
 		try {
 			if (thread != null) { // see http://bugs.eclipse.org/bugs/show_bug.cgi?id=31858
-				synchronized (this) {
+				lock.lock();
+				try {
 					this.processingThread = null; // mark the job manager as shutting down so that the thread will stop by itself
-					notifyAll(); // ensure its awake so it can be shutdown
+					jobAvailable.signalAll(); // ensure its awake so it can be shutdown
+					jobDone.signalAll();
+				} finally {
+					lock.unlock();
 				}
-				// in case processing thread is handling a job
 				thread.join();
 			}
-			Job job = this.progressJob;
-			if (job != null) {
-				job.cancel();
-				job.join();
-			}
 		} catch (InterruptedException e) {
 			// ignore
 		}
 	}
+
 	public String toString() {
-		StringBuffer buffer = new StringBuffer(10);
-		buffer.append("Enable count:").append(this.enableCount).append('\n'); //$NON-NLS-1$
-		int numJobs = this.jobEnd - this.jobStart + 1;
-		buffer.append("Jobs in queue:").append(numJobs).append('\n'); //$NON-NLS-1$
-		for (int i = 0; i < numJobs && i < 15; i++) {
-			buffer.append(i).append(" - job["+i+"]: ").append(this.awaitingJobs[this.jobStart+i]).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$
+		lock.lock();
+		try {
+			StringBuffer buffer = new StringBuffer(10);
+			buffer.append("Enable count:").append(this.enableCount).append('\n'); //$NON-NLS-1$
+			buffer.append("Running jobs:").append(this.runningJobs.size()).append('\n'); //$NON-NLS-1$
+			int numJobs = this.awaitingJobs.size();
+			buffer.append("Jobs in queue:").append(numJobs).append('\n'); //$NON-NLS-1$
+			for (int i = 0; i < numJobs && i < 15; i++) {
+				buffer.append(i).append(" - job[" + i + "]: ").append(this.awaitingJobs.get(i)).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return buffer.toString();
+		} finally {
+			lock.unlock();
 		}
-		return buffer.toString();
 	}
 }
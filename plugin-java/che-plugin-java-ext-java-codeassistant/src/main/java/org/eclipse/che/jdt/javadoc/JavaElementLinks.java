@@ -121,6 +121,21 @@ public class JavaElementLinks {
         }
     }
 
+    /**
+     * Returns the encoded start of the links created by {@link #createURI} for the elements which handle identifiers
+     * start with the given handle prefix. The scheme isn't included.
+     *
+     * @param handlePrefix prefix of the element handle identifier, e.g. handle identifier of a package fragment root
+     * @return encoded link prefix
+     */
+    public static String getLinkPrefix(String handlePrefix) {
+        try {
+            return URLEncoder.encode(LINK_SEPARATOR + handlePrefix.replace('[', LINK_BRACKET_REPLACEMENT), "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Creates a link with the given URI and label text.
      *
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import org.eclipse.che.jdt.BinaryTypeConvector;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class BinaryTypeConvectorTest extends BaseTest {
+
+    @Test
+    public void compactEncodingContainsSameTypeInfo() throws Exception {
+        IBinaryType type = findBinaryType("java", "lang", "String");
+
+        String plain = BinaryTypeConvector.toJsonBinaryType(type);
+        String compact = BinaryTypeConvector.toJsonBinaryType(type, null, true);
+
+        assertThat(compact.length()).isLessThan(plain.length());
+        JsonObject compactJson = new JsonParser().parse(compact).getAsJsonObject();
+        JsonElement expanded = expand(compactJson.get("$t"), compactJson.getAsJsonArray("$s"));
+        assertThat(expanded).isEqualTo(new JsonParser().parse(plain));
+    }
+
+    @Test
+    public void fileNameCanBeReplaced() throws Exception {
+        IBinaryType type = findBinaryType("java", "util", "List");
+
+        String json = BinaryTypeConvector.toJsonBinaryType(type, "hash|java/util/List.class", false);
+
+        assertThat(new JsonParser().parse(json).getAsJsonObject().get("fileName").getAsString()).isEqualTo("hash|java/util/List.class");
+    }
+
+    private IBinaryType findBinaryType(String... compoundName) {
+        char[][] name = new char[compoundName.length][];
+        for (int i = 0; i < compoundName.length; i++) {
+            name[i] = compoundName[i].toCharArray();
+        }
+        NameEnvironmentAnswer answer = project.getNameEnvironment().findType(name);
+        assertThat(answer.isBinaryType()).isTrue();
+        return answer.getBinaryType();
+    }
+
+    private JsonElement expand(JsonElement element, JsonArray table) {
+        if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isString()) {
+            String value = element.getAsString();
+            if (!value.startsWith("~")) {
+                return element;
+            }
+            return value.startsWith("~~") ? new JsonPrimitive(value.substring(1)) : table.get(Integer.parseInt(value.substring(1)));
+        }
+        if (element.isJsonArray()) {
+            JsonArray array = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                array.add(expand(item, table));
+            }
+            return array;
+        }
+        if (element.isJsonObject()) {
+            JsonObject object = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                object.add(entry.getKey(), expand(entry.getValue(), table));
+            }
+            return object;
+        }
+        return element;
+    }
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.jdt.DependencyJarStore;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class DependencyJarStoreTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File               root;
+    private File               storeDir;
+    private DependencyJarStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temp.getRoot();
+        storeDir = new File(root, "store");
+        store = new DependencyJarStore(storeDir);
+    }
+
+    @Test
+    public void sameContentIsStoredOnce() throws Exception {
+        File first = new File(root, "first/lib.jar");
+        File second = new File(root, "second/lib-1.0.jar");
+        first.getParentFile().mkdirs();
+        second.getParentFile().mkdirs();
+
+        String firstHash = store.store(content("lib"), first);
+        String secondHash = store.store(content("lib"), second);
+
+        assertThat(firstHash).isEqualTo(secondHash);
+        assertThat(Files.isSameFile(first.toPath(), second.toPath())).isTrue();
+        assertThat(storeDir.list()).hasSize(1);
+        assertThat(store.getReferenceCount(firstHash)).isEqualTo(2);
+    }
+
+    @Test
+    public void gcDeletesUnreferencedJars() throws Exception {
+        File used = new File(root, "used.jar");
+        File removed = new File(root, "removed.jar");
+        String usedHash = store.store(content("used"), used);
+        String removedHash = store.store(content("removed"), removed);
+
+        Files.delete(removed.toPath());
+        store.gc();
+
+        assertThat(store.getReferenceCount(usedHash)).isEqualTo(1);
+        assertThat(store.getReferenceCount(removedHash)).isEqualTo(-1);
+        assertThat(used.exists()).isTrue();
+    }
+
+    @Test
+    public void changedContentRelinksFile() throws Exception {
+        File jar = new File(root, "lib.jar");
+        String oldHash = store.store(content("old"), jar);
+        String newHash = store.store(content("new"), jar);
+
+        store.gc();
+
+        assertThat(newHash).isNotEqualTo(oldHash);
+        assertThat(new String(Files.readAllBytes(jar.toPath()), StandardCharsets.UTF_8)).isEqualTo("new");
+        assertThat(store.getReferenceCount(oldHash)).isEqualTo(-1);
+    }
+
+    private static ByteArrayInputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
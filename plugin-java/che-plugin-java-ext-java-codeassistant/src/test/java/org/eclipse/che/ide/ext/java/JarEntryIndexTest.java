@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.jdt.JarEntryIndex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class JarEntryIndexTest {
+
+    private File    file;
+    private ZipFile jar;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("entries", ".jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            out.putNextEntry(new ZipEntry("META-INF/"));
+            out.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            out.putNextEntry(new ZipEntry("META-INF/services/java.nio.file.spi.FileSystemProvider"));
+            out.putNextEntry(new ZipEntry("about.html"));
+        }
+        jar = new ZipFile(file);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        jar.close();
+        file.delete();
+    }
+
+    @Test
+    public void foldersWithoutOwnEntriesAreIndexed() throws Exception {
+        JarEntryIndex index = JarEntryIndex.build(jar);
+
+        assertThat(index.getEntry("/META-INF/services").isDirectory()).isTrue();
+        assertThat(index.getEntry("/META-INF/services/java.nio.file.spi.FileSystemProvider").isDirectory()).isFalse();
+        assertThat(index.getEntry("/META-INF/missing")).isNull();
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void childrenAreFilesFirstThenFolders() throws Exception {
+        JarEntryIndex index = JarEntryIndex.build(jar);
+
+        List<JarEntryIndex.Entry> children = index.getChildren("/META-INF");
+        assertThat(children).hasSize(2);
+        assertThat(children.get(0).getPath()).isEqualTo("/META-INF/MANIFEST.MF");
+        assertThat(children.get(1).getPath()).isEqualTo("/META-INF/services");
+        assertThat(index.getChildren("/")).hasSize(2);
+        assertThat(index.getChildren("/about.html")).isNull();
+    }
+}
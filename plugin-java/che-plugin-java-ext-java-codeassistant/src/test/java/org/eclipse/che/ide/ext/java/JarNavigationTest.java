@@ -19,6 +19,7 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.fest.assertions.Assertions.assertThat;
@@ -198,4 +199,61 @@ public class JarNavigationTest extends BaseTest {
         assertThat(entry.getPath()).isEqualTo("java.lang.Object");
 
     }
+
+    @Test
+    public void testPagedRootContentIsTheWholeContent() throws Exception {
+        IPackageFragmentRoot root = getGwtUserRoot();
+        List<JarEntry> content = navigation.getPackageFragmentRootContent(project, root.hashCode());
+        List<JarEntry> paged = navigation.getPackageFragmentRootContent(project, root.hashCode(), 0, 0);
+        assertThat(describe(paged)).isEqualTo(describe(content));
+    }
+
+    @Test
+    public void testPagedRootContentOfRtJar() throws Exception {
+        String javaHome = System.getProperty("java.home") + "/lib/rt.jar";
+        IPackageFragmentRoot root = project.getPackageFragmentRoot(new File(javaHome));
+        List<JarEntry> content = navigation.getPackageFragmentRootContent(project, root.hashCode());
+        List<JarEntry> paged = navigation.getPackageFragmentRootContent(project, root.hashCode(), 0, 0);
+        assertThat(describe(paged)).isEqualTo(describe(content));
+    }
+
+    @Test
+    public void testPageAcrossPackagesAndResources() throws Exception {
+        IPackageFragmentRoot root = getGwtUserRoot();
+        List<JarEntry> content = navigation.getPackageFragmentRootContent(project, root.hashCode());
+        int packages = 0;
+        while (content.get(packages).getType() == JarEntry.JarEntryType.PACKAGE) {
+            packages++;
+        }
+        List<JarEntry> page = navigation.getPackageFragmentRootContent(project, root.hashCode(), packages - 1, 2);
+        assertThat(describe(page)).isEqualTo(describe(content.subList(packages - 1, packages + 1)));
+    }
+
+    @Test
+    public void testPageAfterTheLastEntryIsEmpty() throws Exception {
+        IPackageFragmentRoot root = getGwtUserRoot();
+        int size = navigation.getPackageFragmentRootContent(project, root.hashCode()).size();
+        assertThat(navigation.getPackageFragmentRootContent(project, root.hashCode(), size, 10)).isEmpty();
+        assertThat(navigation.getPackageFragmentRootContent(project, root.hashCode(), size + 10, 0)).isEmpty();
+    }
+
+    @Test
+    public void testNegativeOffsetStartsFromTheFirstEntry() throws Exception {
+        IPackageFragmentRoot root = getGwtUserRoot();
+        List<JarEntry> content = navigation.getPackageFragmentRootContent(project, root.hashCode());
+        List<JarEntry> page = navigation.getPackageFragmentRootContent(project, root.hashCode(), -5, 3);
+        assertThat(describe(page)).isEqualTo(describe(content.subList(0, 3)));
+    }
+
+    private IPackageFragmentRoot getGwtUserRoot() {
+        return project.getPackageFragmentRoot(new File(getClass().getResource("/temp").getPath() + "/ws/test/gwt-user.jar"));
+    }
+
+    private static List<String> describe(List<JarEntry> entries) {
+        List<String> result = new ArrayList<>(entries.size());
+        for (JarEntry entry : entries) {
+            result.add(entry.getType() + " " + entry.getName() + " " + entry.getPath());
+        }
+        return result;
+    }
 }
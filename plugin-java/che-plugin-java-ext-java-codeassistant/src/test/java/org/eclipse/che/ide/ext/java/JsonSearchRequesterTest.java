@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.jdt.JsonSearchRequester;
+import org.eclipse.che.jdt.internal.core.TypeUsageHistory;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class JsonSearchRequesterTest {
+
+    @Test
+    public void resultsAreInFoundOrderByDefault() throws Exception {
+        JsonSearchRequester requester = new JsonSearchRequester();
+        acceptType(requester, "java.util", "List");
+        acceptType(requester, "com.test", "Lister");
+
+        assertThat(typeNames(requester)).isEqualTo("List,Lister");
+    }
+
+    @Test
+    public void recentlyUsedAndSourceTypesComeFirst() throws Exception {
+        TypeUsageHistory usage = new TypeUsageHistory();
+        usage.record("java.util.LinkedList");
+        JsonSearchRequester requester = new JsonSearchRequester(0, Collections.singleton("com.test"), usage);
+        acceptType(requester, "java.util", "List");
+        acceptType(requester, "com.test", "Lister");
+        acceptType(requester, "java.util", "LinkedList");
+
+        assertThat(typeNames(requester)).isEqualTo("LinkedList,Lister,List");
+    }
+
+    @Test
+    public void lessRelevantTypesAreCutOff() throws Exception {
+        JsonSearchRequester requester = new JsonSearchRequester(2, Collections.singleton("com.test"), null);
+        acceptType(requester, "java.util", "List");
+        acceptType(requester, "java.awt", "List");
+        acceptType(requester, "com.test", "Lister");
+
+        JsonArray result = new JsonParser().parse(requester.toJsonString()).getAsJsonArray();
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.get(0).getAsJsonObject().get("packageName").getAsString()).isEqualTo("com.test");
+        assertThat(result.get(1).getAsJsonObject().get("packageName").getAsString()).isEqualTo("java.util");
+    }
+
+    private static void acceptType(JsonSearchRequester requester, String packageName, String typeName) {
+        requester.acceptType(packageName.toCharArray(), typeName.toCharArray(), null, 0, null);
+    }
+
+    private static String typeNames(JsonSearchRequester requester) {
+        StringBuilder names = new StringBuilder();
+        for (JsonElement type : new JsonParser().parse(requester.toJsonString()).getAsJsonArray()) {
+            if (names.length() > 0) {
+                names.append(',');
+            }
+            names.append(type.getAsJsonObject().get("typeName").getAsString());
+        }
+        return names.toString();
+    }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.jdt.internal.core.search.indexing.SharedIndexStore;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.internal.core.index.IndexLocation;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class SharedIndexStoreTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File             root;
+    private SharedIndexStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temp.getRoot();
+        store = new SharedIndexStore(new File(root, "store"));
+    }
+
+    @Test
+    public void sameContentSharesLocation() throws Exception {
+        File first = createJar("first.jar", "content");
+        File second = createJar("second.jar", "content");
+
+        IndexLocation firstLocation = store.acquire(new Path(first.getAbsolutePath()));
+        IndexLocation secondLocation = store.acquire(new Path(second.getAbsolutePath()));
+
+        assertThat(firstLocation).isNotNull().isEqualTo(secondLocation);
+        assertThat(store.isShared(firstLocation)).isTrue();
+        assertThat(store.getReferenceCount(firstLocation)).isEqualTo(2);
+    }
+
+    @Test
+    public void differentContentHasDifferentLocation() throws Exception {
+        IndexLocation first = store.acquire(new Path(createJar("first.jar", "first").getAbsolutePath()));
+        IndexLocation second = store.acquire(new Path(createJar("second.jar", "second").getAbsolutePath()));
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    public void releaseKeepsPublishedIndexFile() throws Exception {
+        IndexLocation location = store.acquire(new Path(createJar("lib.jar", "lib").getAbsolutePath()));
+        File built = createJar("built.index", "index");
+
+        store.publish(location, built);
+        store.release(location);
+
+        assertThat(store.getReferenceCount(location)).isEqualTo(0);
+        assertThat(location.getIndexFile().exists()).isTrue();
+    }
+
+    @Test
+    public void unreadableIndexIsDeletedWithTypeNames() throws Exception {
+        IndexLocation location = store.acquire(new Path(createJar("lib.jar", "lib").getAbsolutePath()));
+        File indexFile = location.getIndexFile();
+        File typeNamesFile = new File(indexFile.getParentFile(), indexFile.getName().replace(".index", ".types"));
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(indexFile))) {
+            out.writeUTF("OLD INDEX SIGNATURE");
+        }
+        Files.write(typeNamesFile.toPath(), "stale".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            store.getIndex(location, "/lib.jar");
+            fail("Broken index must not be read");
+        } catch (IOException e) {
+            assertThat(indexFile.exists()).isFalse();
+            assertThat(typeNamesFile.exists()).isFalse();
+        }
+    }
+
+    private File createJar(String name, String content) throws Exception {
+        File file = new File(root, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.jdt.SourceStubStore;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SourceStubStoreTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File            root;
+    private SourceStubStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temp.getRoot();
+        store = new SourceStubStore(root);
+    }
+
+    @Test
+    public void sourceIsStoredPerJarAndType() throws Exception {
+        store.put("hash1", "java/util/Map$Entry", "interface Entry {}");
+
+        assertThat(store.get("hash1", "java/util/Map$Entry")).isEqualTo("interface Entry {}");
+        assertThat(store.get("hash2", "java/util/Map$Entry")).isNull();
+        assertThat(store.get("hash1", "java/util/Map")).isNull();
+    }
+
+    @Test
+    public void storedSourceIsVisibleToNewStore() throws Exception {
+        store.put("hash1", "Default", "class Default {}");
+
+        assertThat(new SourceStubStore(root).get("hash1", "Default")).isEqualTo("class Default {}");
+    }
+
+    @Test
+    public void gcDeletesSourcesOfUnusedJars() throws Exception {
+        store.put("used", "Used", "class Used {}");
+        store.put("unused", "Unused", "class Unused {}");
+
+        store.gc(Collections.singleton("used"));
+
+        assertThat(store.get("used", "Used")).isEqualTo("class Used {}");
+        assertThat(store.get("unused", "Unused")).isNull();
+        assertThat(new File(root, "1/unused").exists()).isFalse();
+    }
+
+    @Test
+    public void gcDeletesSourcesOfPreviousVersions() throws Exception {
+        File previous = new File(root, "0/hash1/Old.java");
+        previous.getParentFile().mkdirs();
+        previous.createNewFile();
+        store.put("hash1", "Current", "class Current {}");
+
+        store.gc(Collections.singleton("hash1"));
+
+        assertThat(new File(root, "0").exists()).isFalse();
+        assertThat(store.get("hash1", "Current")).isEqualTo("class Current {}");
+    }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java;
+
+import org.eclipse.che.jdt.internal.core.search.indexing.TypeNameTable;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class TypeNameTableTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private File root;
+    private File tableFile;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temp.getRoot();
+        tableFile = new File(root, "lib.index.types");
+        Index index = new Index(new FileIndexLocation(new File(root, "lib.index")), "", false);
+        addType(index, "AbstractList", "java/util/AbstractList.class");
+        addType(index, "ArrayList", "java/util/ArrayList.class");
+        addType(index, "ArrayListLoader", "org/example/ArrayListLoader.class");
+        addType(index, "Arrays", "java/util/Arrays.class");
+        addType(index, "HashMap", "java/util/HashMap.class");
+        addType(index, "Zebra", "org/example/Zebra.class");
+        TypeNameTable.write(index, tableFile);
+    }
+
+    @Test
+    public void exactNameIsFoundIgnoringCase() throws Exception {
+        Map<String, String> found = findPrefix(TypeNameTable.open(tableFile), "arraylistloader");
+
+        assertThat(found.keySet()).containsOnly("ArrayListLoader");
+        assertThat(found.get("ArrayListLoader")).isEqualTo("org/example/ArrayListLoader.class");
+    }
+
+    @Test
+    public void prefixFindsAllTypesStartingWithIt() throws Exception {
+        TypeNameTable table = TypeNameTable.open(tableFile);
+
+        assertThat(findPrefix(table, "Array").keySet()).containsOnly("ArrayList", "ArrayListLoader", "Arrays");
+        assertThat(findPrefix(table, "ArrayList").keySet()).containsOnly("ArrayList", "ArrayListLoader");
+    }
+
+    @Test
+    public void emptyPrefixFindsAllTypes() throws Exception {
+        TypeNameTable table = TypeNameTable.open(tableFile);
+
+        assertThat(table.size()).isEqualTo(6);
+        assertThat(findPrefix(table, "").size()).isEqualTo(6);
+    }
+
+    @Test
+    public void firstAndLastKeysAreFound() throws Exception {
+        TypeNameTable table = TypeNameTable.open(tableFile);
+
+        assertThat(findPrefix(table, "Ab").keySet()).containsOnly("AbstractList");
+        assertThat(findPrefix(table, "Zebra").keySet()).containsOnly("Zebra");
+        assertThat(findPrefix(table, "A0")).isEmpty();
+        assertThat(findPrefix(table, "Zz")).isEmpty();
+        assertThat(findPrefix(table, "ZebraCrossing")).isEmpty();
+    }
+
+    @Test
+    public void camelCaseFindsTypesByHumps() throws Exception {
+        TypeNameTable table = TypeNameTable.open(tableFile);
+
+        assertThat(findCamelCase(table, "ALL").keySet()).containsOnly("ArrayListLoader");
+        assertThat(findCamelCase(table, "AL").keySet()).containsOnly("AbstractList", "ArrayList", "ArrayListLoader");
+        assertThat(findCamelCase(table, "HM").keySet()).containsOnly("HashMap");
+        assertThat(findCamelCase(table, "ZM")).isEmpty();
+    }
+
+    @Test
+    public void acceptedEntriesAreSkipped() throws Exception {
+        TypeNameTable table = TypeNameTable.open(tableFile);
+        BitSet accepted = new BitSet();
+
+        assertThat(find(table, "Array", false, accepted).size()).isEqualTo(3);
+        assertThat(find(table, "AL", true, accepted).keySet()).containsOnly("AbstractList");
+    }
+
+    @Test
+    public void emptyTableFindsNothing() throws Exception {
+        File emptyFile = new File(root, "empty.index.types");
+        TypeNameTable.write(new Index(new FileIndexLocation(new File(root, "empty.index")), "", false), emptyFile);
+        TypeNameTable table = TypeNameTable.open(emptyFile);
+
+        assertThat(table.size()).isEqualTo(0);
+        assertThat(findPrefix(table, "")).isEmpty();
+        assertThat(findCamelCase(table, "AL")).isEmpty();
+    }
+
+    @Test(expected = IOException.class)
+    public void tableWithWrongMagicIsRejected() throws Exception {
+        overwriteInt(0, 0xCAFEBABE);
+
+        TypeNameTable.open(tableFile);
+    }
+
+    @Test(expected = IOException.class)
+    public void tableWithWrongVersionIsRejected() throws Exception {
+        overwriteInt(4, 2);
+
+        TypeNameTable.open(tableFile);
+    }
+
+    private static void addType(Index index, String simpleName, String documentName) {
+        String packageName = documentName.substring(0, documentName.lastIndexOf('/')).replace('/', '.');
+        char[] key = (simpleName + IIndexConstants.SEPARATOR + packageName + IIndexConstants.SEPARATOR + IIndexConstants.SEPARATOR
+                      + "0").toCharArray();
+        index.addIndexEntry(IIndexConstants.TYPE_DECL, key, documentName);
+    }
+
+    private void overwriteInt(long position, int value) throws Exception {
+        try (RandomAccessFile file = new RandomAccessFile(tableFile, "rw")) {
+            file.seek(position);
+            file.writeInt(value);
+        }
+    }
+
+    private static Map<String, String> findPrefix(TypeNameTable table, String prefix) {
+        return find(table, prefix, false, new BitSet());
+    }
+
+    private static Map<String, String> findCamelCase(TypeNameTable table, String pattern) {
+        return find(table, pattern, true, new BitSet());
+    }
+
+    /** Returns found simple names with the first document name of each. */
+    private static Map<String, String> find(TypeNameTable table, String key, boolean camelCase, BitSet accepted) {
+        final Map<String, String> found = new HashMap<>();
+        TypeNameTable.EntryRequestor requestor = new TypeNameTable.EntryRequestor() {
+            @Override
+            public void acceptEntry(char[] indexKey, String[] documentNames) {
+                String name = new String(indexKey);
+                found.put(name.substring(0, name.indexOf(IIndexConstants.SEPARATOR)), documentNames[0]);
+            }
+        };
+        if (camelCase) {
+            table.findCamelCase(key.toCharArray(), accepted, requestor);
+        } else {
+            table.findPrefix(key.toCharArray(), accepted, requestor);
+        }
+        return found;
+    }
+}
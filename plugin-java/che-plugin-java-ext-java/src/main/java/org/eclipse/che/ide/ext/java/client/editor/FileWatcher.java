@@ -25,7 +25,10 @@ import org.eclipse.che.ide.project.event.ResourceNodeDeletedEvent;
 import org.eclipse.che.ide.project.node.FileReferenceNode;
 import org.eclipse.che.ide.project.node.ResourceBasedNode;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Evgen Vidolob
@@ -48,12 +51,9 @@ public class FileWatcher {
 
                 ResourceBasedNode node = event.getNode();
                 if (node instanceof PackageNode) {
-                    worker.removeFqnFromCache(((PackageNode)node).getQualifiedName());
-                    reparseAllOpenedFiles();
+                    reparseDependentFiles(((PackageNode)node).getQualifiedName(), null);
                 } else if (node instanceof FileReferenceNode) {
-                    String fqn = getFQN((FileReferenceNode)node);
-                    worker.removeFqnFromCache(fqn);
-                    reparseAllOpenedFiles();
+                    reparseDependentFiles(getFQN((FileReferenceNode)node), null);
                 }
             }
         });
@@ -66,9 +66,7 @@ public class FileWatcher {
                 if (propId == EditorPartPresenter.PROP_DIRTY) {
                     if (!editor.isDirty()) {
                         VirtualFile file = editor.getEditorInput().getFile();
-                        String fqn = getFQN(file);
-                        worker.removeFqnFromCache(fqn);
-                        reparseAllOpenedFiles();
+                        reparseDependentFiles(getFQN(file), file.getPath());
                     }
                 }
             }
@@ -96,13 +94,30 @@ public class FileWatcher {
         return packageName + file.getName().substring(0, file.getName().indexOf('.'));
     }
 
-    private void reparseAllOpenedFiles() {
-        Map<String, EditorPartPresenter> openedEditors = editorAgent.getOpenedEditors();
-        for (EditorPartPresenter editorPartPresenter : openedEditors.values()) {
-            if (editorPartPresenter instanceof EmbeddedTextEditorPresenter) {
-                final EmbeddedTextEditorPresenter<?> editor = (EmbeddedTextEditorPresenter<?>)editorPartPresenter;
-                editor.refreshEditor();
+    /**
+     * Removes the type or the package from the cache of the worker and re-parses open files which reference it.
+     *
+     * @param changedFilePath
+     *         path of the saved file, it is up to date and isn't re-parsed, <code>null</code> if file is deleted
+     */
+    private void reparseDependentFiles(String fqn, final String changedFilePath) {
+        worker.removeFqnFromCache(fqn, new JavaParserWorker.WorkerCallback<String>() {
+            @Override
+            public void onResult(List<String> filePaths) {
+                Set<String> dependentFiles = new HashSet<>(filePaths);
+                dependentFiles.remove(changedFilePath);
+                if (dependentFiles.isEmpty()) {
+                    return;
+                }
+                Map<String, EditorPartPresenter> openedEditors = editorAgent.getOpenedEditors();
+                for (EditorPartPresenter editorPartPresenter : openedEditors.values()) {
+                    if (editorPartPresenter instanceof EmbeddedTextEditorPresenter
+                        && dependentFiles.contains(editorPartPresenter.getEditorInput().getFile().getPath())) {
+                        final EmbeddedTextEditorPresenter<?> editor = (EmbeddedTextEditorPresenter<?>)editorPartPresenter;
+                        editor.refreshEditor();
+                    }
+                }
             }
-        }
+        });
     }
 }
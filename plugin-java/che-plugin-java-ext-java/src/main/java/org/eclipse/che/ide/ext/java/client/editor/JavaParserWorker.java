@@ -17,6 +17,7 @@ import org.eclipse.che.ide.ext.java.messages.JavadocHandleComputed;
 import org.eclipse.che.ide.ext.java.messages.ProblemLocationMessage;
 import org.eclipse.che.ide.ext.java.messages.ProposalAppliedMessage;
 import org.eclipse.che.ide.ext.java.messages.WorkerProposal;
+import org.eclipse.che.ide.ext.java.messages.impl.OutlineChange;
 import org.eclipse.che.ide.ext.java.messages.impl.WorkerCodeBlock;
 
 import java.util.List;
@@ -36,13 +37,19 @@ public interface JavaParserWorker {
 
     void applyCAProposal(String id, Callback<ProposalAppliedMessage> callback);
 
-    void addOutlineUpdateHandler(String filePath, WorkerCallback<WorkerCodeBlock> callback);
+    void addOutlineUpdateHandler(String filePath, OutlineUpdateHandler handler);
 
     void computeQAProposals(String content, int offset, int selectionLength, boolean updatedContent,
                             List<ProblemLocationMessage> problems,
                             String filePath, WorkerCallback<WorkerProposal> callback);
 
-    void removeFqnFromCache(String fqn);
+    /**
+     * Removes type, its member types or types of the package from the cache of the worker.
+     *
+     * @param callback
+     *         receives paths of the open files which reference the removed types
+     */
+    void removeFqnFromCache(String fqn, WorkerCallback<String> callback);
 
     void format(int offset, int length, String content, Callback<TextEdit> callback);
 
@@ -52,10 +59,19 @@ public interface JavaParserWorker {
 
     void fileClosed(String path);
 
+    /** Returns latency of the reconciles done by the worker. */
+    ReconcileStatistics getReconcileStatistics();
+
     public interface WorkerCallback<T> {
         void onResult(List<T> problems);
     }
 
+    /** Receives outline of the file, {@link #onResult(List)} receives all blocks of the outline. */
+    public interface OutlineUpdateHandler extends WorkerCallback<WorkerCodeBlock> {
+        /** Receives changes of the outline since the previous update. */
+        void onChanges(List<OutlineChange> changes);
+    }
+
     public interface Callback<T>{
         void onCallback(T result);
     }
@@ -19,7 +19,9 @@ import org.eclipse.che.ide.collections.js.JsoStringMap;
 import org.eclipse.che.ide.ext.java.jdt.core.compiler.IProblem;
 import org.eclipse.che.ide.ext.java.jdt.internal.compiler.problem.DefaultProblem;
 import org.eclipse.che.ide.ext.java.messages.CAProposalsComputedMessage;
+import org.eclipse.che.ide.ext.java.messages.CancelMessage;
 import org.eclipse.che.ide.ext.java.messages.ComputeJavadocHandle;
+import org.eclipse.che.ide.ext.java.messages.DependentFilesMessage;
 import org.eclipse.che.ide.ext.java.messages.FileClosedMessage;
 import org.eclipse.che.ide.ext.java.messages.FormatResultMessage;
 import org.eclipse.che.ide.ext.java.messages.JavadocHandleComputed;
@@ -27,11 +29,11 @@ import org.eclipse.che.ide.ext.java.messages.Problem;
 import org.eclipse.che.ide.ext.java.messages.ProblemLocationMessage;
 import org.eclipse.che.ide.ext.java.messages.ProblemsMessage;
 import org.eclipse.che.ide.ext.java.messages.ProposalAppliedMessage;
+import org.eclipse.che.ide.ext.java.messages.ResetOutlineMessage;
 import org.eclipse.che.ide.ext.java.messages.RoutingTypes;
 import org.eclipse.che.ide.ext.java.messages.WorkerProposal;
 import org.eclipse.che.ide.ext.java.messages.impl.MessagesImpls;
 import org.eclipse.che.ide.ext.java.messages.impl.OutlineUpdateMessage;
-import org.eclipse.che.ide.ext.java.messages.impl.WorkerCodeBlock;
 import org.eclipse.che.ide.ext.java.jdt.text.edits.CopySourceEdit;
 import org.eclipse.che.ide.ext.java.jdt.text.edits.CopyTargetEdit;
 import org.eclipse.che.ide.ext.java.jdt.text.edits.CopyingRangeMarker;
@@ -76,8 +78,15 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
     private       Worker                         worker;
     private       String                         restContext;
     private       Map<String, WorkerCallback<?>> arrayCallbacks;
-    private Map<String, WorkerCallback<WorkerCodeBlock>> outlineCallbacks = new HashMap<>();
+    private Map<String, OutlineUpdateHandler>            outlineCallbacks = new HashMap<>();
     private Map<String, Callback<?>>                     callbacks        = new HashMap<>();
+    /** key = id of the parse message, value = time when it was sent */
+    private Map<String, Long>                            parseStartTimes  = new HashMap<>();
+    private ReconcileStatistics                          statistics       = new ReconcileStatistics();
+    /** key = file path, value = id of the parse request which result isn't received yet */
+    private Map<String, String>                          pendingParses    = new HashMap<>();
+    /** Id of the completion request which result isn't received yet. */
+    private String                                       pendingCompletion;
 
 
     @Inject
@@ -121,6 +130,13 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
                     }
                 });
 
+        messageFilter.registerMessageRecipient(RoutingTypes.DEPENDENT_FILES,
+                                               new MessageFilter.MessageRecipient<DependentFilesMessage>() {
+                                                   @Override
+                                                   public void onMessageReceived(DependentFilesMessage message) {
+                                                       handleDependentFiles(message);
+                                                   }
+                                               });
         messageFilter.registerMessageRecipient(RoutingTypes.JAVADOC_HANDLE_COMPUTED,
                                                new MessageFilter.MessageRecipient<JavadocHandleComputed>() {
                                                    @Override
@@ -130,6 +146,18 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
                                                });
     }
 
+    @SuppressWarnings("unchecked")
+    private void handleDependentFiles(DependentFilesMessage message) {
+        WorkerCallback<String> callback = (WorkerCallback<String>)arrayCallbacks.remove(message.id());
+        if (callback != null) {
+            List<String> filePaths = new ArrayList<>();
+            for (String filePath : message.getFilePaths().asIterable()) {
+                filePaths.add(filePath);
+            }
+            callback.onResult(filePaths);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void handleJavadocMessage(JavadocHandleComputed message) {
         if (callbacks.containsKey(message.getId())) {
@@ -242,8 +270,12 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
 
     private void handleUpdateOutline(OutlineUpdateMessage message) {
         if (outlineCallbacks.containsKey(message.getFilePath())) {
-            WorkerCallback<WorkerCodeBlock> callback = outlineCallbacks.get(message.getFilePath());
-            callback.onResult(message.getBlocks().toList());
+            OutlineUpdateHandler callback = outlineCallbacks.get(message.getFilePath());
+            if (message.getChanges() != null) {
+                callback.onChanges(message.getChanges().toList());
+            } else {
+                callback.onResult(message.getBlocks().toList());
+            }
         }
     }
 
@@ -257,6 +289,9 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
 
     @SuppressWarnings("unchecked")
     private void handleCAComputed(CAProposalsComputedMessage message) {
+        if (message.id().equals(pendingCompletion)) {
+            pendingCompletion = null;
+        }
         if (!arrayCallbacks.containsKey(message.id())) {
             return;
         }
@@ -266,13 +301,15 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
     }
 
     @Override
-    public void removeFqnFromCache(String fqn) {
+    public void removeFqnFromCache(String fqn, WorkerCallback<String> callback) {
         if (worker == null) {
             return;
         }
 
         MessagesImpls.RemoveFqnMessageImpl message = MessagesImpls.RemoveFqnMessageImpl.make();
-        message.setFqn(fqn);
+        String uuid = UUID.uuid();
+        arrayCallbacks.put(uuid, callback);
+        message.setFqn(fqn).setId(uuid);
         worker.postMessage(message.serialize());
     }
 
@@ -303,6 +340,11 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
 
     @Override
     public void fileClosed(String path) {
+        String pending = pendingParses.remove(path);
+        if (pending != null) {
+            arrayCallbacks.remove(pending);
+            parseStartTimes.remove(pending);
+        }
         FileClosedMessage message = FileClosedMessage.make();
         message.setFilePath(path);
         if (worker != null) {
@@ -328,9 +370,16 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
 
         MessagesImpls.ParseMessageImpl parseMessage = MessagesImpls.ParseMessageImpl.make();
         String uuid = UUID.uuid();
+        // worker skips queued parse of the older source, its result isn't needed anyway
+        String outdated = pendingParses.put(filePath, uuid);
+        if (outdated != null) {
+            arrayCallbacks.remove(outdated);
+            parseStartTimes.remove(outdated);
+        }
         arrayCallbacks.put(uuid, callback);
         parseMessage.setSource(content).setFileName(fileName).setFilePath(filePath).setId(uuid).setPackageName(packageName)
                     .setProjectPath(projectPath).setIgnoreMethodBodiess(ignoreMethodBody);
+        parseStartTimes.put(uuid, System.currentTimeMillis());
         worker.postMessage(parseMessage.serialize());
     }
 
@@ -342,8 +391,13 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
             return;
         }
 
+        if (pendingCompletion != null) {
+            arrayCallbacks.remove(pendingCompletion);
+            worker.postMessage(CancelMessage.make().setId(pendingCompletion).serialize());
+        }
         MessagesImpls.ComputeCAProposalsMessageImpl computeMessage = MessagesImpls.ComputeCAProposalsMessageImpl.make();
         String uuid = UUID.uuid();
+        pendingCompletion = uuid;
         arrayCallbacks.put(uuid, callback);
         computeMessage.setDocContent(content).setOffset(offset).setFileName(fileName).setId(uuid).setProjectPath(projectPath)
                       .setFilePath(filePath);
@@ -363,8 +417,12 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
     }
 
     @Override
-    public void addOutlineUpdateHandler(String filePath, WorkerCallback<WorkerCodeBlock> callback) {
-        outlineCallbacks.put(filePath, callback);
+    public void addOutlineUpdateHandler(String filePath, OutlineUpdateHandler handler) {
+        outlineCallbacks.put(filePath, handler);
+        // new handler has no blocks to apply changes to
+        if (worker != null) {
+            worker.postMessage(ResetOutlineMessage.make().setFilePath(filePath).serialize());
+        }
     }
 
     @Override
@@ -441,6 +499,11 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
     @Override
     @SuppressWarnings("unchecked")
     public void onMessageReceived(ProblemsMessage message) {
+        pendingParses.values().remove(message.id());
+        Long startTime = parseStartTimes.remove(message.id());
+        if (startTime != null) {
+            statistics.add(System.currentTimeMillis() - startTime, message.parseTime(), message.incremental());
+        }
         if (!arrayCallbacks.containsKey(message.id())) {
             return;
         }
@@ -460,4 +523,9 @@ public class JavaParserWorkerImpl implements JavaParserWorker, ProjectActionHand
         callback.onResult(iProblems);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ReconcileStatistics getReconcileStatistics() {
+        return statistics;
+    }
 }
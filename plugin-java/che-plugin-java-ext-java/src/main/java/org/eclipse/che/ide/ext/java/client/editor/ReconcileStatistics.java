@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.client.editor;
+
+/**
+ * Latency of the reconciles of the Java editors.
+ * <p/>
+ * Reconcile time is measured from sending of the source to the worker till receiving of the problems, parse time
+ * is the part of it spent by the worker on parsing.
+ */
+public class ReconcileStatistics {
+    private int  count;
+    private int  incrementalCount;
+    private long lastTime;
+    private long lastParseTime;
+    private long maxTime;
+    private long totalTime;
+
+    void add(long time, long parseTime, boolean incremental) {
+        count++;
+        if (incremental) {
+            incrementalCount++;
+        }
+        lastTime = time;
+        lastParseTime = parseTime;
+        maxTime = Math.max(maxTime, time);
+        totalTime += time;
+    }
+
+    /** Returns number of the reconciles. */
+    public int getCount() {
+        return count;
+    }
+
+    /** Returns number of the reconciles which parsed only edited method body. */
+    public int getIncrementalCount() {
+        return incrementalCount;
+    }
+
+    /** Returns time of the last reconcile in milliseconds. */
+    public long getLastTime() {
+        return lastTime;
+    }
+
+    /** Returns time spent by the worker on parsing during the last reconcile in milliseconds. */
+    public long getLastParseTime() {
+        return lastParseTime;
+    }
+
+    /** Returns max time of reconcile in milliseconds. */
+    public long getMaxTime() {
+        return maxTime;
+    }
+
+    /** Returns average time of reconcile in milliseconds. */
+    public long getAverageTime() {
+        return count == 0 ? 0 : totalTime / count;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconcileStatistics{count=" + count + ", incrementalCount=" + incrementalCount + ", lastTime=" + lastTime
+               + ", lastParseTime=" + lastParseTime + ", maxTime=" + maxTime + ", averageTime=" + getAverageTime() + '}';
+    }
+}
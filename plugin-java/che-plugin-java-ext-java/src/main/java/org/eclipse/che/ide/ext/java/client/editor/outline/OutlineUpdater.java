@@ -15,19 +15,26 @@ import org.eclipse.che.ide.api.texteditor.outline.OutlineModel;
 import org.eclipse.che.ide.collections.Array;
 import org.eclipse.che.ide.collections.js.JsoArray;
 import org.eclipse.che.ide.ext.java.client.editor.JavaParserWorker;
+import org.eclipse.che.ide.ext.java.messages.impl.OutlineChange;
 import org.eclipse.che.ide.ext.java.messages.impl.WorkerCodeBlock;
+import com.google.gwt.core.client.JsArrayInteger;
 
 import java.util.List;
 
 /**
- * OutlineUpdater receive messages from worker and updates OutlineModel
+ * OutlineUpdater receive messages from worker and updates OutlineModel.
+ * <p/>
+ * Changes of the outline are applied to the existing blocks. When only offsets of the blocks are changed,
+ * e.g. text is typed in a method body, outline isn't rendered again.
  *
  * @author Evgen Vidolob
  */
-public class OutlineUpdater implements JavaParserWorker.WorkerCallback<WorkerCodeBlock> {
+public class OutlineUpdater implements JavaParserWorker.OutlineUpdateHandler {
 
-    private final OutlineModel  outlineModel;
-    private final JavaCodeBlock root;
+    private final OutlineModel     outlineModel;
+    private final JavaCodeBlock    root;
+    /** Top level blocks, <code>null</code> until all blocks of the outline are received. */
+    private       Array<CodeBlock> rootChildren;
 
     public OutlineUpdater(String filePath, OutlineModel outlineModel, JavaParserWorker worker) {
         this.outlineModel = outlineModel;
@@ -51,9 +58,62 @@ public class OutlineUpdater implements JavaParserWorker.WorkerCallback<WorkerCod
                 setParent(codeBlock, codeBlock.getChildren());
             }
         }
+        rootChildren = blockArray;
         outlineModel.setRootChildren(blockArray);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void onChanges(List<OutlineChange> changes) {
+        if (rootChildren == null) {
+            // changes of the outline which wasn't received, all blocks are sent with the next update
+            return;
+        }
+        boolean render = false;
+        for (OutlineChange change : changes) {
+            JsArrayInteger path = change.getPath();
+            JavaCodeBlock parent = root;
+            Array<CodeBlock> children = rootChildren;
+            for (int i = 0; i < path.length() - 1; i++) {
+                parent = (JavaCodeBlock)children.get(path.get(i));
+                children = parent.getChildren();
+            }
+            int index = path.get(path.length() - 1);
+            switch (change.getKind()) {
+                case OutlineChange.INSERT:
+                    JavaCodeBlock inserted = change.getBlock().cast();
+                    inserted.setParent(parent);
+                    if (inserted.getChildren() != null) {
+                        setParent(inserted, inserted.getChildren());
+                    }
+                    children.splice(index, 0, inserted);
+                    render = true;
+                    break;
+                case OutlineChange.REMOVE:
+                    children.remove(index);
+                    render = true;
+                    break;
+                case OutlineChange.UPDATE:
+                    JavaCodeBlock block = (JavaCodeBlock)children.get(index);
+                    WorkerCodeBlock update = change.getBlock();
+                    block.setOffset(update.getOffset());
+                    block.setLength(update.getLength());
+                    if (block.getModifiers() != update.getModifiers() || !equal(block.getJavaType(), update.getJavaType())) {
+                        block.setModifiers(update.getModifiers());
+                        block.setJavaType(update.getJavaType());
+                        render = true;
+                    }
+                    break;
+            }
+        }
+        if (render) {
+            outlineModel.setRootChildren(rootChildren);
+        }
+    }
+
+    private boolean equal(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
 
     private void setParent(JavaCodeBlock parent, Array<CodeBlock> child) {
         for (CodeBlock block : child.asIterable()) {
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.messages;
+
+import com.google.gwt.webworker.client.messages.MessageImpl;
+
+/**
+ * Cancels request which is queued in the worker, e.g. completion request which result isn't needed anymore.
+ */
+public class CancelMessage extends MessageImpl {
+    protected CancelMessage() {
+    }
+
+    public static native CancelMessage make() /*-{
+        return {
+            _type : 19
+        }
+    }-*/;
+
+    public final native java.lang.String id() /*-{
+        return this["id"];
+    }-*/;
+
+    public final native CancelMessage setId(java.lang.String id) /*-{
+        this["id"] = id;
+        return this;
+    }-*/;
+}
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.messages;
+
+import org.eclipse.che.ide.collections.js.JsoArray;
+import com.google.gwt.webworker.client.messages.MessageImpl;
+
+/**
+ * Answer to {@link RemoveFqnMessage}, contains paths of the open files which reference the removed type.
+ */
+public class DependentFilesMessage extends MessageImpl {
+    protected DependentFilesMessage() {
+    }
+
+    public static native DependentFilesMessage make() /*-{
+        return {
+            _type : 18
+        }
+    }-*/;
+
+    public final native JsoArray<String> getFilePaths() /*-{
+        return this["filePaths"];
+    }-*/;
+
+    public final native DependentFilesMessage setFilePaths(JsoArray<String> filePaths) /*-{
+        this["filePaths"] = filePaths;
+        return this;
+    }-*/;
+
+    public final native java.lang.String id() /*-{
+        return this["id"];
+    }-*/;
+
+    public final native DependentFilesMessage setId(java.lang.String id) /*-{
+        this["id"] = id;
+        return this;
+    }-*/;
+}
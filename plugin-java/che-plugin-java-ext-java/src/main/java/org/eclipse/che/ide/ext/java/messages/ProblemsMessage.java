@@ -21,4 +21,10 @@ public interface ProblemsMessage extends Message {
     Array<Problem> problems();
 
     String id();
+
+    /** Time in milliseconds spent by the worker on parsing of the source. */
+    int parseTime();
+
+    /** <code>true</code> if only the edited method body was parsed. */
+    boolean incremental();
 }
@@ -17,4 +17,6 @@ import com.google.gwt.webworker.client.messages.Message;
  */
 public interface RemoveFqnMessage extends Message {
     String fqn();
+
+    String id();
 }
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.messages;
+
+import com.google.gwt.webworker.client.messages.MessageImpl;
+
+/**
+ * Asks worker to send all blocks with the next outline update of the file, e.g. when outline of the file is shown
+ * after changes of the outline were already sent.
+ */
+public class ResetOutlineMessage extends MessageImpl {
+    protected ResetOutlineMessage() {
+    }
+
+    public static native ResetOutlineMessage make() /*-{
+        return {
+            _type : 20
+        }
+    }-*/;
+
+    public final native String getFilePath() /*-{
+        return this["filePath"];
+    }-*/;
+
+    public final native ResetOutlineMessage setFilePath(String filePath) /*-{
+        this["filePath"] = filePath;
+        return this;
+    }-*/;
+}
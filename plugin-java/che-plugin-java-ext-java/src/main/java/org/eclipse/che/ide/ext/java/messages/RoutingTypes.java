@@ -33,6 +33,9 @@ public class RoutingTypes {
     public static final int COMPUTE_JAVADOC_HANDE      = 15;
     public static final int JAVADOC_HANDLE_COMPUTED    = 16;
     public static final int FILE_CLOSED                = 17;
+    public static final int DEPENDENT_FILES            = 18;
+    public static final int CANCEL                     = 19;
+    public static final int RESET_OUTLINE              = 20;
 
 
 }
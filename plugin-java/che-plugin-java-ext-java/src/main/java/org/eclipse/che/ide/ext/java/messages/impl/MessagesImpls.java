@@ -932,6 +932,34 @@ public class MessagesImpls {
       return this.hasOwnProperty("problems");
     }-*/;
 
+    @Override
+    public final native int parseTime() /*-{
+      return this["parseTime"];
+    }-*/;
+
+    public final native ProblemsMessageImpl setParseTime(int parseTime) /*-{
+      this["parseTime"] = parseTime;
+      return this;
+    }-*/;
+
+    public final native boolean hasParseTime() /*-{
+      return this.hasOwnProperty("parseTime");
+    }-*/;
+
+    @Override
+    public final native boolean incremental() /*-{
+      return this["incremental"];
+    }-*/;
+
+    public final native ProblemsMessageImpl setIncremental(boolean incremental) /*-{
+      this["incremental"] = incremental;
+      return this;
+    }-*/;
+
+    public final native boolean hasIncremental() /*-{
+      return this.hasOwnProperty("incremental");
+    }-*/;
+
     public static native ProblemsMessageImpl make() /*-{
       return {
         _type: 3
@@ -1046,6 +1074,20 @@ public class MessagesImpls {
       return this.hasOwnProperty("fqn");
     }-*/;
 
+    @Override
+    public final native java.lang.String id() /*-{
+      return this["id"];
+    }-*/;
+
+    public final native RemoveFqnMessageImpl setId(java.lang.String id) /*-{
+      this["id"] = id;
+      return this;
+    }-*/;
+
+    public final native boolean hasId() /*-{
+      return this.hasOwnProperty("id");
+    }-*/;
+
     public static native RemoveFqnMessageImpl make() /*-{
       return {
         _type: 10
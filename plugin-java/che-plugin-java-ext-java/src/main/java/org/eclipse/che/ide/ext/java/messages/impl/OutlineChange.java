@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.messages.impl;
+
+import org.eclipse.che.ide.collections.Jso;
+import com.google.gwt.core.client.JsArrayInteger;
+
+/**
+ * Change of one node of the outline, see {@link OutlineUpdateMessage#getChanges()}.
+ * <p/>
+ * Node is addressed by the indexes of the node and its ancestors in the children of their parents, starting
+ * from the top level node. Changes are applied in order, each path is valid for the outline with all previous
+ * changes applied.
+ */
+public class OutlineChange extends Jso {
+    /** Block with its children is inserted at the path. */
+    public static final int INSERT = 0;
+    /** Node at the path is removed. */
+    public static final int REMOVE = 1;
+    /** Offset, length, modifiers and Java type of the node at the path are taken from the block, children aren't changed. */
+    public static final int UPDATE = 2;
+
+    protected OutlineChange() {
+    }
+
+    public native final int getKind() /*-{
+        return this[0];
+    }-*/;
+
+    public native final OutlineChange setKind(int kind) /*-{
+        this[0] = kind;
+        return this;
+    }-*/;
+
+    public native final JsArrayInteger getPath() /*-{
+        return this[1];
+    }-*/;
+
+    public native final OutlineChange setPath(JsArrayInteger path) /*-{
+        this[1] = path;
+        return this;
+    }-*/;
+
+    public native final WorkerCodeBlock getBlock() /*-{
+        return this[2];
+    }-*/;
+
+    public native final OutlineChange setBlock(WorkerCodeBlock block) /*-{
+        this[2] = block;
+        return this;
+    }-*/;
+
+    public static native OutlineChange make() /*-{
+        return [];
+    }-*/;
+}
@@ -14,7 +14,7 @@ import org.eclipse.che.ide.collections.Array;
 import com.google.gwt.webworker.client.messages.MessageImpl;
 
 /**
- * Message for Outline Update
+ * Message for Outline Update, contains either all blocks of the outline of the file or changes since the previous message.
  *
  * @author Evgen Vidolob
  */
@@ -40,6 +40,19 @@ public class OutlineUpdateMessage extends MessageImpl {
         return this;
     }-*/;
 
+    /**
+     * Returns changes of the outline since the previous message for the file,
+     * <code>null</code> if message contains all blocks, see {@link #getBlocks()}.
+     */
+    public native final Array<OutlineChange> getChanges() /*-{
+        return this.changes;
+    }-*/;
+
+    public native final OutlineUpdateMessage setChanges(Array<OutlineChange> changes) /*-{
+        this.changes = changes;
+        return this;
+    }-*/;
+
     public static native OutlineUpdateMessage make() /*-{
         return {
             _type : 8
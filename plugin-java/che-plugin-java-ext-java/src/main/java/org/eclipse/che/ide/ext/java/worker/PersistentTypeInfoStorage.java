@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.worker;
+
+import com.google.gwt.core.client.JavaScriptObject;
+
+import org.eclipse.che.ide.collections.js.JsoStringMap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * IndexedDB backed storage of binary type infos, survives IDE reloads.
+ * <p/>
+ * Types are stored under the content hash of the jar they come from, so the same jar shared by several projects
+ * or sessions is downloaded once. Storage has a byte budget, least recently used types are evicted when it is exceeded.
+ * Only types from jars are stored, source types of the project change too often.
+ *
+ * @see WorkerTypeInfoStorage
+ */
+public class PersistentTypeInfoStorage {
+
+    /** Must be incremented when JSON format of the type info is changed, all stored types are dropped on upgrade. */
+    private static final int    DB_VERSION  = 1;
+    private static final String DB_NAME     = "che-java-type-info";
+    private static final String STORE_NAME  = "types";
+    /** Max size of stored JSON payloads, in characters. */
+    private static final double BYTE_BUDGET = 64 * 1024 * 1024;
+
+    /** key = handle identifier of jar package fragment root, value = content hash of jar */
+    private final Map<String, String> rootHashes = new HashMap<>();
+    /** Hashes of the jars on the current classpath. */
+    private final Set<String>         jarHashes  = new HashSet<>();
+    /** key = fqn of the type loaded from storage, value = its id in storage */
+    private final Map<String, String> loadedIds  = new HashMap<>();
+    /** Ids of the types which access time is already updated in this session. */
+    private final Set<String>         touched    = new HashSet<>();
+    private final Listener            listener;
+    private       JavaScriptObject    db;
+    private       double              usedBytes;
+    private       boolean             opening;
+
+    /** Receives types loaded from the storage. */
+    public interface Listener {
+        void onTypeLoaded(String fqn, String json);
+    }
+
+    public PersistentTypeInfoStorage(Listener listener) {
+        this.listener = listener;
+    }
+
+    /** Returns <code>true</code> if IndexedDB is available in the worker. */
+    public static native boolean isSupported() /*-{
+        return typeof indexedDB !== "undefined";
+    }-*/;
+
+    /**
+     * Sets classpath of the project and loads stored types of its jars.
+     * Types of the jars which aren't on the classpath are kept, they may be used by other projects, storage is cleaned
+     * only by eviction of the least recently used types.
+     *
+     * @param hashes
+     *         key is handle identifier of jar package fragment root, value is content hash of the jar
+     */
+    public void setClasspath(JsoStringMap<String> hashes) {
+        rootHashes.clear();
+        loadedIds.clear();
+        jarHashes.clear();
+        for (String root : hashes.getKeys().asIterable()) {
+            rootHashes.put(root, hashes.get(root));
+            jarHashes.add(hashes.get(root));
+        }
+        if (db == null) {
+            if (!opening) {
+                opening = true;
+                open();
+            }
+            return;
+        }
+        for (String hash : jarHashes) {
+            loadJar(db, hash);
+        }
+    }
+
+    /**
+     * Stores type info.
+     *
+     * @param fqn
+     *         fully qualified name of the type
+     * @param fileName
+     *         file name of the binary type, see {@link org.eclipse.che.ide.ext.java.jdt.internal.compiler.env.IBinaryType#getFileName()}
+     * @param json
+     *         type info received from server
+     */
+    public void putType(String fqn, String fileName, String json) {
+        if (db == null || fileName == null || fileName.lastIndexOf('|') == -1) {
+            return;
+        }
+        String root = fileName.substring(0, fileName.lastIndexOf('|'));
+        // types cached on server have jar hash instead of package fragment root handle
+        String hash = jarHashes.contains(root) ? root : rootHashes.get(root);
+        if (hash == null) {
+            return;
+        }
+        String id = hash + '|' + fqn;
+        touched.add(id);
+        put(db, id, hash, fqn, json, now());
+    }
+
+    /** Updates access time of the type loaded from storage, once per session. */
+    public void touch(String fqn) {
+        String id = loadedIds.remove(fqn);
+        if (db != null && id != null && touched.add(id)) {
+            touch(db, id, now());
+        }
+    }
+
+    private void onOpened(JavaScriptObject db, double usedBytes) {
+        this.db = db;
+        this.usedBytes = usedBytes;
+        opening = false;
+        for (String hash : jarHashes) {
+            loadJar(db, hash);
+        }
+    }
+
+    private void onTypeLoaded(String id, String fqn, String json) {
+        loadedIds.put(fqn, id);
+        listener.onTypeLoaded(fqn, json);
+    }
+
+    private void onDeleted(double size) {
+        usedBytes -= size;
+    }
+
+    /**
+     * Called when type is stored.
+     *
+     * @param delta
+     *         size of the stored type minus size of the type which was stored under the same id before, if any
+     */
+    private void onStored(double delta) {
+        usedBytes += delta;
+        if (db != null && usedBytes > BYTE_BUDGET) {
+            evict(db, BYTE_BUDGET * 0.9);
+        }
+    }
+
+    private native void open() /*-{
+        if (typeof indexedDB === "undefined") {
+            return;
+        }
+        var storage = this;
+        var request = indexedDB.open(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::DB_NAME,
+                                     @org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::DB_VERSION);
+        request.onupgradeneeded = function () {
+            var db = request.result;
+            if (db.objectStoreNames.contains(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME)) {
+                db.deleteObjectStore(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME);
+            }
+            var store = db.createObjectStore(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME,
+                                             {keyPath: "id"});
+            store.createIndex("jarHash", "jarHash", {unique: false});
+            store.createIndex("lastAccess", "lastAccess", {unique: false});
+        };
+        request.onsuccess = function () {
+            var db = request.result;
+            var usedBytes = 0;
+            var cursorRequest = db.transaction(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME, "readonly")
+                .objectStore(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME).openCursor();
+            cursorRequest.onsuccess = function () {
+                var cursor = cursorRequest.result;
+                if (cursor) {
+                    usedBytes += cursor.value.size;
+                    cursor["continue"]();
+                } else {
+                    storage.@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::onOpened(*)(db, usedBytes);
+                }
+            };
+        };
+    }-*/;
+
+    private native void loadJar(JavaScriptObject db, String hash) /*-{
+        var storage = this;
+        var request = db.transaction(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME, "readonly")
+            .objectStore(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME)
+            .index("jarHash").openCursor(IDBKeyRange.only(hash));
+        request.onsuccess = function () {
+            var cursor = request.result;
+            if (cursor) {
+                storage.@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::onTypeLoaded(*)(cursor.value.id, cursor.value.fqn,
+                                                                                                cursor.value.json);
+                cursor["continue"]();
+            }
+        };
+    }-*/;
+
+    /** Stores type, replaced type of the same id is subtracted from the used size. */
+    private native void put(JavaScriptObject db, String id, String hash, String fqn, String json, double lastAccess) /*-{
+        var storage = this;
+        var store = db.transaction(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME, "readwrite")
+            .objectStore(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME);
+        var request = store.get(id);
+        request.onsuccess = function () {
+            var previous = request.result;
+            store.put({id: id, jarHash: hash, fqn: fqn, json: json, size: json.length, lastAccess: lastAccess});
+            storage.@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::onStored(*)(json.length - (previous ? previous.size : 0));
+        };
+    }-*/;
+
+    private native void touch(JavaScriptObject db, String id, double lastAccess) /*-{
+        var store = db.transaction(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME, "readwrite")
+            .objectStore(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME);
+        var request = store.get(id);
+        request.onsuccess = function () {
+            var value = request.result;
+            if (value) {
+                value.lastAccess = lastAccess;
+                store.put(value);
+            }
+        };
+    }-*/;
+
+    /** Deletes least recently used types until used size is less than the given limit. */
+    private native void evict(JavaScriptObject db, double limit) /*-{
+        var storage = this;
+        var request = db.transaction(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME, "readwrite")
+            .objectStore(@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::STORE_NAME)
+            .index("lastAccess").openCursor();
+        request.onsuccess = function () {
+            var cursor = request.result;
+            if (cursor && storage.@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::usedBytes > limit) {
+                storage.@org.eclipse.che.ide.ext.java.worker.PersistentTypeInfoStorage::onDeleted(*)(cursor.value.size);
+                cursor["delete"]();
+                cursor["continue"]();
+            }
+        };
+    }-*/;
+
+    private static native double now() /*-{
+        return Date.now();
+    }-*/;
+}
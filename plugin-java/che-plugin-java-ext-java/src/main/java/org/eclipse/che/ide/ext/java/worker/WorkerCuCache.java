@@ -10,12 +10,22 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.java.worker;
 
+import org.eclipse.che.ide.ext.java.jdt.core.compiler.IProblem;
 import org.eclipse.che.ide.ext.java.jdt.core.dom.CompilationUnit;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
- * Cache for CompilationUnit
+ * Cache for CompilationUnit.
+ * <p/>
+ * Besides of the last compilation unit of the file cache keeps problems and tasks reported for it, they are reused
+ * by the incremental reconcile, see {@link WorkerIncrementalParser}. Compilation unit which is parsed incrementally has
+ * bodies of the not edited methods abridged, it is replaced with fully parsed compilation unit by the {@link Reparser}
+ * when it is requested by {@link #getCompilationUnit(String)}.
+ *
  * @author Evgen Vidolob
  */
 public class WorkerCuCache {
@@ -24,21 +34,154 @@ public class WorkerCuCache {
 
     private HashMap<String, String> sourceCache = new HashMap<>(5);
 
+    /** key = file path, value = problems and tasks of the cached compilation unit */
+    private HashMap<String, List<IProblem>> problemsCache = new HashMap<>(5);
+
+    /** key = file path, value = unit name of the file, exists only for incrementally parsed compilation units */
+    private HashMap<String, String> partialUnits = new HashMap<>(5);
+
+    /** key = file path, value = number of incremental parses since the last full parse */
+    private HashMap<String, Integer> incrementalParses = new HashMap<>(5);
+
+    /**
+     * key = file path, value = names of the types requested by the compiler during parse of the file,
+     * no value if they are unknown
+     */
+    private HashMap<String, Set<String>> referencedTypes = new HashMap<>(5);
+
+    private Reparser reparser;
+
+    public void setReparser(Reparser reparser) {
+        this.reparser = reparser;
+    }
+
     public CompilationUnit getCompilationUnit(String filePath) {
+        String unitName = partialUnits.get(filePath);
+        if (unitName != null && reparser != null) {
+            partialUnits.remove(filePath);
+            cache.put(filePath, reparser.reparse(unitName, sourceCache.get(filePath)));
+        }
+        return cache.get(filePath);
+    }
+
+    /** Returns cached compilation unit as is, it may have abridged method bodies. */
+    public CompilationUnit getCompilationUnitSkeleton(String filePath) {
         return cache.get(filePath);
     }
 
     public void putCompilationUnit(String filePath, CompilationUnit compilationUnit, String source) {
         cache.put(filePath, compilationUnit);
         sourceCache.put(filePath, source);
+        partialUnits.remove(filePath);
+        incrementalParses.remove(filePath);
+    }
+
+    /**
+     * Caches fully parsed compilation unit and problems reported for it.
+     *
+     * @param problems
+     *         problems and tasks of the compilation unit, <code>null</code> if they can't be reused
+     */
+    public void putCompilationUnit(String filePath, CompilationUnit compilationUnit, String source, List<IProblem> problems) {
+        putCompilationUnit(filePath, compilationUnit, source);
+        if (problems != null) {
+            problemsCache.put(filePath, problems);
+        } else {
+            problemsCache.remove(filePath);
+        }
+    }
+
+    /**
+     * Caches compilation unit parsed with abridged method bodies, see {@link #getCompilationUnit(String)}.
+     *
+     * @param unitName
+     *         name of the compilation unit used for the full parse
+     * @param problems
+     *         problems and tasks of the whole source
+     */
+    public void putPartialCompilationUnit(String filePath, String unitName, CompilationUnit compilationUnit, String source,
+                                          List<IProblem> problems) {
+        int count = getIncrementalParseCount(filePath);
+        cache.put(filePath, compilationUnit);
+        sourceCache.put(filePath, source);
+        problemsCache.put(filePath, problems);
+        partialUnits.put(filePath, unitName);
+        incrementalParses.put(filePath, count + 1);
     }
 
     public void removeCompilationUnit(String filePath) {
         cache.remove(filePath);
         sourceCache.remove(filePath);
+        problemsCache.remove(filePath);
+        partialUnits.remove(filePath);
+        incrementalParses.remove(filePath);
+        referencedTypes.remove(filePath);
     }
 
     public String getSource(String filePath) {
         return sourceCache.get(filePath);
     }
+
+    /** Returns problems and tasks of the cached compilation unit or <code>null</code> if they aren't cached. */
+    public List<IProblem> getProblems(String filePath) {
+        return problemsCache.get(filePath);
+    }
+
+    /** Returns <code>true</code> if cached compilation unit has abridged method bodies. */
+    public boolean isPartial(String filePath) {
+        return partialUnits.containsKey(filePath);
+    }
+
+    /** Returns number of incremental parses of the file since the last full parse. */
+    public int getIncrementalParseCount(String filePath) {
+        Integer count = incrementalParses.get(filePath);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Saves names of the types referenced by the file.
+     *
+     * @param types
+     *         names of the types requested by the compiler during parse, <code>null</code> if they are unknown
+     * @param merge
+     *         <code>true</code> if parse skipped some method bodies, so types referenced by the previous parse are kept
+     */
+    public void putReferencedTypes(String filePath, Set<String> types, boolean merge) {
+        Set<String> previous = referencedTypes.get(filePath);
+        if (types == null) {
+            referencedTypes.remove(filePath);
+        } else if (merge && previous != null) {
+            previous.addAll(types);
+        } else {
+            referencedTypes.put(filePath, types);
+        }
+    }
+
+    /**
+     * Returns paths of the cached files which reference the type, its member types or types of the package.
+     * Files which referenced types are unknown are always returned.
+     */
+    public List<String> getDependentFiles(String fqn) {
+        List<String> files = new ArrayList<>();
+        String memberPrefix = fqn + '.';
+        for (String filePath : cache.keySet()) {
+            Set<String> types = referencedTypes.get(filePath);
+            if (types == null || types.contains(fqn)) {
+                files.add(filePath);
+                continue;
+            }
+            for (String type : types) {
+                if (type.startsWith(memberPrefix)) {
+                    files.add(filePath);
+                    break;
+                }
+            }
+        }
+        return files;
+    }
+
+    /** Parses the whole source of the file. */
+    public interface Reparser {
+        CompilationUnit reparse(String unitName, String source);
+    }
 }
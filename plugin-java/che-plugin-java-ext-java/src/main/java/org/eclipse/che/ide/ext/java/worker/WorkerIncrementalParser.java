@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.worker;
+
+import org.eclipse.che.ide.ext.java.jdt.core.compiler.IProblem;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.AST;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.ASTParser;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.ASTVisitor;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.AnonymousClassDeclaration;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.Block;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.BodyDeclaration;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.CompilationUnit;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.Initializer;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.MethodDeclaration;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.TypeDeclarationStatement;
+import org.eclipse.che.ide.ext.java.jdt.internal.compiler.env.INameEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reparses only the method or initializer body which contains all changes of the source since the last parse.
+ * <p/>
+ * Changed range is found as the difference between the new source and the source of the cached compilation unit.
+ * When it is inside of one method or initializer body of a top level or member type, source is parsed with focal
+ * position in that body, so bodies of the other methods aren't parsed and resolved. Result is used only if
+ * declarations of the compilation unit are the same as before the change, otherwise full parse is required.
+ * Problems outside of the edited body are taken from the previous parse and moved by the length of the change,
+ * problems inside of it are taken from the new parse. Warnings which depend on other bodies, e.g. unused private
+ * members, are refreshed by the next full parse, which is done at least every {@link #FULL_PARSE_INTERVAL} parses.
+ * <p/>
+ * Outline shows anonymous and local classes, so source is parsed incrementally only when the edited body is the only
+ * body which declares such classes, otherwise they would disappear from the outline of the abridged compilation unit.
+ */
+public class WorkerIncrementalParser {
+
+    /** Max number of incremental parses of a file between two full parses. */
+    public static final int FULL_PARSE_INTERVAL = 20;
+
+    private final WorkerCuCache        cuCache;
+    /**
+     * key = file path, value = start of the only body which declares anonymous or local classes in the incrementally
+     * parsed compilation unit, -1 if there is no such body
+     */
+    private final Map<String, Integer> typesBodies = new HashMap<>();
+
+    public WorkerIncrementalParser(WorkerCuCache cuCache) {
+        this.cuCache = cuCache;
+    }
+
+    /** Returns problems and tasks reported for the compilation unit. */
+    public static List<IProblem> getProblems(CompilationUnit unit) {
+        List<IProblem> problems = new ArrayList<>();
+        Collections.addAll(problems, unit.getProblems());
+        IProblem[] tasks = (IProblem[])unit.getProperty("tasks");
+        if (tasks != null) {
+            Collections.addAll(problems, tasks);
+        }
+        return problems;
+    }
+
+    /**
+     * Parses edited body of the file and caches result with merged problems, see {@link WorkerCuCache#getProblems(String)}.
+     *
+     * @return compilation unit with abridged bodies of the not edited methods or <code>null</code> if full parse is required
+     */
+    public CompilationUnit parse(String filePath, String unitName, String source, INameEnvironment nameEnvironment) {
+        String oldSource = cuCache.getSource(filePath);
+        CompilationUnit oldUnit = cuCache.getCompilationUnitSkeleton(filePath);
+        List<IProblem> oldProblems = cuCache.getProblems(filePath);
+        if (oldSource == null || oldUnit == null || oldProblems == null || oldSource.equals(source)
+            || cuCache.getIncrementalParseCount(filePath) >= FULL_PARSE_INTERVAL) {
+            return null;
+        }
+
+        int minLength = Math.min(oldSource.length(), source.length());
+        int prefix = 0;
+        while (prefix < minLength && oldSource.charAt(prefix) == source.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < minLength - prefix
+               && oldSource.charAt(oldSource.length() - suffix - 1) == source.charAt(source.length() - suffix - 1)) {
+            suffix++;
+        }
+        int oldChangeEnd = oldSource.length() - suffix;
+        int newChangeEnd = source.length() - suffix;
+        int delta = source.length() - oldSource.length();
+
+        Block oldBody = findBody(oldUnit.types(), prefix, oldChangeEnd);
+        if (oldBody == null || !hasBalancedBraces(oldSource, prefix, oldChangeEnd) || !hasBalancedBraces(source, prefix, newChangeEnd)) {
+            return null;
+        }
+        int typesBody = getTypesBody(filePath, oldUnit);
+        if (typesBody != -1 && typesBody != oldBody.getStartPosition()) {
+            return null;
+        }
+
+        ASTParser parser = ASTParser.newParser(AST.JLS4);
+        parser.setSource(source);
+        parser.setKind(ASTParser.K_COMPILATION_UNIT);
+        parser.setUnitName(unitName);
+        parser.setResolveBindings(true);
+        parser.setFocalPosition(prefix);
+        parser.setNameEnvironment(nameEnvironment);
+        CompilationUnit unit = (CompilationUnit)parser.createAST();
+
+        int bodyStart = oldBody.getStartPosition();
+        int oldBodyEnd = bodyStart + oldBody.getLength();
+        int newBodyEnd = oldBodyEnd + delta;
+        Block body = findBody(unit.types(), prefix, newChangeEnd);
+        if (body == null || body.getStartPosition() != bodyStart || body.getStartPosition() + body.getLength() != newBodyEnd
+            || countDeclarations(unit.types()) != countDeclarations(oldUnit.types())) {
+            return null;
+        }
+
+        int lineDelta = countLines(source, prefix, newChangeEnd) - countLines(oldSource, prefix, oldChangeEnd);
+        List<IProblem> problems = new ArrayList<>();
+        for (IProblem problem : oldProblems) {
+            if (problem.getSourceEnd() < bodyStart) {
+                problems.add(problem);
+            } else if (problem.getSourceStart() >= oldBodyEnd) {
+                problem.setSourceStart(problem.getSourceStart() + delta);
+                problem.setSourceEnd(problem.getSourceEnd() + delta);
+                problem.setSourceLineNumber(problem.getSourceLineNumber() + lineDelta);
+                problems.add(problem);
+            }
+        }
+        for (IProblem problem : getProblems(unit)) {
+            if (problem.getSourceStart() >= bodyStart && problem.getSourceEnd() < newBodyEnd) {
+                problems.add(problem);
+            }
+        }
+        cuCache.putPartialCompilationUnit(filePath, unitName, unit, source, problems);
+        typesBodies.put(filePath, declaresTypes(body) ? bodyStart : -1);
+        return unit;
+    }
+
+    /**
+     * Returns start of the only body which declares anonymous or local classes, -1 if there is no such body
+     * and -2 if there are several such bodies.
+     */
+    private int getTypesBody(String filePath, CompilationUnit unit) {
+        if (cuCache.isPartial(filePath)) {
+            Integer start = typesBodies.get(filePath);
+            return start == null ? -2 : start;
+        }
+        List<Block> bodies = new ArrayList<>();
+        collectBodies(unit.types(), bodies);
+        int start = -1;
+        for (Block body : bodies) {
+            if (declaresTypes(body)) {
+                if (start != -1) {
+                    return -2;
+                }
+                start = body.getStartPosition();
+            }
+        }
+        return start;
+    }
+
+    private static void collectBodies(List<?> declarations, List<Block> bodies) {
+        for (Object o : declarations) {
+            if (o instanceof AbstractTypeDeclaration) {
+                collectBodies(((AbstractTypeDeclaration)o).bodyDeclarations(), bodies);
+            } else if (o instanceof MethodDeclaration && ((MethodDeclaration)o).getBody() != null) {
+                bodies.add(((MethodDeclaration)o).getBody());
+            } else if (o instanceof Initializer) {
+                bodies.add(((Initializer)o).getBody());
+            }
+        }
+    }
+
+    private static boolean declaresTypes(Block body) {
+        final boolean[] found = new boolean[1];
+        body.accept(new ASTVisitor() {
+            @Override
+            public boolean visit(AnonymousClassDeclaration node) {
+                found[0] = true;
+                return false;
+            }
+
+            @Override
+            public boolean visit(TypeDeclarationStatement node) {
+                found[0] = true;
+                return false;
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * Returns body of the method or initializer of a top level or member type which strictly contains the range
+     * or <code>null</code> if there is no such body.
+     */
+    private static Block findBody(List<?> declarations, int start, int end) {
+        for (Object o : declarations) {
+            BodyDeclaration declaration = (BodyDeclaration)o;
+            if (declaration.getStartPosition() > start || declaration.getStartPosition() + declaration.getLength() < end) {
+                continue;
+            }
+            Block body = null;
+            if (declaration instanceof AbstractTypeDeclaration) {
+                return findBody(((AbstractTypeDeclaration)declaration).bodyDeclarations(), start, end);
+            } else if (declaration instanceof MethodDeclaration) {
+                body = ((MethodDeclaration)declaration).getBody();
+            } else if (declaration instanceof Initializer) {
+                body = ((Initializer)declaration).getBody();
+            }
+            // change must be between the braces of the body
+            if (body != null && body.getStartPosition() < start && end < body.getStartPosition() + body.getLength()) {
+                return body;
+            }
+            return null;
+        }
+        return null;
+    }
+
+    /** Returns number of the declarations of the types and their member types. */
+    private static int countDeclarations(List<?> declarations) {
+        int count = declarations.size();
+        for (Object o : declarations) {
+            if (o instanceof AbstractTypeDeclaration) {
+                count += countDeclarations(((AbstractTypeDeclaration)o).bodyDeclarations());
+            }
+        }
+        return count;
+    }
+
+    private static boolean hasBalancedBraces(String source, int start, int end) {
+        int balance = 0;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c == '{') {
+                balance++;
+            } else if (c == '}') {
+                balance--;
+            }
+        }
+        return balance == 0;
+    }
+
+    private static int countLines(String source, int start, int end) {
+        int lines = 0;
+        for (int i = start; i < end; i++) {
+            if (source.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
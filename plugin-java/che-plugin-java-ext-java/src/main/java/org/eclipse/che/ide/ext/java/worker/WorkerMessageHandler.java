@@ -17,15 +17,19 @@ import org.eclipse.che.ide.ext.java.jdt.CUVariables;
 import org.eclipse.che.ide.ext.java.jdt.codeassistant.ContentAssistHistory;
 import org.eclipse.che.ide.ext.java.jdt.codeassistant.TemplateCompletionProposalComputer;
 import org.eclipse.che.ide.ext.java.jdt.core.JavaCore;
+import org.eclipse.che.ide.ext.java.jdt.core.compiler.InvalidInputException;
 import org.eclipse.che.ide.ext.java.jdt.core.compiler.IProblem;
 import org.eclipse.che.ide.ext.java.jdt.core.dom.AST;
-import org.eclipse.che.ide.ext.java.jdt.core.dom.ASTNode;
 import org.eclipse.che.ide.ext.java.jdt.core.dom.ASTParser;
 import org.eclipse.che.ide.ext.java.jdt.core.dom.CompilationUnit;
+import org.eclipse.che.ide.ext.java.jdt.core.dom.ImportDeclaration;
 import org.eclipse.che.ide.ext.java.jdt.core.formatter.CodeFormatter;
 import org.eclipse.che.ide.ext.java.jdt.internal.codeassist.impl.AssistOptions;
+import org.eclipse.che.ide.ext.java.jdt.internal.compiler.ClassFileConstants;
 import org.eclipse.che.ide.ext.java.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.che.ide.ext.java.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.che.ide.ext.java.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.che.ide.ext.java.jdt.internal.compiler.parser.TerminalTokens;
 import org.eclipse.che.ide.ext.java.jdt.internal.compiler.problem.DefaultProblem;
 import org.eclipse.che.ide.ext.java.jdt.internal.corext.util.CodeFormatterUtil;
 import org.eclipse.che.ide.ext.java.jdt.templates.CodeTemplateContextType;
@@ -44,14 +48,17 @@ import org.eclipse.che.ide.ext.java.jdt.templates.TemplateStore;
 import org.eclipse.che.ide.ext.java.jdt.templates.TypeResolver;
 import org.eclipse.che.ide.ext.java.jdt.templates.TypeVariableResolver;
 import org.eclipse.che.ide.ext.java.jdt.templates.VarResolver;
+import org.eclipse.che.ide.ext.java.messages.CancelMessage;
 import org.eclipse.che.ide.ext.java.messages.ConfigMessage;
 import org.eclipse.che.ide.ext.java.messages.DependenciesUpdatedMessage;
+import org.eclipse.che.ide.ext.java.messages.DependentFilesMessage;
 import org.eclipse.che.ide.ext.java.messages.FileClosedMessage;
 import org.eclipse.che.ide.ext.java.messages.FormatMessage;
 import org.eclipse.che.ide.ext.java.messages.ParseMessage;
 import org.eclipse.che.ide.ext.java.messages.PreferenceFormatSetMessage;
 import org.eclipse.che.ide.ext.java.messages.Problem;
 import org.eclipse.che.ide.ext.java.messages.RemoveFqnMessage;
+import org.eclipse.che.ide.ext.java.messages.ResetOutlineMessage;
 import org.eclipse.che.ide.ext.java.messages.RoutingTypes;
 import org.eclipse.che.ide.ext.java.messages.impl.MessagesImpls;
 import org.eclipse.che.ide.ext.java.jdt.text.edits.CopySourceEdit;
@@ -71,17 +78,28 @@ import com.google.gwt.webworker.client.messages.MessageFilter;
 import com.google.gwt.webworker.client.messages.MessageImpl;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Evgen Vidolob
  */
 public class WorkerMessageHandler implements MessageHandler, MessageFilter.MessageRecipient<ParseMessage> {
 
+    /** Prefixes of the keys of the queued parse and outline tasks of a file. */
+    private static final String PARSE_KEY   = "parse:";
+    private static final String OUTLINE_KEY = "outline:";
+
     private static WorkerMessageHandler        instance;
     private final  WorkerOutlineModelUpdater   outlineModelUpdater;
     private final  WorkerJavadocHandleComputer javadocHandleComputer;
     private final WorkerCuCache cuCache;
+    private final WorkerIncrementalParser incrementalParser;
+    private final WorkerMessageQueue      queue = new WorkerMessageQueue();
+    /** Path of the file of the last completion request, proposals are applied in this file. */
+    private String completionFilePath;
     private WorkerCorrectionProcessor correctionProcessor;
     private INameEnvironment          nameEnvironment;
     private HashMap<String, String> options                  = new HashMap<String, String>();
@@ -102,6 +120,13 @@ public class WorkerMessageHandler implements MessageHandler, MessageFilter.Messa
         initOptions();
         messageFilter = new MessageFilter();
         cuCache = new WorkerCuCache();
+        cuCache.setReparser(new WorkerCuCache.Reparser() {
+            @Override
+            public CompilationUnit reparse(String unitName, String source) {
+                return parse(unitName, source, false);
+            }
+        });
+        incrementalParser = new WorkerIncrementalParser(cuCache);
         javadocHandleComputer = new WorkerJavadocHandleComputer(worker, cuCache);
         MessageFilter.MessageRecipient<ConfigMessage> configMessageRecipient = new MessageFilter.MessageRecipient<ConfigMessage>() {
             @Override
@@ -125,6 +150,16 @@ public class WorkerMessageHandler implements MessageHandler, MessageFilter.Messa
             @Override
             public void onMessageReceived(RemoveFqnMessage message) {
                 WorkerTypeInfoStorage.get().removeFqn(message.fqn());
+                if (nameEnvironment instanceof WorkerNameEnvironment) {
+                    ((WorkerNameEnvironment)nameEnvironment).removeFromBlackList(message.fqn());
+                }
+                JsoArray<String> filePaths = JsoArray.create();
+                for (String filePath : cuCache.getDependentFiles(message.fqn())) {
+                    filePaths.add(filePath);
+                }
+                DependentFilesMessage dependentFiles = DependentFilesMessage.make();
+                dependentFiles.setId(message.id()).setFilePaths(filePaths);
+                WorkerMessageHandler.this.worker.sendMessage(dependentFiles.serialize());
             }
         });
 
@@ -173,7 +208,24 @@ public class WorkerMessageHandler implements MessageHandler, MessageFilter.Messa
         messageFilter.registerMessageRecipient(RoutingTypes.FILE_CLOSED, new MessageFilter.MessageRecipient<FileClosedMessage>() {
             @Override
             public void onMessageReceived(FileClosedMessage message) {
+                queue.remove(PARSE_KEY + message.getFilePath());
+                queue.remove(OUTLINE_KEY + message.getFilePath());
                 cuCache.removeCompilationUnit(message.getFilePath());
+                outlineModelUpdater.removeOutline(message.getFilePath());
+            }
+        });
+
+        messageFilter.registerMessageRecipient(RoutingTypes.RESET_OUTLINE, new MessageFilter.MessageRecipient<ResetOutlineMessage>() {
+            @Override
+            public void onMessageReceived(ResetOutlineMessage message) {
+                outlineModelUpdater.removeOutline(message.getFilePath());
+            }
+        });
+
+        messageFilter.registerMessageRecipient(RoutingTypes.CANCEL, new MessageFilter.MessageRecipient<CancelMessage>() {
+            @Override
+            public void onMessageReceived(CancelMessage message) {
+                queue.cancel(message.id());
             }
         });
 
@@ -283,11 +335,45 @@ public class WorkerMessageHandler implements MessageHandler, MessageFilter.Messa
 
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Queues requests by priority, configuration, cache invalidation and cancellation messages
+     * are applied immediately.
+     */
     @Override
     public void onMessage(MessageEvent event) {
-        MessageImpl message = event.getDataAsJSO().cast();
-        messageFilter.dispatchMessage(message);
+        final MessageImpl message = event.getDataAsJSO().cast();
+        Jso fields = message.cast();
+        Runnable dispatch = new Runnable() {
+            @Override
+            public void run() {
+                messageFilter.dispatchMessage(message);
+            }
+        };
+        switch (fields.getIntField("_type")) {
+            case RoutingTypes.CA_COMPUTE_PROPOSALS:
+            case RoutingTypes.COMPUTE_CORRECTION:
+                completionFilePath = fields.getStringField("filePath");
+                // fall through
+            case RoutingTypes.APPLY_CA_PROPOSAL:
+                // newer parse of the file queued before the request is run first
+                if (completionFilePath != null) {
+                    queue.promote(PARSE_KEY + completionFilePath, WorkerMessageQueue.PRIORITY_COMPLETION);
+                }
+                queue.add(WorkerMessageQueue.PRIORITY_COMPLETION, fields.getStringField("id"), null, dispatch);
+                break;
+            case RoutingTypes.COMPUTE_JAVADOC_HANDE:
+            case RoutingTypes.FORMAT:
+                queue.add(WorkerMessageQueue.PRIORITY_JAVADOC, fields.getStringField("id"), null, dispatch);
+                break;
+            case RoutingTypes.PARSE:
+                // parse of the newer source makes queued parse and outline of the file outdated
+                String filePath = fields.getStringField("filePath");
+                queue.remove(OUTLINE_KEY + filePath);
+                queue.add(WorkerMessageQueue.PRIORITY_PARSE, fields.getStringField("id"), PARSE_KEY + filePath, dispatch);
+                break;
+            default:
+                messageFilter.dispatchMessage(message);
+        }
     }
 
     public HashMap<String, String> getOptions() {
@@ -296,35 +382,161 @@ public class WorkerMessageHandler implements MessageHandler, MessageFilter.Messa
 
     @Override
     public void onMessageReceived(final ParseMessage message) {
-                nameEnvironment.setProjectPath(message.projectPath());
-                cuVar = new CUVariables(message.fileName(), message.packageName(), projectName);
-
-                ASTParser parser = ASTParser.newParser(AST.JLS4);
-                parser.setSource(message.source());
-                parser.setKind(ASTParser.K_COMPILATION_UNIT);
-                parser.setUnitName(message.fileName().substring(0, message.fileName().lastIndexOf('.')));
-                parser.setResolveBindings(true);
-                parser.setIgnoreMethodBodies(message.ignoreMethodBodies());
-                parser.setNameEnvironment(nameEnvironment);
-                ASTNode ast = parser.createAST();
-                CompilationUnit unit = (CompilationUnit)ast;
-                cuCache.putCompilationUnit(message.filePath(), unit, message.source());
-                IProblem[] problems = unit.getProblems();
-                MessagesImpls.ProblemsMessageImpl problemsMessage = MessagesImpls.ProblemsMessageImpl.make();
-                JsoArray<Problem> problemsArray = JsoArray.create();
-                for (IProblem p : problems) {
-                    problemsArray.add(convertProblem(p));
-                }
-                IProblem[] tasks = (IProblem[])unit.getProperty("tasks");
-                if (tasks != null) {
-                    for (IProblem p : tasks) {
-                        problemsArray.add(convertProblem(p));
+        long start = System.currentTimeMillis();
+        nameEnvironment.setProjectPath(message.projectPath());
+        cuVar = new CUVariables(message.fileName(), message.packageName(), projectName);
+        String unitName = message.fileName().substring(0, message.fileName().lastIndexOf('.'));
+
+        CompilationUnit unit = null;
+        if (nameEnvironment instanceof WorkerNameEnvironment) {
+            ((WorkerNameEnvironment)nameEnvironment).startRecording();
+        }
+        if (!message.ignoreMethodBodies()) {
+            unit = incrementalParser.parse(message.filePath(), unitName, message.source(), nameEnvironment);
+        }
+        boolean incremental = unit != null;
+        List<IProblem> problems;
+        if (incremental) {
+            problems = cuCache.getProblems(message.filePath());
+        } else {
+            prefetchImportedTypes(message.filePath(), message.source());
+            unit = parse(unitName, message.source(), message.ignoreMethodBodies());
+            problems = WorkerIncrementalParser.getProblems(unit);
+            // problems of the abridged method bodies can't be reused by the incremental parse
+            cuCache.putCompilationUnit(message.filePath(), unit, message.source(), message.ignoreMethodBodies() ? null : problems);
+        }
+        if (nameEnvironment instanceof WorkerNameEnvironment) {
+            Set<String> types = ((WorkerNameEnvironment)nameEnvironment).stopRecording();
+            // types referenced only by the skipped method bodies are known from the previous parses
+            cuCache.putReferencedTypes(message.filePath(), types, incremental || message.ignoreMethodBodies());
+        }
+        MessagesImpls.ProblemsMessageImpl problemsMessage = MessagesImpls.ProblemsMessageImpl.make();
+        JsoArray<Problem> problemsArray = JsoArray.create();
+        for (IProblem p : problems) {
+            problemsArray.add(convertProblem(p));
+        }
+        problemsMessage.setProblems(problemsArray);
+        problemsMessage.setId(message.id());
+        problemsMessage.setParseTime((int)(System.currentTimeMillis() - start));
+        problemsMessage.setIncremental(incremental);
+        worker.sendMessage(problemsMessage.serialize());
+        final CompilationUnit outlineUnit = unit;
+        final String filePath = message.filePath();
+        queue.add(WorkerMessageQueue.PRIORITY_OUTLINE, null, OUTLINE_KEY + filePath, new Runnable() {
+            @Override
+            public void run() {
+                outlineModelUpdater.onCompilationUnitChanged(outlineUnit, filePath);
+            }
+        });
+    }
+
+    private CompilationUnit parse(String unitName, String source, boolean ignoreMethodBodies) {
+        ASTParser parser = ASTParser.newParser(AST.JLS4);
+        parser.setSource(source);
+        parser.setKind(ASTParser.K_COMPILATION_UNIT);
+        parser.setUnitName(unitName);
+        parser.setResolveBindings(true);
+        parser.setIgnoreMethodBodies(ignoreMethodBodies);
+        parser.setNameEnvironment(nameEnvironment);
+        return (CompilationUnit)parser.createAST();
+    }
+
+    /**
+     * Loads imported types with one batch request before binding resolution,
+     * otherwise each import is resolved by separate synchronous request.
+     * Imports are taken from the cached compilation unit of the file, source of the file which isn't parsed yet
+     * is only scanned till the first type declaration, so the source isn't parsed twice.
+     */
+    private void prefetchImportedTypes(String filePath, String source) {
+        if (!(nameEnvironment instanceof WorkerNameEnvironment)) {
+            return;
+        }
+        CompilationUnit cached = cuCache.getCompilationUnitSkeleton(filePath);
+        Set<String> fqns = new LinkedHashSet<>();
+        if (cached != null) {
+            for (Object o : cached.imports()) {
+                ImportDeclaration importDeclaration = (ImportDeclaration)o;
+                addImportedType(fqns, importDeclaration.getName().getFullyQualifiedName(), importDeclaration.isStatic(),
+                                importDeclaration.isOnDemand());
+            }
+        } else {
+            scanImportedTypes(fqns, source);
+        }
+        if (!fqns.isEmpty()) {
+            ((WorkerNameEnvironment)nameEnvironment).prefetchTypes(fqns);
+        }
+    }
+
+    private static void scanImportedTypes(Set<String> fqns, String source) {
+        Scanner scanner = new Scanner(false /*comment*/, false /*whitespace*/, false /*nls*/,
+                                      ClassFileConstants.JDK1_7 /*sourceLevel*/, ClassFileConstants.JDK1_7 /*complianceLevel*/,
+                                      null/*taskTag*/, null/*taskPriorities*/, true/*taskCaseSensitive*/);
+        scanner.setSource(source.toCharArray());
+        try {
+            int token;
+            while ((token = scanner.getNextToken()) != TerminalTokens.TokenNameEOF) {
+                if (token == TerminalTokens.TokenNameimport) {
+                    boolean isStatic = false;
+                    boolean onDemand = false;
+                    StringBuilder name = new StringBuilder();
+                    while ((token = scanner.getNextToken()) != TerminalTokens.TokenNameSEMICOLON && token != TerminalTokens.TokenNameEOF) {
+                        if (token == TerminalTokens.TokenNamestatic) {
+                            isStatic = true;
+                        } else if (token == TerminalTokens.TokenNameMULTIPLY) {
+                            onDemand = true;
+                        } else if (token == TerminalTokens.TokenNameIdentifier || token == TerminalTokens.TokenNameDOT) {
+                            name.append(scanner.getCurrentTokenSource());
+                        }
+                    }
+                    if (onDemand && name.length() > 0 && name.charAt(name.length() - 1) == '.') {
+                        name.setLength(name.length() - 1);
                     }
+                    addImportedType(fqns, name.toString(), isStatic, onDemand);
+                } else if (token != TerminalTokens.TokenNamepackage && token != TerminalTokens.TokenNameIdentifier
+                           && token != TerminalTokens.TokenNameDOT && token != TerminalTokens.TokenNameSEMICOLON) {
+                    // type declaration, there are no imports after it
+                    break;
                 }
-                problemsMessage.setProblems(problemsArray);
-                problemsMessage.setId(message.id());
-                worker.sendMessage(problemsMessage.serialize());
-                outlineModelUpdater.onCompilationUnitChanged(unit, message.filePath());
+            }
+        } catch (InvalidInputException e) {
+            // imports before the invalid token are prefetched, the rest are resolved by the parse
+        }
+    }
+
+    private static void addImportedType(Set<String> fqns, String name, boolean isStatic, boolean onDemand) {
+        if (isStatic) {
+            if (!onDemand) {
+                // static import of member, type is qualifier
+                if (name.lastIndexOf('.') == -1) {
+                    return;
+                }
+                name = name.substring(0, name.lastIndexOf('.'));
+            }
+        } else if (onDemand) {
+            // package import
+            return;
+        }
+        if (!name.isEmpty()) {
+            fqns.add(getTopLevelTypeName(name));
+        }
+    }
+
+    /**
+     * Returns name of the top level type which declares the imported type, e.g. <code>java.util.Map</code> for
+     * <code>java.util.Map.Entry</code>. Member types are not found by their dotted name, they are loaded with the top
+     * level type. The first segment which starts with upper case letter is taken as the top level type, name without
+     * such segment is returned as is.
+     */
+    private static String getTopLevelTypeName(String name) {
+        int start = 0;
+        int end;
+        while ((end = name.indexOf('.', start)) != -1) {
+            if (Character.isUpperCase(name.charAt(start))) {
+                return name.substring(0, end);
+            }
+            start = end + 1;
+        }
+        return name;
     }
 
     private MessagesImpls.ProblemImpl convertProblem(IProblem p) {
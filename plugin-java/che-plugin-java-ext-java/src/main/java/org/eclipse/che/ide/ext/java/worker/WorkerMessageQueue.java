@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.worker;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Queue of the tasks of the worker ordered by priority.
+ * <p/>
+ * Worker is single threaded and receives messages only between tasks, so one task is run per turn of the event loop:
+ * messages which came while a task was running are queued before the next task is chosen. Tasks with the same
+ * priority are run in the order they were added. Queued task may be superseded by a newer task with the same key,
+ * e.g. parse of the newer source of the same file, or canceled by id of the request. Queued task which a new task
+ * depends on may be promoted to the priority of the new task, see {@link #promote(String, int)}.
+ * <p/>
+ * Turns of the event loop are requested from the {@link Scheduler}, by default with <code>setTimeout</code>.
+ */
+public class WorkerMessageQueue {
+    public static final int PRIORITY_COMPLETION = 0;
+    public static final int PRIORITY_JAVADOC    = 1;
+    public static final int PRIORITY_PARSE      = 2;
+    public static final int PRIORITY_OUTLINE    = 3;
+
+    private final List<LinkedList<Task>> queues = new ArrayList<>();
+    private final Scheduler              scheduler;
+    private final Runnable               runNext;
+    private       boolean                scheduled;
+
+    public WorkerMessageQueue() {
+        this(new TimeoutScheduler());
+    }
+
+    public WorkerMessageQueue(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        runNext = new Runnable() {
+            @Override
+            public void run() {
+                runNext();
+            }
+        };
+        for (int i = PRIORITY_COMPLETION; i <= PRIORITY_OUTLINE; i++) {
+            queues.add(new LinkedList<Task>());
+        }
+    }
+
+    /**
+     * Adds task to the queue.
+     *
+     * @param priority
+     *         one of the <code>PRIORITY_*</code> constants
+     * @param id
+     *         id of the request, used for cancellation, may be <code>null</code>
+     * @param key
+     *         queued tasks with the same key are removed, may be <code>null</code>
+     */
+    public void add(int priority, String id, String key, Runnable task) {
+        if (key != null) {
+            remove(key);
+        }
+        queues.get(priority).add(new Task(id, key, task));
+        schedule();
+    }
+
+    /** Removes queued tasks with the given key. */
+    public void remove(String key) {
+        for (LinkedList<Task> queue : queues) {
+            Iterator<Task> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                if (key.equals(iterator.next().key)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves queued task with the given key from a lower priority to the end of the queue of the given priority,
+     * so it is run before the tasks added to that queue after it, e.g. pending parse of a file is run before
+     * completion in the same file.
+     */
+    public void promote(String key, int priority) {
+        for (int i = priority + 1; i < queues.size(); i++) {
+            Iterator<Task> iterator = queues.get(i).iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                if (key.equals(task.key)) {
+                    iterator.remove();
+                    queues.get(priority).add(task);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes queued task of the request.
+     *
+     * @return <code>true</code> if task was queued
+     */
+    public boolean cancel(String id) {
+        for (LinkedList<Task> queue : queues) {
+            Iterator<Task> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                if (id.equals(iterator.next().id)) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            scheduler.schedule(runNext);
+        }
+    }
+
+    private void runNext() {
+        scheduled = false;
+        Task next = null;
+        for (LinkedList<Task> queue : queues) {
+            if (!queue.isEmpty()) {
+                next = queue.removeFirst();
+                break;
+            }
+        }
+        if (next == null) {
+            return;
+        }
+        try {
+            next.task.run();
+        } finally {
+            for (LinkedList<Task> queue : queues) {
+                if (!queue.isEmpty()) {
+                    schedule();
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Runs commands of the queue in the later turns of the event loop. */
+    public interface Scheduler {
+        /** Runs command after the current task of the worker and the messages which came while it was running. */
+        void schedule(Runnable command);
+    }
+
+    private static class TimeoutScheduler implements Scheduler {
+        @Override
+        public native void schedule(Runnable command) /*-{
+            setTimeout(function () {
+                command.@java.lang.Runnable::run()();
+            }, 0);
+        }-*/;
+    }
+
+    private static class Task {
+        private final String   id;
+        private final String   key;
+        private final Runnable task;
+
+        Task(String id, String key, Runnable task) {
+            this.id = id;
+            this.key = key;
+            this.task = task;
+        }
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.ide.ext.java.worker;
 import org.eclipse.che.ide.collections.Array;
 import org.eclipse.che.ide.collections.Jso;
 import org.eclipse.che.ide.collections.js.JsoArray;
+import org.eclipse.che.ide.collections.js.JsoStringMap;
 import org.eclipse.che.ide.ext.java.jdt.internal.codeassist.ISearchRequestor;
 import org.eclipse.che.ide.ext.java.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.che.ide.ext.java.jdt.internal.compiler.env.NameEnvironmentAnswer;
@@ -21,8 +22,11 @@ import org.eclipse.che.ide.ext.java.worker.env.Util;
 import org.eclipse.che.ide.ext.java.worker.env.json.BinaryTypeJso;
 import com.google.gwt.core.client.JavaScriptObject;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -35,11 +39,25 @@ import java.util.Set;
  */
 public class WorkerNameEnvironment implements INameEnvironment {
 
+    /** Type infos are requested in compact encoding, other responses are plain JSON. */
+    private static final String ACCEPT = "application/vnd.codenvy.java-type-compact+json, application/json, */*;q=0.8";
+    /** Max number of types or constructors returned by one search, server returns the most relevant ones. */
+    private static final int    SEARCH_LIMIT = 200;
+    /** Status of response to request sent while java model of the project is still being created on server. */
+    private static final int    SERVICE_UNAVAILABLE = 503;
+
     private static Set<String> packages = new HashSet<>();
     protected String restServiceContext;
     private   String projectPath;
     private Set<String> blackListTypes = new HashSet<>();
     private Set<String> blackListPackages = new HashSet<>();
+    /** Names of the types requested since {@link #startRecording()}, <code>null</code> if requests aren't recorded. */
+    private Set<String> requestedTypes;
+    /**
+     * <code>true</code> if the last request was rejected because java model of the project is still being created on server,
+     * types and packages which weren't found by such request are not black listed.
+     */
+    private boolean     projectNotReady;
 
     /**
      *
@@ -49,7 +67,66 @@ public class WorkerNameEnvironment implements INameEnvironment {
     }
 
     public void setProjectPath(String projectPath) {
+        boolean changed = projectPath != null && !projectPath.equals(this.projectPath);
         this.projectPath = projectPath;
+        if (changed) {
+            loadClasspathHashes();
+        }
+    }
+
+    /** Requests content hashes of the project jars, they are needed for persistent type info storage. */
+    private void loadClasspathHashes() {
+        nativeRunAsyncRequest(restServiceContext + "/classpath-hashes?projectpath=" + projectPath, projectPath);
+    }
+
+    private void onClasspathHashesLoaded(String projectPath, String result) {
+        if (projectPath.equals(this.projectPath)) {
+            WorkerTypeInfoStorage.get().setClasspath(Jso.deserialize(result).<JsoStringMap<String>>cast());
+        }
+    }
+
+    /** Java model of the project is still being created, hashes are requested again after a while. */
+    private void onClasspathHashesNotReady(String projectPath) {
+        if (projectPath.equals(this.projectPath)) {
+            loadClasspathHashes();
+        }
+    }
+
+    private native void nativeRunAsyncRequest(String url, String projectPath)/*-{
+        var environment = this;
+        var xmlhttp = new XMLHttpRequest();
+        xmlhttp.open("GET", url, true);
+        xmlhttp.onload = function () {
+            if (xmlhttp.status == 200) {
+                environment.@org.eclipse.che.ide.ext.java.worker.WorkerNameEnvironment::onClasspathHashesLoaded(*)(projectPath,
+                                                                                                                   xmlhttp.responseText);
+            } else if (xmlhttp.status == @org.eclipse.che.ide.ext.java.worker.WorkerNameEnvironment::SERVICE_UNAVAILABLE) {
+                var retryAfter = parseInt(xmlhttp.getResponseHeader("Retry-After")) || 2;
+                setTimeout(function () {
+                    environment.@org.eclipse.che.ide.ext.java.worker.WorkerNameEnvironment::onClasspathHashesNotReady(*)(projectPath);
+                }, retryAfter * 1000);
+            }
+        };
+        xmlhttp.send();
+    }-*/;
+
+    private static native String stringify(JavaScriptObject jso)/*-{
+        return JSON.stringify(jso);
+    }-*/;
+
+    /**
+     * Starts recording of the names of the types requested by the compiler, found and not found ones,
+     * see {@link #stopRecording()}.
+     */
+    public void startRecording() {
+        requestedTypes = new HashSet<>();
+    }
+
+    /** Stops recording and returns names of the types requested since {@link #startRecording()}. */
+    public Set<String> stopRecording() {
+        Set<String> types = requestedTypes;
+        requestedTypes = null;
+        return types != null ? types : new HashSet<String>();
     }
 
     /** {@inheritDoc} */
@@ -62,6 +139,9 @@ public class WorkerNameEnvironment implements INameEnvironment {
         b.deleteCharAt(b.length() - 1);
 
         final String key = validateFqn(b);
+        if (requestedTypes != null) {
+            requestedTypes.add(key);
+        }
         if(blackListTypes.contains(key)){
             return null;
         }
@@ -84,18 +164,65 @@ public class WorkerNameEnvironment implements INameEnvironment {
             String result = runSyncRequest(url);
             if (result != null) {
                 Jso jso = Jso.deserialize(result);
-                BinaryType type = new BinaryType(jso.<BinaryTypeJso>cast());
-                WorkerTypeInfoStorage.get().putType(key, type);
+                BinaryType type = new BinaryType(BinaryTypeJso.decode(jso));
+                WorkerTypeInfoStorage.get().putType(key, type, result);
 
                 return new NameEnvironmentAnswer(type, null);
             } else {
-                blackListTypes.add(key);
+                if (!projectNotReady) {
+                    blackListTypes.add(key);
+                }
                 return null;
             }
         }
         return null;
     }
 
+    /**
+     * Loads type infos for the given fully qualified names with one request to RestNameEnvironment and puts them into
+     * {@link WorkerTypeInfoStorage}. Types which are already known or black listed are skipped, types which are not found on
+     * server are black listed. Types omitted from the response (server failed to resolve them) stay unknown and are requested
+     * again later.
+     *
+     * @param fqns
+     *         dot separated fully qualified type names, e.g. <code>java.util.List</code>
+     */
+    public void prefetchTypes(Collection<String> fqns) {
+        if (projectPath == null) {
+            return;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        StringBuilder body = new StringBuilder();
+        for (String fqn : fqns) {
+            String key = validateFqn(new StringBuilder(fqn));
+            if (key.isEmpty() || blackListTypes.contains(key) || packages.contains(key) ||
+                WorkerTypeInfoStorage.get().containsKey(key) || !keys.add(key)) {
+                continue;
+            }
+            body.append(key.replace('.', ',')).append('\n');
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        String result = runSyncPostRequest(restServiceContext + "/findTypesBatch?projectpath=" + projectPath, body.toString());
+        if (result == null) {
+            return;
+        }
+        Jso response = Jso.deserialize(result);
+        JsoStringMap<Jso> types = response.cast();
+        for (String key : keys) {
+            String name = key.replace('.', ',');
+            Jso jso = types.get(name);
+            if (jso != null) {
+                // decode mutates the object, so it is stored as it was received
+                String json = stringify(jso);
+                WorkerTypeInfoStorage.get().putType(key, new BinaryType(BinaryTypeJso.decode(jso)), json);
+            } else if (response.hasOwnProperty(name)) {
+                blackListTypes.add(key);
+            }
+        }
+    }
+
     private String validateFqn(StringBuilder builder) {
         if (builder.indexOf("<") != -1) {
             builder.setLength(builder.indexOf("<"));
@@ -116,6 +243,9 @@ public class WorkerNameEnvironment implements INameEnvironment {
         }
         b.append(typeName);
         final String key = validateFqn(b);
+        if (requestedTypes != null) {
+            requestedTypes.add(key);
+        }
         if(blackListTypes.contains(key)){
             return null;
         }
@@ -139,12 +269,14 @@ public class WorkerNameEnvironment implements INameEnvironment {
             String result = runSyncRequest(url);
             if (result != null) {
                 Jso jso = Jso.deserialize(result);
-                BinaryType type = new BinaryType(jso.<BinaryTypeJso>cast());
-                WorkerTypeInfoStorage.get().putType(key, type);
+                BinaryType type = new BinaryType(BinaryTypeJso.decode(jso));
+                WorkerTypeInfoStorage.get().putType(key, type, result);
 
                 return new NameEnvironmentAnswer(type, null);
             } else {
-                blackListTypes.add(key);
+                if (!projectNotReady) {
+                    blackListTypes.add(key);
+                }
                 return null;
             }
         }
@@ -183,7 +315,7 @@ public class WorkerNameEnvironment implements INameEnvironment {
             boolean exist = findPackage != null && Boolean.parseBoolean(findPackage);
             if (exist) {
                 packages.add(p.toString());
-            } else {
+            } else if (!projectNotReady) {
                 blackListPackages.add(p.toString());
             }
             return exist;
@@ -213,7 +345,7 @@ public class WorkerNameEnvironment implements INameEnvironment {
 
         String url =
                 restServiceContext + "/findConstructor" + "?prefix=" + new String(prefix) + "&camelcase=" + camelCaseMatch
-                + "&projectpath=" + projectPath;
+                + "&limit=" + SEARCH_LIMIT + "&projectpath=" + projectPath;
         String cons = runSyncRequest(url);
         if (cons != null) {
             JsoArray<Jso> constructors = Jso.deserialize(cons).cast();
@@ -263,6 +395,7 @@ public class WorkerNameEnvironment implements INameEnvironment {
     private String runSyncRequest(String url) {
         XmlHttpWrapper xmlhttp = nativeRunSyncReques(url);
         int status = xmlhttp.getStatusCode();
+        projectNotReady = status == SERVICE_UNAVAILABLE;
         if (status == 200) {
             return xmlhttp.getResponseText();
         } else {
@@ -274,10 +407,29 @@ public class WorkerNameEnvironment implements INameEnvironment {
     private native XmlHttpWrapper nativeRunSyncReques(String url)/*-{
         var xmlhttp = new XMLHttpRequest();
         xmlhttp.open("GET", url, false);
+        xmlhttp.setRequestHeader("Accept", @org.eclipse.che.ide.ext.java.worker.WorkerNameEnvironment::ACCEPT);
         xmlhttp.send();
         return xmlhttp;
     }-*/;
 
+    private String runSyncPostRequest(String url, String body) {
+        XmlHttpWrapper xmlhttp = nativeRunSyncPostRequest(url, body);
+        projectNotReady = xmlhttp.getStatusCode() == SERVICE_UNAVAILABLE;
+        if (xmlhttp.getStatusCode() == 200) {
+            return xmlhttp.getResponseText();
+        }
+        return null;
+    }
+
+    private native XmlHttpWrapper nativeRunSyncPostRequest(String url, String body)/*-{
+        var xmlhttp = new XMLHttpRequest();
+        xmlhttp.open("POST", url, false);
+        xmlhttp.setRequestHeader("Content-Type", "text/plain");
+        xmlhttp.setRequestHeader("Accept", @org.eclipse.che.ide.ext.java.worker.WorkerNameEnvironment::ACCEPT);
+        xmlhttp.send(body);
+        return xmlhttp;
+    }-*/;
+
     /**
      * Must be used only by CompletionEngine. The progress monitor is used to be able to cancel completion operations
      * <p/>
@@ -299,7 +451,7 @@ public class WorkerNameEnvironment implements INameEnvironment {
         String url =
                 restServiceContext + "/findTypes" + "?qualifiedname=" + new String(qualifiedName) + "&camelcase=" + camelCaseMatch
                 + "&findmembers=" + findMembers + "&searchfor=" + searchFor
-                + "&projectpath=" + projectPath;
+                + "&limit=" + SEARCH_LIMIT + "&projectpath=" + projectPath;
         String res = runSyncRequest(url);
         if (res != null) {
             JsoArray<Jso> types = Jso.deserialize(res).cast();
@@ -333,7 +485,7 @@ public class WorkerNameEnvironment implements INameEnvironment {
         String url =
                 restServiceContext + "/findExactTypes" + "?missingsimplename=" + new String(missingSimpleName)
                 + "&findmembers=" + findMembers + "&searchfor=" + searchFor
-                + "&projectpath=" + projectPath;
+                + "&limit=" + SEARCH_LIMIT + "&projectpath=" + projectPath;
         String res = runSyncRequest(url);
         if (res != null) {
             JsoArray<Jso> types = Jso.deserialize(res).cast();
@@ -345,9 +497,35 @@ public class WorkerNameEnvironment implements INameEnvironment {
         }
     }
 
+    /**
+     * Removes the type, its member types or types of the package from the black list,
+     * they may be created after they were not found. Packages of the type and subpackages of the package are removed
+     * too, type may be created in a new package.
+     */
+    public void removeFromBlackList(String fqn) {
+        Iterator<String> iterator = blackListTypes.iterator();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            if (key.equals(fqn) || key.startsWith(fqn + '.')) {
+                iterator.remove();
+            }
+        }
+        iterator = blackListPackages.iterator();
+        while (iterator.hasNext()) {
+            String name = iterator.next();
+            if (name.equals(fqn) || name.startsWith(fqn + '.') || fqn.startsWith(name + '.')) {
+                iterator.remove();
+            }
+        }
+    }
+
     public void clearBlackList() {
         blackListPackages.clear();
         blackListTypes.clear();
+        if (projectPath != null) {
+            // dependencies are updated, classpath may be changed
+            loadClasspathHashes();
+        }
     }
 
     private static final class XmlHttpWrapper extends JavaScriptObject {
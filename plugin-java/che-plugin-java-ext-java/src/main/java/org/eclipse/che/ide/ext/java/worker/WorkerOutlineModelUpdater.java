@@ -30,13 +30,24 @@ import org.eclipse.che.ide.ext.java.jdt.core.dom.TypeDeclaration;
 import org.eclipse.che.ide.ext.java.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.che.ide.ext.java.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.che.ide.ext.java.messages.BlockTypes;
+import org.eclipse.che.ide.ext.java.messages.impl.OutlineChange;
 import org.eclipse.che.ide.ext.java.messages.impl.OutlineUpdateMessage;
 import org.eclipse.che.ide.ext.java.messages.impl.WorkerCodeBlock;
 
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayInteger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
- * Worker Outline updater
+ * Worker Outline updater.
+ * <p/>
+ * Outline of a file is sent with all blocks the first time, after that only changes since the previous outline of the file
+ * are sent, see {@link OutlineChange}.
  *
  * @author Evgen Vidolob
  */
@@ -44,6 +55,8 @@ public class WorkerOutlineModelUpdater {
 
     private WorkerCodeBlock  root;
     private JavaParserWorker worker;
+    /** key = file path, value = outline blocks sent last time */
+    private Map<String, Array<WorkerCodeBlock>> outlines = new HashMap<>();
 
     public WorkerOutlineModelUpdater(JavaParserWorker worker) {
         this.worker = worker;
@@ -60,10 +73,87 @@ public class WorkerOutlineModelUpdater {
         OutlineAstVisitor v = new OutlineAstVisitor(root, cUnit);
         cUnit.accept(v);
         OutlineUpdateMessage message = OutlineUpdateMessage.make();
-        message.setFilePath(path).setBlocks(v.childrens);
+        message.setFilePath(path);
+        Array<WorkerCodeBlock> previous = outlines.put(path, v.childrens);
+        if (previous == null) {
+            message.setBlocks(v.childrens);
+        } else {
+            JsoArray<OutlineChange> changes = JsoArray.create();
+            diff(previous, v.childrens, new ArrayList<Integer>(), changes);
+            if (changes.isEmpty()) {
+                return;
+            }
+            message.setChanges(changes);
+        }
         worker.sendMessage(message.serialize());
     }
 
+    /** Forgets outline of the file, next update of the outline contains all blocks. */
+    public void removeOutline(String path) {
+        outlines.remove(path);
+    }
+
+    /**
+     * Adds changes which turn old blocks into new ones. Blocks are matched by type and name, unmatched blocks
+     * between the common head and the common tail are removed and inserted, matched blocks are updated and
+     * their children are compared recursively.
+     */
+    private void diff(Array<WorkerCodeBlock> oldBlocks, Array<WorkerCodeBlock> newBlocks, List<Integer> path,
+                      JsoArray<OutlineChange> changes) {
+        int oldSize = oldBlocks == null ? 0 : oldBlocks.size();
+        int newSize = newBlocks == null ? 0 : newBlocks.size();
+        int head = 0;
+        while (head < oldSize && head < newSize && isSameNode(oldBlocks.get(head), newBlocks.get(head))) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < oldSize - head && tail < newSize - head
+               && isSameNode(oldBlocks.get(oldSize - tail - 1), newBlocks.get(newSize - tail - 1))) {
+            tail++;
+        }
+        for (int i = head; i < oldSize - tail; i++) {
+            changes.add(createChange(OutlineChange.REMOVE, path, head, null));
+        }
+        for (int i = head; i < newSize - tail; i++) {
+            changes.add(createChange(OutlineChange.INSERT, path, i, newBlocks.get(i)));
+        }
+        for (int i = 0; i < newSize; i++) {
+            if (i >= head && i < newSize - tail) {
+                continue;
+            }
+            WorkerCodeBlock oldBlock = i < head ? oldBlocks.get(i) : oldBlocks.get(oldSize - newSize + i);
+            WorkerCodeBlock newBlock = newBlocks.get(i);
+            if (oldBlock.getOffset() != newBlock.getOffset() || oldBlock.getLength() != newBlock.getLength()
+                || oldBlock.getModifiers() != newBlock.getModifiers() || !equal(oldBlock.getJavaType(), newBlock.getJavaType())) {
+                WorkerCodeBlock update = WorkerCodeBlock.make().setType(newBlock.getType()).setOffset(newBlock.getOffset())
+                                                        .setLength(newBlock.getLength()).setName(newBlock.getName());
+                update.setModifiers(newBlock.getModifiers());
+                update.setJavaType(newBlock.getJavaType());
+                changes.add(createChange(OutlineChange.UPDATE, path, i, update));
+            }
+            path.add(i);
+            diff(oldBlock.getChildren(), newBlock.getChildren(), path, changes);
+            path.remove(path.size() - 1);
+        }
+    }
+
+    private OutlineChange createChange(int kind, List<Integer> parentPath, int index, WorkerCodeBlock block) {
+        JsArrayInteger path = JavaScriptObject.createArray().cast();
+        for (int i : parentPath) {
+            path.push(i);
+        }
+        path.push(index);
+        return OutlineChange.make().setKind(kind).setPath(path).setBlock(block);
+    }
+
+    private boolean isSameNode(WorkerCodeBlock oldBlock, WorkerCodeBlock newBlock) {
+        return equal(oldBlock.getType(), newBlock.getType()) && equal(oldBlock.getName(), newBlock.getName());
+    }
+
+    private boolean equal(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
+
     class OutlineAstVisitor extends ASTVisitor {
         private final ASTNode astParent;
         WorkerCodeBlock parent;
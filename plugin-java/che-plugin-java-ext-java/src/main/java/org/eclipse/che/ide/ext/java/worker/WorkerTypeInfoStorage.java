@@ -10,11 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.java.worker;
 
+import org.eclipse.che.ide.collections.Jso;
+import org.eclipse.che.ide.collections.js.JsoStringMap;
 import org.eclipse.che.ide.ext.java.jdt.core.IType;
 import org.eclipse.che.ide.ext.java.jdt.core.Signature;
 import org.eclipse.che.ide.ext.java.jdt.core.search.Type;
 import org.eclipse.che.ide.ext.java.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.che.ide.ext.java.worker.env.BinaryType;
+import org.eclipse.che.ide.ext.java.worker.env.json.BinaryTypeJso;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -30,8 +33,24 @@ public class WorkerTypeInfoStorage {
     private static WorkerTypeInfoStorage instance;
 
     private Map<String, IBinaryType> storage = new HashMap<String, IBinaryType>();
+    /** Types loaded from persistent storage, they are deserialized on first use. key = fqn, value = JSON */
+    private Map<String, String>      persistedTypes = new HashMap<>();
+    private PersistentTypeInfoStorage persistentStorage;
     private String shortTypesInfo;
 
+    private WorkerTypeInfoStorage() {
+        if (PersistentTypeInfoStorage.isSupported()) {
+            persistentStorage = new PersistentTypeInfoStorage(new PersistentTypeInfoStorage.Listener() {
+                @Override
+                public void onTypeLoaded(String fqn, String json) {
+                    if (!storage.containsKey(fqn)) {
+                        persistedTypes.put(fqn, json);
+                    }
+                }
+            });
+        }
+    }
+
     public static WorkerTypeInfoStorage get() {
         if (instance == null) {
             instance = new WorkerTypeInfoStorage();
@@ -43,17 +62,52 @@ public class WorkerTypeInfoStorage {
         storage.put(key, type);
     }
 
+    /**
+     * Puts type received from server, types from jars are also saved in persistent storage.
+     *
+     * @param json
+     *         type info in JSON format
+     */
+    public void putType(String key, IBinaryType type, String json) {
+        storage.put(key, type);
+        persistedTypes.remove(key);
+        if (persistentStorage != null && type.getFileName() != null) {
+            persistentStorage.putType(key, new String(type.getFileName()), json);
+        }
+    }
+
     public IBinaryType getType(String key) {
-        return storage.get(key);
+        IBinaryType type = storage.get(key);
+        if (type == null && persistedTypes.containsKey(key)) {
+            type = new BinaryType(BinaryTypeJso.decode(Jso.deserialize(persistedTypes.remove(key))));
+            storage.put(key, type);
+            persistentStorage.touch(key);
+        }
+        return type;
     }
 
     public boolean containsKey(String key) {
-        return storage.containsKey(key);
+        return storage.containsKey(key) || persistedTypes.containsKey(key);
+    }
+
+    /**
+     * Sets content hashes of the jars on the project classpath, types of these jars are loaded from persistent storage.
+     *
+     * @param hashes
+     *         key is handle identifier of jar package fragment root, value is content hash of the jar
+     */
+    public void setClasspath(JsoStringMap<String> hashes) {
+        if (persistentStorage != null) {
+            persistedTypes.clear();
+            persistentStorage.setClasspath(hashes);
+        }
     }
 
     public List<IBinaryType> getTypesByNamePrefix(String prefix, boolean fqnPart) {
         List<IBinaryType> res = new ArrayList<IBinaryType>();
-        for (String key : storage.keySet()) {
+        List<String> keys = new ArrayList<>(storage.keySet());
+        keys.addAll(persistedTypes.keySet());
+        for (String key : keys) {
             if (fqnPart && !key.startsWith(prefix)) {
                 continue;
             } else {
@@ -61,7 +115,7 @@ public class WorkerTypeInfoStorage {
                 if (simpleName.equals(key) || !simpleName.startsWith(prefix))
                     continue;
             }
-            res.add(storage.get(key));
+            res.add(getType(key));
         }
         return res;
     }
@@ -87,12 +141,20 @@ public class WorkerTypeInfoStorage {
             }
         }
 
+        for (String key : persistedTypes.keySet()) {
+            if (key.startsWith(fqn)) {
+                fqnToRemove.add(key);
+            }
+        }
+
         for (String key : fqnToRemove) {
             storage.remove(key);
+            persistedTypes.remove(key);
         }
     }
 
     public void clear() {
         storage.clear();
+        persistedTypes.clear();
     }
 }
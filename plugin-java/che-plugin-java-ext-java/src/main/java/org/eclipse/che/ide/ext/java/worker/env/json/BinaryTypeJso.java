@@ -21,6 +21,34 @@ public class BinaryTypeJso extends Jso {
     protected BinaryTypeJso() {
     }
 
+    /**
+     * Returns type info received from RestNameEnvironment. If type info is in compact encoding
+     * (<code>{"$s":[string table], "$t":{type info}}</code>) string references are replaced by strings of the table.
+     */
+    public static native BinaryTypeJso decode(Jso jso) /*-{
+        var table = jso["$s"];
+        if (!table) {
+            return jso;
+        }
+        var expand = function (value) {
+            if (typeof value === "string") {
+                if (value.charAt(0) !== "~") {
+                    return value;
+                }
+                return value.charAt(1) === "~" ? value.substring(1) : table[parseInt(value.substring(1), 10)];
+            }
+            if (value !== null && typeof value === "object") {
+                for (var key in value) {
+                    if (value.hasOwnProperty(key)) {
+                        value[key] = expand(value[key]);
+                    }
+                }
+            }
+            return value;
+        };
+        return expand(jso["$t"]);
+    }-*/;
+
     public final native JsoArray<AnnotationJso> getAnnotations() /*-{
             return this["annotations"];
     }-*/;
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.worker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.java.worker.WorkerMessageQueue.PRIORITY_COMPLETION;
+import static org.eclipse.che.ide.ext.java.worker.WorkerMessageQueue.PRIORITY_JAVADOC;
+import static org.eclipse.che.ide.ext.java.worker.WorkerMessageQueue.PRIORITY_OUTLINE;
+import static org.eclipse.che.ide.ext.java.worker.WorkerMessageQueue.PRIORITY_PARSE;
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests for {@link WorkerMessageQueue}, turns of the event loop are run explicitly with {@link #runAll()}.
+ */
+public class WorkerMessageQueueTest {
+    private LinkedList<Runnable> scheduled;
+    private List<String>         log;
+    private WorkerMessageQueue   queue;
+
+    @Before
+    public void setUp() {
+        scheduled = new LinkedList<>();
+        log = new ArrayList<>();
+        queue = new WorkerMessageQueue(new WorkerMessageQueue.Scheduler() {
+            @Override
+            public void schedule(Runnable command) {
+                scheduled.add(command);
+            }
+        });
+    }
+
+    @Test
+    public void runsOneTaskPerTurn() {
+        add(PRIORITY_PARSE, null, null, "a");
+        add(PRIORITY_PARSE, null, null, "b");
+
+        assertThat(scheduled).hasSize(1);
+        scheduled.removeFirst().run();
+        assertThat(log).containsExactly("a");
+        assertThat(scheduled).hasSize(1);
+        scheduled.removeFirst().run();
+        assertThat(log).containsExactly("a", "b");
+        assertThat(scheduled).isEmpty();
+    }
+
+    @Test
+    public void runsTasksInPriorityOrder() {
+        add(PRIORITY_OUTLINE, null, null, "outline");
+        add(PRIORITY_PARSE, null, null, "parse");
+        add(PRIORITY_JAVADOC, null, null, "javadoc");
+        add(PRIORITY_COMPLETION, null, null, "completion");
+
+        runAll();
+
+        assertThat(log).containsExactly("completion", "javadoc", "parse", "outline");
+    }
+
+    @Test
+    public void runsTasksWithSamePriorityInOrderTheyWereAdded() {
+        add(PRIORITY_PARSE, null, null, "first");
+        add(PRIORITY_PARSE, null, null, "second");
+        add(PRIORITY_PARSE, null, null, "third");
+
+        runAll();
+
+        assertThat(log).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    public void taskMessagesAreQueuedBeforeNextTaskIsChosen() {
+        queue.add(PRIORITY_OUTLINE, null, null, new Runnable() {
+            @Override
+            public void run() {
+                log.add("outline");
+                add(PRIORITY_COMPLETION, null, null, "completion");
+            }
+        });
+        add(PRIORITY_OUTLINE, null, null, "next outline");
+
+        runAll();
+
+        assertThat(log).containsExactly("outline", "completion", "next outline");
+    }
+
+    @Test
+    public void newerTaskSupersedesQueuedTaskWithSameKey() {
+        add(PRIORITY_PARSE, null, "A.java", "old parse");
+        add(PRIORITY_OUTLINE, null, "A.java", "outline");
+        add(PRIORITY_PARSE, null, "B.java", "other parse");
+        add(PRIORITY_PARSE, null, "A.java", "new parse");
+
+        runAll();
+
+        assertThat(log).containsExactly("other parse", "new parse");
+    }
+
+    @Test
+    public void promotedTaskRunsBeforeTasksAddedAfterIt() {
+        add(PRIORITY_PARSE, null, null, "other parse");
+        add(PRIORITY_PARSE, null, "A.java", "parse");
+        add(PRIORITY_COMPLETION, null, null, "queued completion");
+
+        queue.promote("A.java", PRIORITY_COMPLETION);
+        add(PRIORITY_COMPLETION, null, null, "completion");
+
+        runAll();
+
+        assertThat(log).containsExactly("queued completion", "parse", "completion", "other parse");
+    }
+
+    @Test
+    public void promoteDoesNotLowerPriority() {
+        add(PRIORITY_COMPLETION, null, "A.java", "completion");
+        add(PRIORITY_JAVADOC, null, null, "javadoc");
+
+        queue.promote("A.java", PRIORITY_PARSE);
+
+        runAll();
+
+        assertThat(log).containsExactly("completion", "javadoc");
+    }
+
+    @Test
+    public void canceledTaskIsNotRun() {
+        add(PRIORITY_COMPLETION, "1", null, "first");
+        add(PRIORITY_COMPLETION, "2", null, "second");
+
+        assertThat(queue.cancel("1")).isTrue();
+        assertThat(queue.cancel("1")).isFalse();
+        assertThat(queue.cancel("3")).isFalse();
+
+        runAll();
+
+        assertThat(log).containsExactly("second");
+    }
+
+    @Test
+    public void removedTasksAreNotRun() {
+        add(PRIORITY_PARSE, null, "A.java", "parse");
+        add(PRIORITY_OUTLINE, null, "A.java", "outline");
+        add(PRIORITY_OUTLINE, null, "B.java", "other outline");
+
+        queue.remove("A.java");
+
+        runAll();
+
+        assertThat(log).containsExactly("other outline");
+    }
+
+    @Test
+    public void queueIsScheduledAgainAfterFailedTask() {
+        queue.add(PRIORITY_PARSE, null, null, new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("failed");
+            }
+        });
+        add(PRIORITY_PARSE, null, null, "next");
+
+        try {
+            scheduled.removeFirst().run();
+        } catch (IllegalStateException ignored) {
+        }
+        runAll();
+
+        assertThat(log).containsExactly("next");
+    }
+
+    private void add(int priority, String id, String key, final String name) {
+        queue.add(priority, id, key, new Runnable() {
+            @Override
+            public void run() {
+                log.add(name);
+            }
+        });
+    }
+
+    private void runAll() {
+        while (!scheduled.isEmpty()) {
+            scheduled.removeFirst().run();
+        }
+    }
+}